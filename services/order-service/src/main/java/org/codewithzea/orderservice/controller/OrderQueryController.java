@@ -1,6 +1,7 @@
 package org.codewithzea.orderservice.controller;
 
 
+import org.codewithzea.orderservice.dto.CursorPage;
 import org.codewithzea.orderservice.dto.OrderResponse;
 import org.codewithzea.orderservice.exceptions.UnauthorizedAccessException;
 import org.codewithzea.orderservice.service.OrderQueryService;
@@ -23,6 +24,8 @@ import java.util.UUID;
 @Tag(name = "Order Queries", description = "Endpoints for order retrieval")
 public class OrderQueryController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderQueryService orderQueryService;
 
     @Operation(
@@ -74,4 +77,38 @@ public class OrderQueryController {
         // Should be implemented in RestaurantClient
         return orderQueryService.getRestaurantOrders(restaurantId, pageable);
     }
+
+    @Operation(
+            summary = "Scroll through customer orders, newest first, with a continuation cursor",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/customer/scroll")
+    public CursorPage<OrderResponse> scrollCustomerOrders(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        UUID customerId = UUID.fromString(jwt.getSubject());
+        return orderQueryService.scrollCustomerOrders(customerId, cursor, clampPageSize(size), includeTotal);
+    }
+
+    @Operation(
+            summary = "Scroll through restaurant orders, newest first, with a continuation cursor",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/restaurant/{restaurantId}/scroll")
+    @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
+    public CursorPage<OrderResponse> scrollRestaurantOrders(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return orderQueryService.scrollRestaurantOrders(restaurantId, cursor, clampPageSize(size), includeTotal);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 }
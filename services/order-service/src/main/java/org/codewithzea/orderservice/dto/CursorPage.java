@@ -0,0 +1,14 @@
+package org.codewithzea.orderservice.dto;
+
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null} on the last page and
+ * {@code totalElements} is only filled in when the caller asked for it.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor,
+        Long totalElements
+) {}
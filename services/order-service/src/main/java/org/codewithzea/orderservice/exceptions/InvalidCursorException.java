@@ -0,0 +1,8 @@
+package org.codewithzea.orderservice.exceptions;
+
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("Invalid pagination cursor: " + cursor, cause);
+    }
+}
@@ -15,7 +15,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_created_id", columnList = "customerId, createdAt, id"),
+        @Index(name = "idx_orders_restaurant_created_id", columnList = "restaurantId, createdAt, id")
+})
 public class Order {
 
     @Id
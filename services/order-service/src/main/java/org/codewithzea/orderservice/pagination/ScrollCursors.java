@@ -0,0 +1,137 @@
+package org.codewithzea.orderservice.pagination;
+
+import org.codewithzea.orderservice.exceptions.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converts keyset scroll positions to and from opaque, URL-safe continuation tokens.
+ * <p>
+ * A token carries the sort key values of the last row of a page, e.g. {@code (createdAt, id)}, so the
+ * next page is fetched with a {@code WHERE (created_at, id) < (?, ?)} seek instead of an offset.
+ * The seek is an explicit row-value {@code @Query}: Spring Data's own keyset scrolling expands it to
+ * {@code a > ? OR (a = ? AND id > ?)}, which Postgres cannot turn into a single index range.
+ * <p>
+ * The same class lives in restaurant-service; the services share no library module, so the two copies
+ * are kept identical by hand.
+ */
+public final class ScrollCursors {
+
+    private ScrollCursors() {
+    }
+
+    /**
+     * Returns the position to continue from, or the initial position when no cursor is given.
+     * A cursor issued for a different sort order is rejected.
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        KeysetScrollPosition position = decode(cursor);
+        Set<String> sortKeys = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!position.getKeys().keySet().equals(sortKeys)) {
+            throw new InvalidCursorException(cursor, null);
+        }
+        return position;
+    }
+
+    private static KeysetScrollPosition decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String pair : raw.split("&")) {
+                int equals = pair.indexOf('=');
+                String value = URLDecoder.decode(pair.substring(equals + 3), StandardCharsets.UTF_8);
+                keys.put(pair.substring(0, equals), parse(pair.charAt(equals + 1), value));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+    }
+
+    /**
+     * Returns the value of {@code property} in {@code position}, rejecting a cursor that carries it as
+     * another type.
+     */
+    public static <T> T key(KeysetScrollPosition position, String property, Class<T> type) {
+        Object value = position.getKeys().get(property);
+        if (!type.isInstance(value)) {
+            throw new InvalidCursorException(encode(position), null);
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Wraps rows fetched with a limit of {@code size + 1}: the extra row is dropped and only tells
+     * that another page follows.
+     */
+    public static <T> Window<T> window(List<T> rows, int size, Function<T, Map<String, Object>> keys) {
+        List<T> content = rows.size() > size ? rows.subList(0, size) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(keys.apply(content.get(index))), rows.size() > size);
+    }
+
+    /**
+     * Returns the cursor of the page after {@code window}, or {@code null} on the last page.
+     */
+    public static String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        return encode((KeysetScrollPosition) window.positionAt(window.size() - 1));
+    }
+
+    static String encode(KeysetScrollPosition position) {
+        StringBuilder raw = new StringBuilder();
+        position.getKeys().forEach((key, value) -> {
+            if (!raw.isEmpty()) {
+                raw.append('&');
+            }
+            raw.append(key).append('=').append(type(value)).append(':')
+                    .append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static char type(Object value) {
+        if (value instanceof String) return 's';
+        if (value instanceof UUID) return 'u';
+        if (value instanceof LocalDateTime) return 't';
+        if (value instanceof Instant) return 'i';
+        if (value instanceof Long) return 'l';
+        if (value instanceof Integer) return 'n';
+        if (value instanceof BigDecimal) return 'd';
+        throw new IllegalArgumentException("Unsupported keyset value type: " + value.getClass().getName());
+    }
+
+    private static Object parse(char type, String value) {
+        return switch (type) {
+            case 's' -> value;
+            case 'u' -> UUID.fromString(value);
+            case 't' -> LocalDateTime.parse(value);
+            case 'i' -> Instant.parse(value);
+            case 'l' -> Long.valueOf(value);
+            case 'n' -> Integer.valueOf(value);
+            case 'd' -> new BigDecimal(value);
+            default -> throw new IllegalArgumentException("Unknown keyset value type: " + type);
+        };
+    }
+}
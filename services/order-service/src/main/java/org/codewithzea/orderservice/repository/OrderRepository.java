@@ -4,6 +4,7 @@ package org.codewithzea.orderservice.repository;
 import org.codewithzea.orderservice.model.Order;
 import org.codewithzea.orderservice.model.OrderStatus;
 import org.codewithzea.orderservice.service.RestaurantClient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +13,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +26,29 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     Page<Order> findByRestaurantId(UUID restaurantId, Pageable pageable);
 
+    // Newest-first keyset pages over the (owner, createdAt, id) indexes; the row-value seek is a single index range
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstCustomerScrollPage(@Param("customerId") UUID customerId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId " +
+            "AND (o.createdAt, o.id) < (:createdAt, :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findCustomerScrollPageAfter(@Param("customerId") UUID customerId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstRestaurantScrollPage(@Param("restaurantId") UUID restaurantId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId " +
+            "AND (o.createdAt, o.id) < (:createdAt, :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findRestaurantScrollPageAfter(@Param("restaurantId") UUID restaurantId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") UUID id, Limit limit);
+
+    long countByCustomerId(UUID customerId);
+
+    long countByRestaurantId(UUID restaurantId);
+
     Optional<Order> findByIdempotencyKey(String idempotencyKey);
 
     @Query("SELECT o FROM Order o WHERE o.id = :id AND (o.customerId = :userId)")
@@ -1,22 +1,34 @@
 package org.codewithzea.orderservice.service;
 
 
+import org.codewithzea.orderservice.dto.CursorPage;
 import org.codewithzea.orderservice.dto.OrderItemResponse;
 import org.codewithzea.orderservice.dto.OrderResponse;
 import org.codewithzea.orderservice.exceptions.OrderNotFoundException;
 import org.codewithzea.orderservice.model.Order;
+import org.codewithzea.orderservice.pagination.ScrollCursors;
 import org.codewithzea.orderservice.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class OrderQueryService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final OrderRepository orderRepository;
 
     public OrderResponse getOrderById(UUID id) {
@@ -35,6 +47,47 @@ public class OrderQueryService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Newest-first keyset page of a customer's orders; costs the same at any depth.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> scrollCustomerOrders(UUID customerId, String cursor, int size, boolean includeTotal) {
+        KeysetScrollPosition position = ScrollCursors.decode(cursor, NEWEST_FIRST);
+        List<Order> rows = position.isInitial()
+                ? orderRepository.findFirstCustomerScrollPage(customerId, Limit.of(size + 1))
+                : orderRepository.findCustomerScrollPageAfter(customerId,
+                        ScrollCursors.key(position, "createdAt", LocalDateTime.class),
+                        ScrollCursors.key(position, "id", UUID.class), Limit.of(size + 1));
+        Long total = includeTotal ? orderRepository.countByCustomerId(customerId) : null;
+        return toCursorPage(rows, size, total);
+    }
+
+    /**
+     * Newest-first keyset page of a restaurant's orders; costs the same at any depth.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> scrollRestaurantOrders(UUID restaurantId, String cursor, int size, boolean includeTotal) {
+        KeysetScrollPosition position = ScrollCursors.decode(cursor, NEWEST_FIRST);
+        List<Order> rows = position.isInitial()
+                ? orderRepository.findFirstRestaurantScrollPage(restaurantId, Limit.of(size + 1))
+                : orderRepository.findRestaurantScrollPageAfter(restaurantId,
+                        ScrollCursors.key(position, "createdAt", LocalDateTime.class),
+                        ScrollCursors.key(position, "id", UUID.class), Limit.of(size + 1));
+        Long total = includeTotal ? orderRepository.countByRestaurantId(restaurantId) : null;
+        return toCursorPage(rows, size, total);
+    }
+
+    // Rows are fetched with one extra that only tells whether another page follows
+    private CursorPage<OrderResponse> toCursorPage(List<Order> rows, int size, Long total) {
+        Window<Order> window = ScrollCursors.window(rows, size,
+                order -> Map.of("createdAt", order.getCreatedAt(), "id", order.getId()));
+        return new CursorPage<>(
+                window.getContent().stream().map(this::mapToResponse).toList(),
+                ScrollCursors.next(window),
+                total
+        );
+    }
+
     private OrderResponse mapToResponse(Order order) {
         return new OrderResponse(
                 order.getId(),
@@ -0,0 +1,104 @@
+package org.codewithzea.orderservice.tests;
+
+import org.codewithzea.orderservice.controller.OrderQueryController;
+import org.codewithzea.orderservice.dto.CursorPage;
+import org.codewithzea.orderservice.dto.OrderResponse;
+import org.codewithzea.orderservice.exceptions.GlobalExceptionHandler;
+import org.codewithzea.orderservice.exceptions.InvalidCursorException;
+import org.codewithzea.orderservice.service.OrderQueryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderQueryControllerTest {
+
+    @Mock
+    private OrderQueryService orderQueryService;
+
+    @InjectMocks
+    private OrderQueryController orderQueryController;
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID restaurantId = UUID.randomUUID();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(orderQueryController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(customerId.toString())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void scrollCustomerOrders_ShouldScrollTheCallersOrders_WithClampedPageSize() throws Exception {
+        // Arrange
+        when(orderQueryService.scrollCustomerOrders(customerId, "abc", 100, true))
+                .thenReturn(new CursorPage<>(List.<OrderResponse>of(), "next", 3L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/customer/scroll")
+                        .param("cursor", "abc")
+                        .param("size", "500")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void scrollRestaurantOrders_ShouldStartFromTheNewest_WithoutCursor() throws Exception {
+        // Arrange
+        when(orderQueryService.scrollRestaurantOrders(restaurantId, null, 20, false))
+                .thenReturn(new CursorPage<>(List.<OrderResponse>of(), null, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/restaurant/{restaurantId}/scroll", restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        verify(orderQueryService).scrollRestaurantOrders(restaurantId, null, 20, false);
+    }
+
+    @Test
+    void scrollRestaurantOrders_ShouldReturnBadRequest_ForMalformedCursor() throws Exception {
+        // Arrange
+        when(orderQueryService.scrollRestaurantOrders(restaurantId, "%%%", 1, false))
+                .thenThrow(new InvalidCursorException("%%%", null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/restaurant/{restaurantId}/scroll", restaurantId)
+                        .param("cursor", "%%%")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,99 @@
+package org.codewithzea.orderservice.tests;
+
+import org.codewithzea.orderservice.dto.CursorPage;
+import org.codewithzea.orderservice.dto.OrderResponse;
+import org.codewithzea.orderservice.exceptions.InvalidCursorException;
+import org.codewithzea.orderservice.model.Order;
+import org.codewithzea.orderservice.model.OrderStatus;
+import org.codewithzea.orderservice.repository.OrderRepository;
+import org.codewithzea.orderservice.service.OrderQueryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderQueryServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderQueryService orderQueryService;
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID restaurantId = UUID.randomUUID();
+
+    @Test
+    void scrollCustomerOrders_ShouldSeekPastTheCursorRow_NewestFirst() {
+        // Arrange
+        Order newest = createOrder(LocalDateTime.of(2025, 3, 2, 12, 30));
+        Order older = createOrder(LocalDateTime.of(2025, 3, 1, 9, 15));
+        when(orderRepository.findFirstCustomerScrollPage(customerId, Limit.of(2)))
+                .thenReturn(List.of(newest, older));
+        when(orderRepository.findCustomerScrollPageAfter(customerId, newest.getCreatedAt(), newest.getId(), Limit.of(2)))
+                .thenReturn(List.of(older));
+        when(orderRepository.countByCustomerId(customerId)).thenReturn(2L);
+
+        // Act
+        CursorPage<OrderResponse> first = orderQueryService.scrollCustomerOrders(customerId, null, 1, true);
+        CursorPage<OrderResponse> second = orderQueryService.scrollCustomerOrders(customerId, first.nextCursor(), 1, false);
+
+        // Assert
+        assertEquals(List.of(newest.getId()), first.content().stream().map(OrderResponse::id).toList());
+        assertEquals(2L, first.totalElements());
+        assertEquals(List.of(older.getId()), second.content().stream().map(OrderResponse::id).toList());
+        assertNull(second.nextCursor());
+        assertNull(second.totalElements());
+    }
+
+    @Test
+    void scrollRestaurantOrders_ShouldSeekPastTheCursorRow_NewestFirst() {
+        // Arrange
+        Order newest = createOrder(LocalDateTime.of(2025, 3, 2, 12, 30));
+        Order older = createOrder(LocalDateTime.of(2025, 3, 2, 12, 30));
+        when(orderRepository.findFirstRestaurantScrollPage(restaurantId, Limit.of(2)))
+                .thenReturn(List.of(newest, older));
+        when(orderRepository.findRestaurantScrollPageAfter(restaurantId, newest.getCreatedAt(), newest.getId(), Limit.of(2)))
+                .thenReturn(List.of(older));
+
+        // Act
+        CursorPage<OrderResponse> first = orderQueryService.scrollRestaurantOrders(restaurantId, null, 1, false);
+        CursorPage<OrderResponse> second = orderQueryService.scrollRestaurantOrders(restaurantId, first.nextCursor(), 1, false);
+
+        // Assert
+        assertEquals(List.of(newest.getId()), first.content().stream().map(OrderResponse::id).toList());
+        assertEquals(List.of(older.getId()), second.content().stream().map(OrderResponse::id).toList());
+        assertNull(second.nextCursor());
+        verify(orderRepository, never()).countByRestaurantId(any());
+    }
+
+    @Test
+    void scrollCustomerOrders_ShouldRejectMalformedCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class,
+                () -> orderQueryService.scrollCustomerOrders(customerId, "not-a-cursor", 20, false));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private Order createOrder(LocalDateTime createdAt) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .customerId(customerId)
+                .restaurantId(restaurantId)
+                .items(List.of())
+                .status(OrderStatus.CREATED)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
@@ -1,35 +1,101 @@
 package org.codewithzea.restaurantservice.aop;
 
-import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.slf4j.MDC;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Logs a sample of controller calls with their arguments and duration, and every call that fails.
+ * <p>
+ * Unsampled calls cost one random draw: no arguments are rendered and the MDC set up by the
+ * controllers is left alone. Per-endpoint timings come from the {@code http.server.requests} and
+ * {@code restaurant.controller.time} histograms, not from this aspect.
+ */
 @Aspect
 @Component
-@Slf4j
 public class LoggingAspect {
+    private static final Logger log = LoggerFactory.getLogger(LoggingAspect.class);
+    private static final int MAX_ARGUMENT_LENGTH = 256;
+
+    private final double argumentSampleRate;
+
+    public LoggingAspect(@Value("${restaurant.logging.argument-sample-rate:0.01}") double argumentSampleRate) {
+        this.argumentSampleRate = argumentSampleRate;
+    }
 
     @Around("execution(* org.codewithzea.restaurantservice.controller..*(..))")
     public Object logController(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        Object[] args = joinPoint.getArgs();
-
-        MDC.put("method", className + "." + methodName);
-        log.info("Entering method with args: {}", args);
+        if (!sampled()) {
+            try {
+                return joinPoint.proceed();
+            } catch (Exception e) {
+                log.warn("Call failed", kv("endpoint", endpoint(joinPoint)), kv("error", e.toString()));
+                throw e;
+            }
+        }
 
+        long started = System.nanoTime();
+        String endpoint = endpoint(joinPoint);
+        String arguments = describe(joinPoint.getArgs());
         try {
             Object result = joinPoint.proceed();
-            log.info("Method completed successfully");
+            log.info("Sampled call", kv("endpoint", endpoint), kv("args", arguments),
+                    kv("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)));
             return result;
         } catch (Exception e) {
-            log.error("Method failed: {}", e.getMessage(), e);
+            log.warn("Call failed", kv("endpoint", endpoint), kv("args", arguments), kv("error", e.toString()),
+                    kv("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)));
             throw e;
-        } finally {
-            MDC.clear();
         }
     }
-}
\ No newline at end of file
+
+    private boolean sampled() {
+        return argumentSampleRate > 0
+                && ThreadLocalRandom.current().nextDouble() < argumentSampleRate
+                && log.isInfoEnabled();
+    }
+
+    private static String endpoint(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+    // Collections and servlet objects are summarised; anything else is cut off after MAX_ARGUMENT_LENGTH
+    private static String describe(Object[] args) {
+        StringBuilder description = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(describe(args[i]));
+        }
+        return description.append(']').toString();
+    }
+
+    private static String describe(Object arg) {
+        if (arg instanceof Collection<?> collection) {
+            return arg.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return arg.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (arg instanceof ServletRequest || arg instanceof ServletResponse || arg instanceof HttpHeaders) {
+            return arg.getClass().getSimpleName();
+        }
+        String value = String.valueOf(arg);
+        return value.length() > MAX_ARGUMENT_LENGTH ? value.substring(0, MAX_ARGUMENT_LENGTH) + "..." : value;
+    }
+}
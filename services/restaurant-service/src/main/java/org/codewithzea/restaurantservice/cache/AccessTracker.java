@@ -0,0 +1,127 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts restaurant reads so that {@link CacheWarmer} knows what to preload after a restart.
+ * <p>
+ * Reads are counted in memory and flushed periodically into one Redis sorted set per hour, shared
+ * by all nodes, so a request never waits on Redis for this. Each hourly set keeps only its most
+ * read restaurants and expires once it falls out of the window.
+ */
+@Component
+public class AccessTracker {
+    private static final Logger log = LoggerFactory.getLogger(AccessTracker.class);
+
+    private static final String KEY_PREFIX = "restaurant-service:access:";
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final int maxTracked;
+    private final Clock clock;
+    private final Map<UUID, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AccessTracker(StringRedisTemplate redisTemplate,
+                         @Value("${restaurant.warmup.window:PT24H}") Duration window,
+                         @Value("${restaurant.warmup.max-tracked:5000}") int maxTracked) {
+        this(redisTemplate, window, maxTracked, Clock.systemUTC());
+    }
+
+    public AccessTracker(StringRedisTemplate redisTemplate, Duration window, int maxTracked, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.window = window;
+        this.maxTracked = maxTracked;
+        this.clock = clock;
+    }
+
+    public void record(UUID restaurantId) {
+        LongAdder count = counts.get(restaurantId);
+        if (count == null) {
+            // Bounds memory if clients probe random ids between two flushes
+            if (counts.size() >= maxTracked) {
+                return;
+            }
+            count = counts.computeIfAbsent(restaurantId, id -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.warmup.flush-interval:PT30S}")
+    public void flush() {
+        if (counts.isEmpty()) {
+            return;
+        }
+        Map<String, Long> drained = new HashMap<>();
+        for (UUID restaurantId : counts.keySet()) {
+            LongAdder count = counts.remove(restaurantId);
+            if (count != null) {
+                drained.put(restaurantId.toString(), count.sum());
+            }
+        }
+        String key = bucketKey(clock.millis() / BUCKET_MILLIS);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                drained.forEach((restaurantId, count) -> redis.zIncrBy(key, count, restaurantId));
+                redis.zRemRange(key, 0, -(maxTracked + 1));
+                redis.pExpire(key, window.plusMillis(BUCKET_MILLIS).toMillis());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Losing some counts only makes the next warm-up slightly less accurate
+            log.warn("Failed to flush {} restaurant access counts: {}", drained.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * The most read restaurants across all nodes over the window, most read first.
+     */
+    public List<UUID> topRestaurants(int limit) {
+        long currentBucket = clock.millis() / BUCKET_MILLIS;
+        long buckets = Math.max(1, window.toMillis() / BUCKET_MILLIS);
+        List<String> keys = new ArrayList<>();
+        for (long bucket = currentBucket - buckets + 1; bucket <= currentBucket; bucket++) {
+            keys.add(bucketKey(bucket));
+        }
+        String destination = KEY_PREFIX + "top:" + UUID.randomUUID();
+        try {
+            redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), destination);
+            Set<String> top = redisTemplate.opsForZSet().reverseRange(destination, 0, limit - 1);
+            if (top == null) {
+                return List.of();
+            }
+            List<UUID> restaurantIds = new ArrayList<>(top.size());
+            for (String restaurantId : top) {
+                restaurantIds.add(UUID.fromString(restaurantId));
+            }
+            return restaurantIds;
+        } finally {
+            redisTemplate.delete(destination);
+        }
+    }
+
+    private static String bucketKey(long bucket) {
+        return KEY_PREFIX + bucket;
+    }
+}
@@ -1,31 +1,105 @@
 package org.codewithzea.restaurantservice.cache;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
-@EnableCaching
+// Caching must wrap @Transactional so that background refreshes run the loader inside a transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class CacheConfig {
 
+    private static final Map<String, Duration> CACHE_TTLS = Map.of(
+            "menuItems", Duration.ofMinutes(30),
+            "menuItemsPaginated", Duration.ofMinutes(10),
+            "restaurants", Duration.ofHours(1)
+    );
+
+    @Value("${restaurant.cache.near.enabled:true}")
+    private boolean nearCacheEnabled;
+
+    @Value("${restaurant.cache.near.caches:restaurants,menuItems}")
+    private Set<String> nearCacheNames;
+
+    @Value("${restaurant.cache.near.maximum-size:10000}")
+    private long nearCacheMaximumSize;
+
+    // Kept well below the Redis TTLs so a lost invalidation message only causes brief staleness
+    @Value("${restaurant.cache.near.ttl:60s}")
+    private Duration nearCacheTtl;
+
+    @Value("${restaurant.cache.near.invalidation-channel:restaurant-service:near-cache:invalidation}")
+    private String invalidationChannel;
+
+    @Value("${restaurant.cache.serializer:compact}")
+    private String serializerType;
+
+    @Value("${restaurant.cache.compression-threshold:0}")
+    private int compressionThreshold;
+
+    @Value("${restaurant.cache.refresh.enabled:true}")
+    private boolean refreshEnabled;
+
+    @Value("${restaurant.cache.refresh.caches:restaurants,menuItems}")
+    private Set<String> refreshCacheNames;
+
+    @Value("${restaurant.cache.refresh.stale-window:5m}")
+    private Duration staleWindow;
+
+    // XFetch beta: > 1 favours earlier refreshes, 0 disables them
+    @Value("${restaurant.cache.refresh.beta:1.0}")
+    private double refreshBeta;
+
+    @Value("${restaurant.cache.refresh.threads:2}")
+    private int refreshThreads;
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(cacheConfiguration())
-                .withCacheConfiguration("menuItems",
-                        cacheConfiguration().entryTtl(Duration.ofMinutes(30)))
-                .withCacheConfiguration("menuItemsPaginated",
-                        cacheConfiguration().entryTtl(Duration.ofMinutes(10)))
-                .withCacheConfiguration("restaurants",
-                        cacheConfiguration().entryTtl(Duration.ofHours(1)))
-                .build();
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     NearCacheInvalidationPublisher invalidationPublisher,
+                                     MeterRegistry meterRegistry) {
+        Map<String, Duration> refreshAheadTtls = new HashMap<>();
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        CACHE_TTLS.forEach((name, ttl) -> {
+            if (refreshEnabled && refreshCacheNames.contains(name)) {
+                // Redis keeps the entry past its freshness so it can be served stale during a refresh
+                refreshAheadTtls.put(name, ttl);
+                ttl = ttl.plus(staleWindow);
+            }
+            cacheConfigurations.put(name, cacheConfiguration().entryTtl(ttl));
+        });
+        // Patchable so that MenuCacheMaintainer can rewrite menus without losing concurrent edits
+        RedisCacheManager redisCacheManager = new PatchableRedisCacheManager(connectionFactory,
+                cacheConfiguration(), cacheConfigurations);
+        redisCacheManager.afterPropertiesSet();
+
+        CacheManager cacheManager = redisCacheManager;
+        if (nearCacheEnabled) {
+            cacheManager = new TwoTierCacheManager(redisCacheManager, nearCacheNames, nearCacheMaximumSize,
+                    nearCacheTtl, invalidationPublisher, meterRegistry);
+        }
+        if (refreshEnabled) {
+            cacheManager = new RefreshAheadCacheManager(cacheManager, refreshAheadTtls, refreshBeta,
+                    refreshThreads, meterRegistry);
+        }
+        return cacheManager;
     }
 
     @Bean
@@ -34,6 +108,46 @@ public class CacheConfig {
                 .entryTtl(Duration.ofMinutes(5)) // Default TTL
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(cacheValueSerializer()));
+    }
+
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer() {
+        if ("json".equalsIgnoreCase(serializerType)) {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+        return new CompactCacheSerializer(compressionThreshold);
+    }
+
+    // Outlives the longest indexed entry so an index never forgets a live key
+    @Bean
+    public CacheKeyIndex cacheKeyIndex(StringRedisTemplate redisTemplate) {
+        Duration longestTtl = CACHE_TTLS.values().stream().max(Duration::compareTo).orElseThrow();
+        return new CacheKeyIndex(redisTemplate, "restaurant-service:cache-index:", longestTtl.plus(staleWindow));
+    }
+
+    @Bean
+    public NearCacheInvalidationPublisher nearCacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new NearCacheInvalidationPublisher(redisTemplate, invalidationChannel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                        CacheManager cacheManager,
+                                                                        MenuSnapshotCache menuSnapshotCache,
+                                                                        EntityCacheInvalidator entityCacheInvalidator,
+                                                                        NearCacheInvalidationPublisher invalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        CacheManager target = cacheManager instanceof RefreshAheadCacheManager refreshAhead
+                ? refreshAhead.getTargetCacheManager() : cacheManager;
+        container.addMessageListener(
+                new NearCacheInvalidationListener(
+                        target instanceof TwoTierCacheManager twoTierCacheManager ? twoTierCacheManager : null,
+                        Map.of(MenuSnapshotCache.NAME, menuSnapshotCache,
+                                EntityCacheInvalidator.NAME, entityCacheInvalidator),
+                        invalidationPublisher.getNodeId()),
+                new ChannelTopic(invalidationPublisher.getChannel()));
+        return container;
     }
-}
\ No newline at end of file
+}
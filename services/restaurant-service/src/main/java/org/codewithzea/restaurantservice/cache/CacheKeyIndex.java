@@ -0,0 +1,64 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis-backed index of the cache keys that belong to a group, e.g. every cached page of one
+ * restaurant's menu, so that the whole group can be evicted without knowing each key up front.
+ * <p>
+ * Each group is a Redis set that outlives the entries it points to by a little; an index entry
+ * for an already expired cache entry only costs a no-op eviction.
+ */
+public class CacheKeyIndex {
+    private static final Logger log = LoggerFactory.getLogger(CacheKeyIndex.class);
+
+    private static final long POP_BATCH = 100;
+
+    private final StringRedisTemplate redisTemplate;
+    private final String prefix;
+    private final Duration timeToLive;
+
+    public CacheKeyIndex(StringRedisTemplate redisTemplate, String prefix, Duration timeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.prefix = prefix;
+        this.timeToLive = timeToLive;
+    }
+
+    public void register(String cacheName, Object group, String key) {
+        String indexKey = indexKey(cacheName, group);
+        try {
+            redisTemplate.opsForSet().add(indexKey, key);
+            redisTemplate.expire(indexKey, timeToLive);
+        } catch (Exception e) {
+            // The entry then only goes away on its own TTL
+            log.warn("Failed to index cache key {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes and returns every key registered for the group. Keys are popped rather than read and
+     * deleted, so a key registered concurrently is either returned or stays indexed.
+     */
+    public List<String> removeGroup(String cacheName, Object group) {
+        String indexKey = indexKey(cacheName, group);
+        List<String> keys = new ArrayList<>();
+        List<String> batch;
+        do {
+            batch = redisTemplate.opsForSet().pop(indexKey, POP_BATCH);
+            if (batch != null) {
+                keys.addAll(batch);
+            }
+        } while (batch != null && batch.size() == POP_BATCH);
+        return keys;
+    }
+
+    private String indexKey(String cacheName, Object group) {
+        return prefix + cacheName + ":" + group;
+    }
+}
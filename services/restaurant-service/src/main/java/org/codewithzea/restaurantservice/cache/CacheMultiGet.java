@@ -0,0 +1,132 @@
+package org.codewithzea.restaurantservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads many entries of a Spring cache at once: L1 first, then a single Redis {@code MGET} for
+ * the rest.
+ * <p>
+ * Keys and values are encoded exactly as {@code RedisCache} writes them, so entries cached one at
+ * a time are found here and the other way round. Stale entries are returned like any other hit;
+ * refreshing them is left to the single-key path. Values of another type are treated as misses.
+ * If Redis is unavailable only the L1 hits are returned and the caller loads the rest.
+ */
+@Component
+public class CacheMultiGet {
+    private static final Logger log = LoggerFactory.getLogger(CacheMultiGet.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final RedisSerializer<Object> cacheValueSerializer;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public CacheMultiGet(StringRedisTemplate redisTemplate,
+                         RedisCacheConfiguration cacheConfiguration,
+                         RedisSerializer<Object> cacheValueSerializer,
+                         CacheManager cacheManager,
+                         MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.cacheConfiguration = cacheConfiguration;
+        this.cacheValueSerializer = cacheValueSerializer;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Map<UUID, T> getAll(String cacheName, Collection<UUID> keys, Class<T> type) {
+        Map<UUID, T> hits = new HashMap<>();
+        TwoTierCache nearCache = nearCache(cacheName);
+        List<UUID> remoteKeys = new ArrayList<>(keys.size());
+        for (UUID key : keys) {
+            Object value = nearCache != null ? unwrap(nearCache.getLocal(key)) : null;
+            if (type.isInstance(value)) {
+                hits.put(key, type.cast(value));
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return hits;
+        }
+
+        List<byte[]> values;
+        try {
+            byte[][] redisKeys = remoteKeys.stream()
+                    .map(key -> (cacheConfiguration.getKeyPrefixFor(cacheName) + key).getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new);
+            values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> mGet(connection, redisKeys));
+        } catch (RuntimeException e) {
+            log.warn("Multi-get of {} {} entries failed, loading them instead: {}",
+                    remoteKeys.size(), cacheName, e.getMessage());
+            return hits;
+        }
+
+        int remoteHits = 0;
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            byte[] bytes = values != null ? values.get(i) : null;
+            Object stored = bytes != null ? deserialize(cacheName, bytes) : null;
+            Object value = unwrap(stored);
+            if (type.isInstance(value)) {
+                UUID key = remoteKeys.get(i);
+                hits.put(key, type.cast(value));
+                if (nearCache != null) {
+                    // L1 holds what the decorated cache wrote, stamp included
+                    nearCache.putLocal(key, stored);
+                }
+                remoteHits++;
+            }
+        }
+        counter(cacheName, "hit").increment(remoteHits);
+        counter(cacheName, "miss").increment(remoteKeys.size() - remoteHits);
+        return hits;
+    }
+
+    private static List<byte[]> mGet(RedisConnection connection, byte[][] keys) {
+        return connection.stringCommands().mGet(keys);
+    }
+
+    private Object deserialize(String cacheName, byte[] bytes) {
+        try {
+            return cacheValueSerializer.deserialize(bytes);
+        } catch (RuntimeException e) {
+            log.warn("Skipping unreadable {} entry: {}", cacheName, e.getMessage());
+            return null;
+        }
+    }
+
+    private TwoTierCache nearCache(String cacheName) {
+        CacheManager target = cacheManager instanceof RefreshAheadCacheManager refreshAhead
+                ? refreshAhead.getTargetCacheManager() : cacheManager;
+        return target instanceof TwoTierCacheManager twoTier ? twoTier.findNearCache(cacheName) : null;
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof StampedValue stamped ? stamped.value() : value;
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return Counter.builder("cache.multiget.requests")
+                .description("Keys looked up in Redis by multi-get, by result")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
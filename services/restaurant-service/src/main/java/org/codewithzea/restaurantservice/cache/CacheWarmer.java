@@ -0,0 +1,164 @@
+package org.codewithzea.restaurantservice.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.codewithzea.restaurantservice.config.AsyncConfig;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the most read restaurants and menus, as counted by {@link AccessTracker}, before the
+ * node accepts traffic.
+ * <p>
+ * Boot reports readiness, and with it the Eureka status, only after every
+ * {@link ApplicationReadyEvent} listener has returned, so a freshly deployed node does not send
+ * its first requests straight to Postgres. Restaurants are loaded in batches of one restaurant
+ * and one menu query each, run in parallel on the batch executor. Entries another node already
+ * put in Redis are kept and only copied into the near cache. Warm-up gives up after the timeout
+ * rather than hold readiness back indefinitely.
+ */
+@Component
+public class CacheWarmer {
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final AccessTracker accessTracker;
+    private final RestaurantService restaurantService;
+    private final ResourceVersions resourceVersions;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final CacheManager cacheManager;
+    private final Executor executor;
+    private final Timer warmUpTimer;
+    private final AtomicInteger requested = new AtomicInteger();
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final int topN;
+    private final int batchSize;
+    private final Duration timeout;
+
+    @Value("${restaurant.warmup.enabled:true}")
+    private boolean enabled;
+
+    public CacheWarmer(AccessTracker accessTracker,
+                       RestaurantService restaurantService,
+                       ResourceVersions resourceVersions,
+                       MenuSnapshotCache menuSnapshotCache,
+                       CacheManager cacheManager,
+                       @Qualifier(AsyncConfig.BATCH_UPDATE_EXECUTOR) Executor executor,
+                       MeterRegistry meterRegistry,
+                       @Value("${restaurant.warmup.top-n:500}") int topN,
+                       @Value("${restaurant.warmup.batch-size:50}") int batchSize,
+                       @Value("${restaurant.warmup.timeout:60s}") Duration timeout) {
+        this.accessTracker = accessTracker;
+        this.restaurantService = restaurantService;
+        this.resourceVersions = resourceVersions;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.cacheManager = cacheManager;
+        this.executor = executor;
+        this.topN = topN;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+        this.warmUpTimer = Timer.builder("restaurant.warmup.time")
+                .description("Time taken to warm the caches before reporting ready")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.warmup.restaurants", requested, AtomicInteger::get)
+                .description("Restaurants selected for the last cache warm-up")
+                .tag("state", "requested")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.warmup.restaurants", warmed, AtomicInteger::get)
+                .description("Restaurants loaded into the caches by the last warm-up")
+                .tag("state", "warmed")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.warmup.coverage", this, CacheWarmer::coverage)
+                .description("Share of the selected restaurants the last warm-up loaded")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        warmUpTimer.record(this::warmUp);
+    }
+
+    public void warmUp() {
+        List<UUID> restaurantIds;
+        try {
+            restaurantIds = accessTracker.topRestaurants(topN);
+        } catch (RuntimeException e) {
+            log.warn("Skipping cache warm-up, access counts unavailable: {}", e.getMessage());
+            return;
+        }
+        requested.set(restaurantIds.size());
+        warmed.set(0);
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < restaurantIds.size(); from += batchSize) {
+            List<UUID> batch = restaurantIds.subList(from, Math.min(from + batchSize, restaurantIds.size()));
+            batches.add(CompletableFuture.runAsync(() -> warmBatch(batch), executor)
+                    .exceptionally(e -> {
+                        log.warn("Failed to warm {} restaurants: {}", batch.size(), e.getMessage());
+                        return null;
+                    }));
+        }
+        try {
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up still running after {}, reporting ready anyway", timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Batches handle their own failures
+        }
+        log.info("Warmed caches for {} of {} most read restaurants", warmed.get(), restaurantIds.size());
+    }
+
+    private void warmBatch(List<UUID> restaurantIds) {
+        // Read before the load so a snapshot is never labelled with a newer version than its menu
+        Map<UUID, Long> menuVersions = new HashMap<>();
+        for (UUID restaurantId : restaurantIds) {
+            menuVersions.put(restaurantId, resourceVersions.menuVersion(restaurantId));
+        }
+        Cache restaurants = cacheManager.getCache(MenuCacheMaintainer.RESTAURANTS);
+        Cache menus = cacheManager.getCache(MenuCacheMaintainer.MENU_ITEMS);
+        for (RestaurantResponse restaurant : restaurantService.getRestaurantsByIds(restaurantIds)) {
+            UUID restaurantId = UUID.fromString(restaurant.id());
+            if (restaurants != null) {
+                restaurants.putIfAbsent(restaurantId, restaurant);
+            }
+            if (menus != null) {
+                menus.putIfAbsent(restaurantId, restaurant.menuItems());
+            }
+            menuSnapshotCache.warm(restaurantId, menuVersions.get(restaurantId), restaurant.menuItems());
+            warmed.incrementAndGet();
+        }
+    }
+
+    private double coverage() {
+        int selected = requested.get();
+        return selected == 0 ? 1.0 : (double) warmed.get() / selected;
+    }
+}
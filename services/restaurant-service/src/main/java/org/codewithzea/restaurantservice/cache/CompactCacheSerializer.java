@@ -0,0 +1,422 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.codewithzea.restaurantservice.dto.response.AddressResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Redis value serializer with a fixed binary layout for the restaurant-service response records.
+ * <p>
+ * Values are written as {@code MAGIC, flags, body}. The body is a tagged tree of the known DTOs,
+ * lists and pages; field names and class names are implied by the tag, so a 200-item menu is a
+ * fraction of its JSON size. When a compression threshold is set, bodies larger than it are
+ * deflated at {@link Deflater#BEST_SPEED}, trading encode/decode CPU for roughly 4x less Redis
+ * memory; a threshold of zero or less disables compression.
+ * <p>
+ * Any value containing a type outside that schema is delegated to the JSON serializer, and
+ * payloads that do not start with {@link #MAGIC} (e.g. entries written before this serializer
+ * was enabled) are read back as JSON, so switching formats needs no cache flush.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_MENU_ITEM = 1;
+    private static final byte TAG_RESTAURANT = 2;
+    private static final byte TAG_LIST = 3;
+    private static final byte TAG_PAGE = 4;
+    private static final byte TAG_STAMPED = 5;
+    // Same layouts followed by the entity version; the original tags are still read
+    private static final byte TAG_VERSIONED_MENU_ITEM = 6;
+    private static final byte TAG_VERSIONED_RESTAURANT = 7;
+    // Versioned restaurant whose address also carries its coordinates
+    private static final byte TAG_LOCATED_RESTAURANT = 8;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    public CompactCacheSerializer(int compressionThreshold) {
+        this(new GenericJackson2JsonRedisSerializer(), compressionThreshold);
+    }
+
+    public CompactCacheSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null || !isSupported(value)) {
+            return fallback.serialize(value);
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+            writeValue(new DataOutputStream(body), value);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + 2);
+            out.write(MAGIC);
+            if (compressionThreshold > 0 && body.size() > compressionThreshold) {
+                out.write(FLAG_COMPRESSED);
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater)) {
+                    body.writeTo(deflated);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                out.write(0);
+                body.writeTo(out);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write compact cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            InputStream body = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+            if ((bytes[1] & FLAG_COMPRESSED) != 0) {
+                Inflater inflater = new Inflater();
+                try (InflaterInputStream inflated = new InflaterInputStream(body, inflater, 8192)) {
+                    body = new ByteArrayInputStream(inflated.readAllBytes());
+                } finally {
+                    inflater.end();
+                }
+            }
+            return readValue(new DataInputStream(body));
+        } catch (IOException e) {
+            throw new SerializationException("Could not read compact cache value", e);
+        }
+    }
+
+    private boolean isSupported(Object value) {
+        if (value instanceof MenuItemResponse || value instanceof RestaurantResponse) {
+            return true;
+        }
+        if (value instanceof StampedValue stamped) {
+            return stamped.value() != null && isSupported(stamped.value());
+        }
+        if (value instanceof Page<?> page) {
+            return page.getContent().stream().allMatch(this::isSupported);
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().allMatch(item -> item == null || isSupported(item));
+        }
+        return false;
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof MenuItemResponse item) {
+            out.writeByte(TAG_VERSIONED_MENU_ITEM);
+            writeMenuItem(out, item);
+        } else if (value instanceof RestaurantResponse restaurant) {
+            out.writeByte(TAG_LOCATED_RESTAURANT);
+            writeRestaurant(out, restaurant);
+        } else if (value instanceof StampedValue stamped) {
+            out.writeByte(TAG_STAMPED);
+            out.writeLong(stamped.expiresAt());
+            writeVarInt(out, (int) Math.min(stamped.computeMillis(), Integer.MAX_VALUE));
+            writeValue(out, stamped.value());
+        } else if (value instanceof Page<?> page) {
+            out.writeByte(TAG_PAGE);
+            writePage(out, page);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            writeVarInt(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported cache value type: " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_MENU_ITEM -> readMenuItem(in, false);
+            case TAG_RESTAURANT -> readRestaurant(in, false, false);
+            case TAG_VERSIONED_MENU_ITEM -> readMenuItem(in, true);
+            case TAG_VERSIONED_RESTAURANT -> readRestaurant(in, true, false);
+            case TAG_LOCATED_RESTAURANT -> readRestaurant(in, true, true);
+            case TAG_PAGE -> readPage(in);
+            case TAG_STAMPED -> {
+                long expiresAt = in.readLong();
+                long computeMillis = readVarInt(in);
+                yield new StampedValue(readValue(in), expiresAt, computeMillis);
+            }
+            case TAG_LIST -> {
+                int size = readVarInt(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            default -> throw new IOException("Unknown compact cache tag: " + tag);
+        };
+    }
+
+    private void writeMenuItem(DataOutputStream out, MenuItemResponse item) throws IOException {
+        writeString(out, item.id());
+        writeString(out, item.name());
+        writeString(out, item.description());
+        writeDecimal(out, item.price());
+        writeString(out, item.categoryName());
+        writeVersion(out, item.version());
+    }
+
+    private MenuItemResponse readMenuItem(DataInputStream in, boolean versioned) throws IOException {
+        return new MenuItemResponse(
+                readString(in),
+                readString(in),
+                readString(in),
+                readDecimal(in),
+                readString(in),
+                versioned ? readVersion(in) : null
+        );
+    }
+
+    private void writeRestaurant(DataOutputStream out, RestaurantResponse restaurant) throws IOException {
+        writeString(out, restaurant.id());
+        writeString(out, restaurant.name());
+        writeString(out, restaurant.email());
+        writeString(out, restaurant.phone());
+        AddressResponse address = restaurant.address();
+        out.writeBoolean(address != null);
+        if (address != null) {
+            writeString(out, address.street());
+            writeString(out, address.city());
+            writeString(out, address.state());
+            writeString(out, address.zipCode());
+            writeString(out, address.country());
+            out.writeBoolean(address.latitude() != null && address.longitude() != null);
+            if (address.latitude() != null && address.longitude() != null) {
+                out.writeDouble(address.latitude());
+                out.writeDouble(address.longitude());
+            }
+        }
+        List<MenuItemResponse> menuItems = restaurant.menuItems();
+        writeVarInt(out, menuItems != null ? menuItems.size() + 1 : 0);
+        if (menuItems != null) {
+            for (MenuItemResponse item : menuItems) {
+                writeMenuItem(out, item);
+            }
+        }
+        writeDateTime(out, restaurant.createdAt());
+        writeDateTime(out, restaurant.updatedAt());
+        writeVersion(out, restaurant.version());
+    }
+
+    private RestaurantResponse readRestaurant(DataInputStream in, boolean versioned, boolean located)
+            throws IOException {
+        String id = readString(in);
+        String name = readString(in);
+        String email = readString(in);
+        String phone = readString(in);
+        AddressResponse address = in.readBoolean() ? readAddress(in, located) : null;
+        int encodedSize = readVarInt(in);
+        List<MenuItemResponse> menuItems = null;
+        if (encodedSize > 0) {
+            menuItems = new ArrayList<>(encodedSize - 1);
+            for (int i = 0; i < encodedSize - 1; i++) {
+                menuItems.add(readMenuItem(in, versioned));
+            }
+        }
+        return new RestaurantResponse(id, name, email, phone, address, menuItems,
+                readDateTime(in), readDateTime(in), versioned ? readVersion(in) : null);
+    }
+
+    private AddressResponse readAddress(DataInputStream in, boolean located) throws IOException {
+        String street = readString(in);
+        String city = readString(in);
+        String state = readString(in);
+        String zipCode = readString(in);
+        String country = readString(in);
+        if (located && in.readBoolean()) {
+            return new AddressResponse(street, city, state, zipCode, country, in.readDouble(), in.readDouble());
+        }
+        return new AddressResponse(street, city, state, zipCode, country, null, null);
+    }
+
+    private void writePage(DataOutputStream out, Page<?> page) throws IOException {
+        Pageable pageable = page.getPageable();
+        out.writeBoolean(pageable.isPaged());
+        if (pageable.isPaged()) {
+            writeVarInt(out, pageable.getPageNumber());
+            writeVarInt(out, pageable.getPageSize());
+            List<Sort.Order> orders = pageable.getSort().toList();
+            writeVarInt(out, orders.size());
+            for (Sort.Order order : orders) {
+                writeString(out, order.getProperty());
+                out.writeBoolean(order.isAscending());
+            }
+        }
+        out.writeLong(page.getTotalElements());
+        writeVarInt(out, page.getNumberOfElements());
+        for (Object element : page.getContent()) {
+            writeValue(out, element);
+        }
+    }
+
+    private Page<Object> readPage(DataInputStream in) throws IOException {
+        Pageable pageable = Pageable.unpaged();
+        if (in.readBoolean()) {
+            int pageNumber = readVarInt(in);
+            int pageSize = readVarInt(in);
+            int orderCount = readVarInt(in);
+            List<Sort.Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                String property = readString(in);
+                orders.add(in.readBoolean() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+            }
+            pageable = PageRequest.of(pageNumber, pageSize, Sort.by(orders));
+        }
+        long total = in.readLong();
+        int size = readVarInt(in);
+        List<Object> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(readValue(in));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int encodedLength = readVarInt(in);
+        if (encodedLength == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[encodedLength - 1];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarInt(out, unscaled.length + 1);
+        out.write(unscaled);
+        // zig-zag so that negative scales stay a single byte
+        writeVarInt(out, (value.scale() << 1) ^ (value.scale() >> 31));
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int encodedLength = readVarInt(in);
+        if (encodedLength == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[encodedLength - 1];
+        in.readFully(unscaled);
+        int zigZagScale = readVarInt(in);
+        return new BigDecimal(new BigInteger(unscaled), (zigZagScale >>> 1) ^ -(zigZagScale & 1));
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    // Shifted by one so that 0 means no version
+    private static void writeVersion(DataOutputStream out, Long version) throws IOException {
+        long value = version != null ? version + 1 : 0;
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static Long readVersion(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value != 0 ? value - 1 : null;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
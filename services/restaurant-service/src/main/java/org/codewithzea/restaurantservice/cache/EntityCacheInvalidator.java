@@ -0,0 +1,88 @@
+package org.codewithzea.restaurantservice.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.codewithzea.restaurantservice.event.MenuEvent;
+import org.codewithzea.restaurantservice.event.MenuImportedEvent;
+import org.codewithzea.restaurantservice.event.RestaurantEvent;
+import org.codewithzea.restaurantservice.model.CacheRegions;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Keeps the Hibernate second-level cache of other nodes in step with committed writes.
+ * <p>
+ * Hibernate already updates this node's regions as part of each write; every other node holds its
+ * own copy, so the affected entries are announced over the near-cache channel and evicted there.
+ * Keys are {@code restaurant:<id>}, {@code menu:<restaurantId>:<itemId>} for a single item, or
+ * {@code menu:<restaurantId>} after an import.
+ */
+@Component
+public class EntityCacheInvalidator implements LocalCache {
+    private static final Logger log = LoggerFactory.getLogger(EntityCacheInvalidator.class);
+
+    public static final String NAME = "hibernate";
+
+    private static final String RESTAURANT = "restaurant";
+    private static final String MENU = "menu";
+    private static final String MENU_ITEMS_ROLE = Restaurant.class.getName() + ".menuItems";
+
+    private final Cache cache;
+    private final NearCacheInvalidationPublisher invalidationPublisher;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                  NearCacheInvalidationPublisher invalidationPublisher) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantEvent(RestaurantEvent event) {
+        invalidationPublisher.publishEvict(NAME, RESTAURANT + ":" + event.getRestaurantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuEvent(MenuEvent event) {
+        invalidationPublisher.publishEvict(NAME, MENU + ":" + event.getRestaurantId() + ":" + event.getMenuItemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuImported(MenuImportedEvent event) {
+        invalidationPublisher.publishEvict(NAME, MENU + ":" + event.getRestaurantId());
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        String[] parts = key.split(":");
+        try {
+            UUID restaurantId = UUID.fromString(parts[1]);
+            if (RESTAURANT.equals(parts[0])) {
+                cache.evictEntityData(Restaurant.class, restaurantId);
+                cache.evictCollectionData(MENU_ITEMS_ROLE, restaurantId);
+            } else if (MENU.equals(parts[0])) {
+                cache.evictCollectionData(MENU_ITEMS_ROLE, restaurantId);
+                if (parts.length > 2) {
+                    cache.evictEntityData(MenuItem.class, UUID.fromString(parts[2]));
+                } else {
+                    cache.evictEntityData(MenuItem.class);
+                }
+                // Cached results are only invalidated by this node's own writes
+                cache.evictQueryRegion(CacheRegions.MENU_QUERY);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed entity cache invalidation {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clearLocal() {
+        cache.evictAllRegions();
+    }
+}
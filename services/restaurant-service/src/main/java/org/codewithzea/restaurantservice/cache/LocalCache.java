@@ -0,0 +1,11 @@
+package org.codewithzea.restaurantservice.cache;
+
+/**
+ * A per-node cache tier that other nodes can invalidate through {@link NearCacheInvalidationListener}.
+ */
+public interface LocalCache {
+
+    void evictLocal(String key);
+
+    void clearLocal();
+}
@@ -0,0 +1,185 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.event.MenuEvent;
+import org.codewithzea.restaurantservice.event.MenuImportedEvent;
+import org.codewithzea.restaurantservice.event.RestaurantEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the menu caches in step with menu changes once they are committed.
+ * <p>
+ * The cached menu list and the menu embedded in the cached restaurant are patched in place through
+ * {@link PatchableCache}, so a menu edit does not turn the next read into a miss. The patch is a
+ * compare-and-set in Redis: when another node changed the entry in between, or the cache cannot
+ * patch atomically, the entry is evicted instead. Events can arrive out of order, so a patch only
+ * replaces an item with a newer {@code version} of it; an item the entry does not hold yet, and a
+ * deleted one, evict the entry, as a late update could otherwise bring back a deleted item. Paginated menu entries cannot be patched
+ * (an edit shifts items between pages), so every cached page of the restaurant is evicted through
+ * the {@link CacheKeyIndex}. The serialized
+ * {@link MenuSnapshotCache} entry is dropped and rebuilt on the next read.
+ */
+@Component
+public class MenuCacheMaintainer {
+    private static final Logger log = LoggerFactory.getLogger(MenuCacheMaintainer.class);
+
+    static final String MENU_ITEMS = "menuItems";
+    static final String MENU_ITEMS_PAGINATED = "menuItemsPaginated";
+    static final String RESTAURANTS = "restaurants";
+
+    private final CacheManager cacheManager;
+    private final CacheKeyIndex cacheKeyIndex;
+    private final MenuItemCacheService menuItemCacheService;
+    private final MenuSnapshotCache menuSnapshotCache;
+
+    public MenuCacheMaintainer(CacheManager cacheManager,
+                               CacheKeyIndex cacheKeyIndex,
+                               MenuItemCacheService menuItemCacheService,
+                               MenuSnapshotCache menuSnapshotCache) {
+        this.cacheManager = cacheManager;
+        this.cacheKeyIndex = cacheKeyIndex;
+        this.menuItemCacheService = menuItemCacheService;
+        this.menuSnapshotCache = menuSnapshotCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuEvent(MenuEvent event) {
+        UUID restaurantId = event.getRestaurantId();
+        try {
+            if (event.getEventType() == MenuEvent.EventType.DELETED) {
+                evict(MENU_ITEMS, restaurantId);
+                evict(RESTAURANTS, restaurantId);
+            } else {
+                MenuItemResponse item = menuItemCacheService.mapToResponse(event.getMenuItem());
+                patchMenuItems(restaurantId, item);
+                patchRestaurant(restaurantId, item);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not patch cached menu of restaurant {}, evicting it: {}", restaurantId, e.getMessage());
+            evict(MENU_ITEMS, restaurantId);
+            evict(RESTAURANTS, restaurantId);
+        }
+        evictPages(restaurantId);
+        // Last, so the snapshot is rebuilt from the already patched menu
+        menuSnapshotCache.invalidate(restaurantId);
+    }
+
+    // A bulk import replaces most of the menu, so it is cheaper to reload than to patch
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuImported(MenuImportedEvent event) {
+        UUID restaurantId = event.getRestaurantId();
+        evict(MENU_ITEMS, restaurantId);
+        evict(RESTAURANTS, restaurantId);
+        evictPages(restaurantId);
+        menuSnapshotCache.invalidate(restaurantId);
+    }
+
+    // Batch updates have no per-id @CacheEvict, so the cached restaurant is dropped here
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantEvent(RestaurantEvent event) {
+        if (event.getEventType() == RestaurantEvent.EventType.UPDATED) {
+            evict(RESTAURANTS, event.getRestaurantId());
+        }
+        if (event.getEventType() == RestaurantEvent.EventType.DELETED) {
+            evict(MENU_ITEMS, event.getRestaurantId());
+            evictPages(event.getRestaurantId());
+            menuSnapshotCache.invalidate(event.getRestaurantId());
+        }
+    }
+
+    private void patchMenuItems(UUID restaurantId, MenuItemResponse item) {
+        patchOrEvict(MENU_ITEMS, restaurantId, cached -> patch((List<?>) cached, item));
+    }
+
+    private void patchRestaurant(UUID restaurantId, MenuItemResponse item) {
+        patchOrEvict(RESTAURANTS, restaurantId, cached -> {
+            RestaurantResponse restaurant = (RestaurantResponse) cached;
+            return new RestaurantResponse(
+                    restaurant.id(),
+                    restaurant.name(),
+                    restaurant.email(),
+                    restaurant.phone(),
+                    restaurant.address(),
+                    patch(restaurant.menuItems(), item),
+                    restaurant.createdAt(),
+                    restaurant.updatedAt(),
+                    restaurant.version()
+            );
+        });
+    }
+
+    // A read-modify-write through a plain cache could lose another node's concurrent patch
+    private void patchOrEvict(String cacheName, UUID restaurantId, UnaryOperator<Object> patch) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            if (!(cache instanceof PatchableCache patchable) || !patchable.patch(restaurantId, patch)) {
+                cache.evict(restaurantId);
+            }
+        } catch (EvictInstead e) {
+            cache.evict(restaurantId);
+        }
+    }
+
+    // Replaces the item in place if it is newer than the cached one, keeping the cached one otherwise
+    private static List<MenuItemResponse> patch(List<?> menu, MenuItemResponse item) {
+        List<MenuItemResponse> patched = new ArrayList<>(menu.size());
+        boolean found = false;
+        for (Object element : menu) {
+            MenuItemResponse existing = (MenuItemResponse) element;
+            if (!existing.id().equals(item.id())) {
+                patched.add(existing);
+                continue;
+            }
+            if (existing.version() == null || item.version() == null) {
+                throw new EvictInstead();
+            }
+            patched.add(item.version() > existing.version() ? item : existing);
+            found = true;
+        }
+        if (!found) {
+            // Either new or already deleted; the event alone cannot tell which
+            throw new EvictInstead();
+        }
+        return patched;
+    }
+
+    // Thrown from a patch, before anything is written, when the entry has to be evicted instead
+    private static final class EvictInstead extends RuntimeException {
+        EvictInstead() {
+            super(null, null, false, false);
+        }
+    }
+
+    private void evictPages(UUID restaurantId) {
+        Cache cache = cacheManager.getCache(MENU_ITEMS_PAGINATED);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cacheKeyIndex.removeGroup(MENU_ITEMS_PAGINATED, restaurantId).forEach(cache::evict);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict cached menu pages of restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+
+    private void evict(String cacheName, UUID restaurantId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(restaurantId);
+        }
+    }
+}
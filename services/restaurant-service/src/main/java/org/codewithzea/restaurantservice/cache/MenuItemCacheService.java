@@ -1,42 +1,103 @@
 package org.codewithzea.restaurantservice.cache;
 
 
+import org.codewithzea.restaurantservice.dto.response.CursorPage;
 import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
 import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.pagination.ScrollCursors;
 import org.codewithzea.restaurantservice.repository.MenuItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MenuItemCacheService {
+    private static final String MENU_ITEMS_PAGINATED = "menuItemsPaginated";
+    private static final Sort SCROLL_SORT = Sort.by("name", "id");
+
     private final MenuItemRepository menuItemRepository;
+    private final CacheKeyIndex cacheKeyIndex;
+    private final CacheManager cacheManager;
 
-    @Cacheable(value = "menuItems", key = "#restaurantId")
+    @Cacheable(value = "menuItems", key = "#restaurantId", sync = true)
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getMenuItems(UUID restaurantId) {
+        return loadMenuItems(restaurantId);
+    }
+
+    /**
+     * The menu straight from the database, bypassing the cache.
+     */
+    @Transactional(readOnly = true)
+    public List<MenuItemResponse> loadMenuItems(UUID restaurantId) {
         return menuItemRepository.findByRestaurantIdWithCategories(restaurantId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "menuItemsPaginated",
-            key = "{#restaurantId, #pageable.pageNumber, #pageable.pageSize, #pageable.sort}")
+    /**
+     * Pages are indexed per restaurant so that a menu change can evict all of them. A page is only
+     * indexed once it is cached: indexed first, an eviction of the group landing before the put
+     * would leave the page cached but out of reach of the next eviction.
+     */
     @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
     public Page<MenuItemResponse> getMenuItemsPaginated(UUID restaurantId, Pageable pageable) {
-        return menuItemRepository.findByRestaurantId(restaurantId, pageable)
+        String key = paginatedKey(restaurantId, pageable);
+        Cache cache = cacheManager.getCache(MENU_ITEMS_PAGINATED);
+        Page<MenuItemResponse> page = cache != null ? cache.get(key, Page.class) : null;
+        if (page != null) {
+            return page;
+        }
+        page = menuItemRepository.findByRestaurantId(restaurantId, pageable)
                 .map(this::mapToResponse);
+        if (cache != null) {
+            cache.put(key, page);
+            cacheKeyIndex.register(MENU_ITEMS_PAGINATED, restaurantId, key);
+        }
+        return page;
+    }
+
+    /**
+     * Keyset-paginated menu ordered by name; not cached since every cursor is a distinct key.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MenuItemResponse> scrollMenuItems(UUID restaurantId, String cursor, int size, boolean includeTotal) {
+        KeysetScrollPosition position = ScrollCursors.decode(cursor, SCROLL_SORT);
+        // One row past the page tells whether another page follows
+        List<MenuItem> rows = position.isInitial()
+                ? menuItemRepository.findFirstScrollPage(restaurantId, Limit.of(size + 1))
+                : menuItemRepository.findScrollPageAfter(restaurantId, ScrollCursors.key(position, "name", String.class),
+                        ScrollCursors.key(position, "id", UUID.class), Limit.of(size + 1));
+        Window<MenuItem> window = ScrollCursors.window(rows, size,
+                menuItem -> Map.of("name", menuItem.getName(), "id", menuItem.getId()));
+        List<MenuItemResponse> content = window.getContent().stream()
+                .map(this::mapToResponse)
+                .toList();
+        Long total = includeTotal ? menuItemRepository.countByRestaurantId(restaurantId) : null;
+        return new CursorPage<>(content, ScrollCursors.next(window), total);
+    }
+
+    public static String paginatedKey(UUID restaurantId, Pageable pageable) {
+        return restaurantId + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
     }
 
-    private MenuItemResponse mapToResponse(MenuItem menuItem) {
+    public MenuItemResponse mapToResponse(MenuItem menuItem) {
         return MenuItemResponse.builder()
                 .id(menuItem.getId().toString())
                 .name(menuItem.getName())
@@ -44,6 +105,7 @@ public class MenuItemCacheService {
                 .price(menuItem.getPrice())
                 .categoryName(menuItem.getCategory() != null ?
                         menuItem.getCategory().getName() : null)
+                .version(menuItem.getVersion())
                 .build();
     }
 }
\ No newline at end of file
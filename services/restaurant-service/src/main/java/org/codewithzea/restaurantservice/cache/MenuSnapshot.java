@@ -0,0 +1,23 @@
+package org.codewithzea.restaurantservice.cache;
+
+/**
+ * A restaurant's menu already serialized as JSON, with its gzip form when the menu is large
+ * enough to be worth compressing, and the menu version it was built at.
+ */
+public record MenuSnapshot(byte[] json, byte[] gzipped, long version) {
+
+    /**
+     * Strong ETag of a menu version, or null if the version is unknown.
+     */
+    public static String etag(long version) {
+        return version != ResourceVersions.UNKNOWN ? "\"m" + version + "\"" : null;
+    }
+
+    public String etag() {
+        return etag(version);
+    }
+
+    public int weight() {
+        return json.length + (gzipped != null ? gzipped.length : 0);
+    }
+}
@@ -0,0 +1,197 @@
+package org.codewithzea.restaurantservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.codewithzea.restaurantservice.catalogue.CatalogueStore;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-node store of serialized menus, so a menu read is a map lookup and a byte copy instead of
+ * a cache fetch, a Jackson round trip and a deflate.
+ * <p>
+ * Each snapshot carries the {@link ResourceVersions menu version} read just before its menu was
+ * loaded, and is rebuilt as soon as a caller sees a newer version. The menu comes through the
+ * {@code menuItems} cache. On another node its local copy can briefly lag the version and label an
+ * old menu with the new one, but {@link MenuCacheMaintainer} publishes the snapshot eviction after
+ * the menu patch on the same channel, so such a snapshot is dropped as soon as the node catches
+ * up. The TTL bounds memory held for menus nobody reads any more.
+ * <p>
+ * A snapshot is built outside the map's locks, as it may query the database, and installed only
+ * if nothing newer arrived meanwhile. Concurrent misses for one restaurant share a single build.
+ * <p>
+ * Menus are written through to the {@link CatalogueStore}, which is read instead of the database
+ * when it already holds the current version, when the version is unknown because Redis is down,
+ * or when the database cannot be reached.
+ */
+@Component
+public class MenuSnapshotCache implements LocalCache {
+    private static final Logger log = LoggerFactory.getLogger(MenuSnapshotCache.class);
+
+    static final String NAME = "menuSnapshots";
+
+    private final MenuItemCacheService menuItemCacheService;
+    private final ResourceVersions resourceVersions;
+    private final ObjectMapper objectMapper;
+    private final NearCacheInvalidationPublisher invalidationPublisher;
+    private final CatalogueStore catalogueStore;
+    private final int gzipThreshold;
+    private final Cache<UUID, MenuSnapshot> snapshots;
+    private final ConcurrentMap<UUID, CompletableFuture<MenuSnapshot>> builds = new ConcurrentHashMap<>();
+
+    public MenuSnapshotCache(MenuItemCacheService menuItemCacheService,
+                             ResourceVersions resourceVersions,
+                             ObjectMapper objectMapper,
+                             NearCacheInvalidationPublisher invalidationPublisher,
+                             CatalogueStore catalogueStore,
+                             @Value("${restaurant.menu.snapshot.ttl:60s}") Duration timeToLive,
+                             @Value("${restaurant.menu.snapshot.max-size:64MB}") DataSize maximumSize,
+                             @Value("${restaurant.compression.min-response-size:2KB}") DataSize gzipThreshold) {
+        this.menuItemCacheService = menuItemCacheService;
+        this.resourceVersions = resourceVersions;
+        this.objectMapper = objectMapper;
+        this.invalidationPublisher = invalidationPublisher;
+        this.catalogueStore = catalogueStore;
+        this.gzipThreshold = (int) gzipThreshold.toBytes();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((UUID id, MenuSnapshot snapshot) -> snapshot.weight())
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * A snapshot at least as new as {@code version}; with {@link ResourceVersions#UNKNOWN} any
+     * snapshot held is good enough.
+     */
+    public MenuSnapshot get(UUID restaurantId, long version) {
+        MenuSnapshot snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot != null && snapshot.version() >= version) {
+            return snapshot;
+        }
+        CompletableFuture<MenuSnapshot> build = new CompletableFuture<>();
+        CompletableFuture<MenuSnapshot> inFlight = builds.putIfAbsent(restaurantId, build);
+        if (inFlight != null) {
+            MenuSnapshot built = join(inFlight);
+            if (built.version() >= version) {
+                return built;
+            }
+            // That build read an older version than this caller saw, so it builds its own
+            return install(restaurantId, build(restaurantId));
+        }
+        try {
+            MenuSnapshot built = install(restaurantId, build(restaurantId));
+            build.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            builds.remove(restaurantId, build);
+        }
+    }
+
+    /**
+     * Installs a menu loaded elsewhere unless a snapshot at least as new is already held; the
+     * version must have been read before the menu was loaded.
+     */
+    public void warm(UUID restaurantId, long version, List<MenuItemResponse> menuItems) {
+        MenuSnapshot current = snapshots.getIfPresent(restaurantId);
+        if (current == null || current.version() < version) {
+            install(restaurantId, store(restaurantId, version, menuItems));
+        }
+    }
+
+    public void invalidate(UUID restaurantId) {
+        evictLocal(restaurantId.toString());
+        invalidationPublisher.publishEvict(NAME, restaurantId.toString());
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        snapshots.invalidate(UUID.fromString(key));
+    }
+
+    @Override
+    public void clearLocal() {
+        snapshots.invalidateAll();
+    }
+
+    // Keeps whichever of the held and the new snapshot is newer; the function only compares
+    private MenuSnapshot install(UUID restaurantId, MenuSnapshot snapshot) {
+        return snapshots.asMap().merge(restaurantId, snapshot,
+                (current, candidate) -> current.version() >= candidate.version() ? current : candidate);
+    }
+
+    private static MenuSnapshot join(CompletableFuture<MenuSnapshot> build) {
+        try {
+            return build.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private MenuSnapshot build(UUID restaurantId) {
+        long version = resourceVersions.menuVersion(restaurantId);
+        CatalogueStore.Entry stored = catalogueStore.getMenu(restaurantId);
+        if (stored != null && (version == ResourceVersions.UNKNOWN || stored.version() >= version)) {
+            return snapshot(stored.json(), stored.version());
+        }
+        List<MenuItemResponse> menuItems;
+        try {
+            menuItems = menuItemCacheService.getMenuItems(restaurantId);
+        } catch (RuntimeException e) {
+            if (stored == null) {
+                throw e;
+            }
+            log.warn("Serving stored menu of restaurant {} at version {}: {}", restaurantId, stored.version(), e.getMessage());
+            return snapshot(stored.json(), stored.version());
+        }
+        return store(restaurantId, version, menuItems);
+    }
+
+    private MenuSnapshot store(UUID restaurantId, long version, List<MenuItemResponse> menuItems) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(menuItems);
+            catalogueStore.putMenu(restaurantId, version, json);
+            return snapshot(json, version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu of restaurant " + restaurantId, e);
+        }
+    }
+
+    private MenuSnapshot snapshot(byte[] json, long version) {
+        return new MenuSnapshot(json, json.length >= gzipThreshold ? gzip(json) : null, version);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
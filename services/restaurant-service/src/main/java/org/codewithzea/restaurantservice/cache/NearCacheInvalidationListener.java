@@ -0,0 +1,59 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Applies near-cache evictions announced by other nodes to the local L1 tier.
+ */
+public class NearCacheInvalidationListener implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(NearCacheInvalidationListener.class);
+
+    private final TwoTierCacheManager cacheManager;
+    private final Map<String, LocalCache> localCaches;
+    private final String nodeId;
+
+    /**
+     * @param cacheManager the near-cache manager, or {@code null} when near caching is disabled
+     * @param localCaches  node-local stores outside the cache manager, by cache name
+     */
+    public NearCacheInvalidationListener(TwoTierCacheManager cacheManager,
+                                         Map<String, LocalCache> localCaches,
+                                         String nodeId) {
+        this.cacheManager = cacheManager;
+        this.localCaches = Map.copyOf(localCaches);
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8)
+                .split("\\" + NearCacheInvalidationPublisher.SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed near-cache invalidation message");
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+
+        LocalCache cache = localCaches.get(parts[1]);
+        if (cache == null && cacheManager != null) {
+            cache = cacheManager.findNearCache(parts[1]);
+        }
+        if (cache == null) {
+            return;
+        }
+        if (NearCacheInvalidationPublisher.CLEAR_ALL.equals(parts[2])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+        log.debug("Applied remote near-cache invalidation {}::{}", parts[1], parts[2]);
+    }
+}
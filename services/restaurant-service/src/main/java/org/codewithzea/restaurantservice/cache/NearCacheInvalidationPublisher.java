@@ -0,0 +1,57 @@
+package org.codewithzea.restaurantservice.cache;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts near-cache evictions over Redis pub/sub so that other nodes drop their L1 copies.
+ * <p>
+ * Messages have the form {@code nodeId|cacheName|key}; a key of {@value #CLEAR_ALL} clears the
+ * whole cache.
+ */
+public class NearCacheInvalidationPublisher {
+    private static final Logger log = LoggerFactory.getLogger(NearCacheInvalidationPublisher.class);
+
+    static final String SEPARATOR = "|";
+    static final String CLEAR_ALL = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    @Getter
+    private final String channel;
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public NearCacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    /**
+     * @return whether the message was handed to Redis
+     */
+    public boolean publishEvict(String cacheName, String key) {
+        return publish(cacheName, key);
+    }
+
+    /**
+     * @return whether the message was handed to Redis
+     */
+    public boolean publishClear(String cacheName) {
+        return publish(cacheName, CLEAR_ALL);
+    }
+
+    private boolean publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+            return true;
+        } catch (Exception e) {
+            // L1 entries expire on their own TTL, so a lost message only delays convergence
+            log.warn("Failed to publish near-cache invalidation for {}::{}: {}", cacheName, key, e.getMessage());
+            return false;
+        }
+    }
+}
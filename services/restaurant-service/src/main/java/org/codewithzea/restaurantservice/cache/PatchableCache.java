@@ -0,0 +1,19 @@
+package org.codewithzea.restaurantservice.cache;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A cache whose entries can be rewritten in place without losing a concurrent write from another
+ * node, see {@link MenuCacheMaintainer}.
+ */
+public interface PatchableCache {
+
+    /**
+     * Replaces the entry under {@code key} with {@code patch} applied to it, provided the entry did
+     * not change in between. Nothing is written when there is no entry.
+     *
+     * @return {@code false} if the entry changed concurrently or cannot be patched here, in which
+     * case the caller should evict it instead
+     */
+    boolean patch(Object key, UnaryOperator<Object> patch);
+}
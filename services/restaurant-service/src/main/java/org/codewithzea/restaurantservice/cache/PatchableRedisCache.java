@@ -0,0 +1,56 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.UnaryOperator;
+
+/**
+ * Redis cache that patches entries with a compare-and-set: the patched value is only written if
+ * the entry still holds exactly the bytes the patch was computed from, keeping its remaining TTL.
+ */
+public class PatchableRedisCache extends RedisCache implements PatchableCache {
+
+    private static final byte[] COMPARE_AND_SET = """
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            local ttl = redis.call('PTTL', KEYS[1])
+            if ttl > 0 then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl)
+            else
+                redis.call('SET', KEYS[1], ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+
+    protected PatchableRedisCache(String name,
+                                  RedisCacheWriter cacheWriter,
+                                  RedisCacheConfiguration cacheConfiguration,
+                                  RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public boolean patch(Object key, UnaryOperator<Object> patch) {
+        byte[] cacheKey = serializeCacheKey(createCacheKey(key));
+        byte[] current = getCacheWriter().get(getName(), cacheKey);
+        if (current == null) {
+            return true;
+        }
+        byte[] patched = serializeCacheValue(patch.apply(deserializeCacheValue(current)));
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Long written = connection.scriptingCommands()
+                    .eval(COMPARE_AND_SET, ReturnType.INTEGER, 1, cacheKey, current, patched);
+            return written != null && written == 1;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * Redis cache manager whose caches are {@link PatchableRedisCache}s.
+ */
+public class PatchableRedisCacheManager extends RedisCacheManager {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public PatchableRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                      RedisCacheConfiguration defaultCacheConfiguration,
+                                      Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), defaultCacheConfiguration,
+                initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new PatchableRedisCache(name, getCacheWriter(), cacheConfiguration, connectionFactory);
+    }
+}
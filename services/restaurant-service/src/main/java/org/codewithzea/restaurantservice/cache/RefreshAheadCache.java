@@ -0,0 +1,262 @@
+package org.codewithzea.restaurantservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache decorator that protects the loader behind {@code @Cacheable(sync = true)} from stampedes.
+ * <p>
+ * Values are stored as {@link StampedValue}s that are fresh for {@code timeToLive}; the backing
+ * store is expected to keep them a while longer. On this node:
+ * <ul>
+ *     <li>concurrent misses for the same key share a single loader call (single flight);</li>
+ *     <li>a fresh hit may trigger a background refresh shortly before expiry, with a probability
+ *     that grows as expiry approaches and with the cost of the loader (XFetch);</li>
+ *     <li>a hit past its freshness is served stale while a background refresh replaces it.</li>
+ * </ul>
+ * An eviction or clear invalidates the loads in flight for the keys it drops. Such a load still
+ * answers the callers already waiting for it, but its result is not written back, as it may
+ * predate the change that caused the eviction.
+ */
+public class RefreshAheadCache implements Cache, PatchableCache {
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache delegate;
+    private final Duration timeToLive;
+    private final double beta;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final ConcurrentMap<Object, Load> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalescedWaits;
+    private final Counter earlyRefreshes;
+    private final Counter staleHits;
+
+    public RefreshAheadCache(Cache delegate,
+                             Duration timeToLive,
+                             double beta,
+                             Executor refreshExecutor,
+                             Clock clock,
+                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+        this.beta = beta;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.coalescedWaits = counter("cache.coalesced.waits",
+                "Cache misses that waited for a load already in flight", meterRegistry);
+        this.earlyRefreshes = counter("cache.refresh.early",
+                "Background refreshes started before the entry expired", meterRegistry);
+        this.staleHits = counter("cache.stale.hits",
+                "Expired entries served while a refresh was running", meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        return new SimpleValueWrapper(unwrap(wrapper.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            Object cached = wrapper.get();
+            if (cached instanceof StampedValue stamped) {
+                long now = clock.millis();
+                if (now >= stamped.expiresAt()) {
+                    staleHits.increment();
+                    refreshInBackground(key, valueLoader);
+                } else if (shouldRefreshEarly(stamped, now)) {
+                    earlyRefreshes.increment();
+                    refreshInBackground(key, valueLoader);
+                }
+                return (T) stamped.value();
+            }
+            return (T) cached;
+        }
+
+        try {
+            return (T) load(key, valueLoader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, stamp(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, stamp(value, 0));
+        return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    // Patches the value and keeps its stamp, so a patch does not extend its freshness
+    @Override
+    public boolean patch(Object key, UnaryOperator<Object> patch) {
+        if (!(delegate instanceof PatchableCache patchable)) {
+            return false;
+        }
+        return patchable.patch(key, cached -> cached instanceof StampedValue stamped
+                ? new StampedValue(patch.apply(stamped.value()), stamped.expiresAt(), stamped.computeMillis())
+                : patch.apply(cached));
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateLoad(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidateLoad(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        inFlight.keySet().forEach(this::invalidateLoad);
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.keySet().forEach(this::invalidateLoad);
+        return delegate.invalidate();
+    }
+
+    /**
+     * Runs the loader unless a load for the same key is already in flight on this node, in which
+     * case the caller gets that load's future instead.
+     */
+    private CompletableFuture<Object> load(Object key, Callable<?> valueLoader) {
+        Load load = new Load();
+        Load existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalescedWaits.increment();
+            return existing.future;
+        }
+        try {
+            long start = clock.millis();
+            Object value = valueLoader.call();
+            if (value != null && !load.invalidated) {
+                delegate.put(key, stamp(value, clock.millis() - start));
+                // An eviction between the check and the put would otherwise be undone
+                if (load.invalidated) {
+                    delegate.evict(key);
+                }
+            }
+            load.future.complete(value);
+        } catch (Throwable e) {
+            load.future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, load);
+        }
+        return load.future;
+    }
+
+    // Later callers start a fresh load instead of joining the invalidated one
+    private void invalidateLoad(Object key) {
+        Load load = inFlight.remove(key);
+        if (load != null) {
+            load.invalidated = true;
+        }
+    }
+
+    private void refreshInBackground(Object key, Callable<?> valueLoader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> load(key, valueLoader).exceptionally(e -> {
+                log.warn("Background refresh of {}::{} failed, keeping the cached value: {}",
+                        getName(), key, e.getMessage());
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping refresh of {}::{}, refresh queue is full", getName(), key);
+        }
+    }
+
+    // XFetch: refresh when now - computeTime * beta * ln(rand) reaches the expiry
+    private boolean shouldRefreshEarly(StampedValue stamped, long now) {
+        if (beta <= 0 || stamped.computeMillis() <= 0) {
+            return false;
+        }
+        double gap = -stamped.computeMillis() * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return now + gap >= stamped.expiresAt();
+    }
+
+    private Object stamp(Object value, long computeMillis) {
+        if (value == null) {
+            return null;
+        }
+        return new StampedValue(value, clock.millis() + timeToLive.toMillis(), computeMillis);
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof StampedValue stamped ? stamped.value() : value;
+    }
+
+    private static final class Load {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile boolean invalidated;
+    }
+
+    private Counter counter(String name, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("cache", getName())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package org.codewithzea.restaurantservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorates the caches listed in {@code timeToLives} with {@link RefreshAheadCache}. Background
+ * refreshes run on a small bounded pool owned by this manager; when it is saturated, refreshes
+ * are skipped and the cached value keeps being served.
+ */
+public class RefreshAheadCacheManager implements CacheManager, DisposableBean {
+
+    private final CacheManager targetCacheManager;
+    private final Map<String, Duration> timeToLives;
+    private final double beta;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public RefreshAheadCacheManager(CacheManager targetCacheManager,
+                                    Map<String, Duration> timeToLives,
+                                    double beta,
+                                    int refreshThreads,
+                                    MeterRegistry meterRegistry) {
+        this.targetCacheManager = targetCacheManager;
+        this.timeToLives = Map.copyOf(timeToLives);
+        this.beta = beta;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+
+    public CacheManager getTargetCacheManager() {
+        return targetCacheManager;
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Cache createCache(String name) {
+        Cache target = targetCacheManager.getCache(name);
+        Duration timeToLive = timeToLives.get(name);
+        if (target == null || timeToLive == null) {
+            return target;
+        }
+        return new RefreshAheadCache(target, timeToLive, beta, refreshExecutor, Clock.systemUTC(), meterRegistry);
+    }
+}
@@ -0,0 +1,195 @@
+package org.codewithzea.restaurantservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Redis-held validators for conditional GETs, so a matching {@code If-None-Match} is answered
+ * from one Redis round trip instead of a cache or database read.
+ * <p>
+ * A menu version is an epoch-millis stamp that only moves forward: a bump takes
+ * {@code max(previous + 1, now)}, and a missing key (expired or flushed) starts again at now, so
+ * a version is never handed out twice for different menus and doubles as Last-Modified. The
+ * restaurant validator is its {@code updatedAt}. Both are written after commit; readers must take
+ * the version before loading the body, so a body is never labelled with a newer version than it
+ * reflects.
+ */
+@Component
+public class ResourceVersions {
+    private static final Logger log = LoggerFactory.getLogger(ResourceVersions.class);
+
+    public static final long UNKNOWN = -1;
+
+    private static final String PREFIX = "restaurant-service:version:";
+    private static final RedisScript<Long> BUMP = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local next = math.max(current + 1, tonumber(ARGV[1]))
+            redis.call('SET', KEYS[1], string.format('%d', next), 'PX', ARGV[2])
+            return next
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    @Autowired
+    public ResourceVersions(StringRedisTemplate redisTemplate,
+                            @Value("${restaurant.conditional.version-ttl:1h}") Duration timeToLive) {
+        this(redisTemplate, timeToLive, Clock.systemUTC());
+    }
+
+    public ResourceVersions(StringRedisTemplate redisTemplate, Duration timeToLive, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * The current menu version, starting one if the restaurant has none; {@link #UNKNOWN} if
+     * Redis cannot be reached.
+     */
+    public long menuVersion(UUID restaurantId) {
+        String key = menuKey(restaurantId);
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+            if (version != null) {
+                return Long.parseLong(version);
+            }
+            String started = String.valueOf(clock.millis());
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, started, timeToLive))) {
+                return Long.parseLong(started);
+            }
+            version = redisTemplate.opsForValue().get(key);
+            return version != null ? Long.parseLong(version) : UNKNOWN;
+        } catch (Exception e) {
+            log.warn("Failed to read menu version of restaurant {}: {}", restaurantId, e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * The restaurant's {@code updatedAt} in epoch millis and its menu version, or null when either
+     * is not known yet and the caller has to load the restaurant.
+     */
+    public RestaurantVersions restaurantVersions(UUID restaurantId) {
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(List.of(restaurantKey(restaurantId), menuKey(restaurantId)));
+            if (values == null || values.contains(null)) {
+                return null;
+            }
+            return new RestaurantVersions(Long.parseLong(values.get(0)), Long.parseLong(values.get(1)));
+        } catch (Exception e) {
+            log.warn("Failed to read versions of restaurant {}: {}", restaurantId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The recorded {@code updatedAt} in epoch millis of each restaurant that has one, in one round
+     * trip; empty if Redis cannot be reached.
+     */
+    public Map<UUID, Long> restaurantUpdatedAts(List<UUID> restaurantIds) {
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(restaurantIds.stream().map(ResourceVersions::restaurantKey).toList());
+            Map<UUID, Long> updatedAts = new HashMap<>();
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    updatedAts.put(restaurantIds.get(i), Long.parseLong(values.get(i)));
+                }
+            }
+            return updatedAts;
+        } catch (Exception e) {
+            log.warn("Failed to read versions of {} restaurants: {}", restaurantIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Bumps the menu version once the current transaction commits.
+     */
+    public void bumpMenuAfterCommit(UUID restaurantId) {
+        afterCommit(() -> redisTemplate.execute(BUMP, List.of(menuKey(restaurantId)),
+                String.valueOf(clock.millis()), String.valueOf(timeToLive.toMillis())));
+    }
+
+    /**
+     * Records the restaurant's {@code updatedAt} once the current transaction commits. It is read
+     * then because Hibernate only sets it when the change is flushed.
+     */
+    public void recordRestaurantAfterCommit(UUID restaurantId, Supplier<LocalDateTime> updatedAt) {
+        afterCommit(() -> redisTemplate.opsForValue().set(restaurantKey(restaurantId),
+                String.valueOf(toEpochMilli(updatedAt.get())), timeToLive));
+    }
+
+    /**
+     * Records an {@code updatedAt} read from a possibly cached restaurant; never overwrites the
+     * value written by the change itself.
+     */
+    public void recordRestaurantIfAbsent(UUID restaurantId, long updatedAt) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(restaurantKey(restaurantId), String.valueOf(updatedAt), timeToLive);
+        } catch (Exception e) {
+            log.warn("Failed to record version of restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+
+    public void removeAfterCommit(UUID restaurantId) {
+        afterCommit(() -> redisTemplate.delete(List.of(restaurantKey(restaurantId), menuKey(restaurantId))));
+    }
+
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void afterCommit(Runnable update) {
+        Runnable guarded = () -> {
+            try {
+                update.run();
+            } catch (Exception e) {
+                // A client holding the old version keeps getting 304s until the key expires
+                log.warn("Failed to update resource version: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    public record RestaurantVersions(long updatedAt, long menuVersion) {
+    }
+
+    private static String menuKey(UUID restaurantId) {
+        return PREFIX + "menu:" + restaurantId;
+    }
+
+    private static String restaurantKey(UUID restaurantId) {
+        return PREFIX + "restaurant:" + restaurantId;
+    }
+}
@@ -0,0 +1,12 @@
+package org.codewithzea.restaurantservice.cache;
+
+/**
+ * Cached value together with the moment it stops being fresh and how long it took to compute,
+ * which {@link RefreshAheadCache} uses to decide on early refreshes.
+ *
+ * @param value          the cached value
+ * @param expiresAt      epoch millis after which the value is served stale
+ * @param computeMillis  time the loader took to produce the value
+ */
+public record StampedValue(Object value, long expiresAt, long computeMillis) {
+}
@@ -0,0 +1,251 @@
+package org.codewithzea.restaurantservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache that keeps a bounded in-process copy (L1) of entries held in Redis (L2).
+ * <p>
+ * Reads are served from L1 when possible and fall back to Redis, populating L1 on the way
+ * back. Puts, patches and evictions hit both tiers and are broadcast to the other nodes so that
+ * their L1 copies are dropped as well; otherwise those nodes would keep serving the old value
+ * until it expires.
+ */
+public class TwoTierCache implements Cache, LocalCache, PatchableCache {
+
+    static final String TIER_LOCAL = "l1";
+    static final String TIER_REMOTE = "l2";
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final NearCacheInvalidationPublisher invalidationPublisher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteEvictions;
+    private final Map<RemovalCause, Counter> localEvictions = new EnumMap<>(RemovalCause.class);
+
+    public TwoTierCache(Cache remote,
+                        long maximumSize,
+                        Duration timeToLive,
+                        NearCacheInvalidationPublisher invalidationPublisher,
+                        MeterRegistry meterRegistry) {
+        this.name = remote.getName();
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+
+        this.localHits = requests(meterRegistry, TIER_LOCAL, "hit");
+        this.localMisses = requests(meterRegistry, TIER_LOCAL, "miss");
+        this.remoteHits = requests(meterRegistry, TIER_REMOTE, "hit");
+        this.remoteMisses = requests(meterRegistry, TIER_REMOTE, "miss");
+        this.remoteEvictions = evictions(meterRegistry, TIER_REMOTE, "explicit");
+        for (RemovalCause cause : RemovalCause.values()) {
+            localEvictions.put(cause, evictions(meterRegistry, TIER_LOCAL, cause.name().toLowerCase()));
+        }
+
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .removalListener((String key, Object value, RemovalCause cause) ->
+                        localEvictions.get(cause).increment())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            local.put(localKey, wrapper.get());
+        } else {
+            remoteMisses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        broadcast(invalidationPublisher.publishEvict(name, localKey(key)));
+    }
+
+    /**
+     * Patches the Redis entry atomically, then drops the L1 copies here and on the other nodes,
+     * which still hold the value from before the patch.
+     */
+    @Override
+    public boolean patch(Object key, UnaryOperator<Object> patch) {
+        if (!(remote instanceof PatchableCache patchable)) {
+            return false;
+        }
+        boolean patched = patchable.patch(key, patch);
+        if (patched) {
+            evictLocal(localKey(key));
+            broadcast(invalidationPublisher.publishEvict(name, localKey(key)));
+        }
+        return patched;
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object effective = existing != null ? existing.get() : value;
+        if (effective != null) {
+            local.put(localKey(key), effective);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+        broadcast(invalidationPublisher.publishEvict(name, localKey(key)));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        evictLocal(localKey(key));
+        broadcast(invalidationPublisher.publishEvict(name, localKey(key)));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        broadcast(invalidationPublisher.publishClear(name));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = remote.invalidate();
+        clearLocal();
+        broadcast(invalidationPublisher.publishClear(name));
+        return hadEntries;
+    }
+
+    /**
+     * Drops the L1 copy only. Used when another node announces an eviction.
+     */
+    @Override
+    public void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    @Override
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Looks in L1 only, for callers that fetch the misses from Redis themselves.
+     */
+    Object getLocal(Object key) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            localHits.increment();
+        } else {
+            localMisses.increment();
+        }
+        return value;
+    }
+
+    void putLocal(Object key, Object value) {
+        local.put(localKey(key), value);
+    }
+
+    long localSize() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private void broadcast(boolean published) {
+        if (published) {
+            remoteEvictions.increment();
+        }
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Two-tier cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictions(MeterRegistry meterRegistry, String tier, String cause) {
+        return Counter.builder("cache.tier.evictions")
+                .description("Two-tier cache evictions by tier and cause")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+}
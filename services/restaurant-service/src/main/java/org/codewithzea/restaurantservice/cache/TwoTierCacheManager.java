@@ -0,0 +1,67 @@
+package org.codewithzea.restaurantservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps the Redis cache manager and fronts the configured caches with an in-process L1.
+ * Caches that are not listed are returned unchanged.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Set<String> nearCacheNames;
+    private final long maximumSize;
+    private final Duration timeToLive;
+    private final NearCacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               Set<String> nearCacheNames,
+                               long maximumSize,
+                               Duration timeToLive,
+                               NearCacheInvalidationPublisher invalidationPublisher,
+                               MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.nearCacheNames = Set.copyOf(nearCacheNames);
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    /**
+     * Returns the near cache with the given name if it has already been created on this node,
+     * without creating it.
+     */
+    public TwoTierCache findNearCache(String name) {
+        return caches.get(name) instanceof TwoTierCache nearCache ? nearCache : null;
+    }
+
+    private Cache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null || !nearCacheNames.contains(name)) {
+            return remote;
+        }
+        return new TwoTierCache(remote, maximumSize, timeToLive, invalidationPublisher, meterRegistry);
+    }
+}
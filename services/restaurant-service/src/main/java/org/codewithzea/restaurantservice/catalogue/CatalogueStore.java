@@ -0,0 +1,292 @@
+package org.codewithzea.restaurantservice.catalogue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSummaryResponse;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-node copy of the restaurant catalogue in an embedded RocksDB, with one column family per
+ * entity type, keyed by restaurant id and holding the JSON the API serves.
+ * <p>
+ * Values live in RocksDB's off-heap block cache and on local disk, so they survive restarts and
+ * can be read while Redis or Postgres is down, without adding to the Java heap. Each value is
+ * prefixed with the version it was loaded at ({@code updatedAt} for restaurants, the
+ * {@link ResourceVersions menu version} for menus) and a write never replaces a newer one. If the
+ * database cannot be opened the store stays empty and the service runs without it.
+ */
+@Component
+public class CatalogueStore {
+    private static final Logger log = LoggerFactory.getLogger(CatalogueStore.class);
+
+    private static final byte[] RESTAURANTS = "restaurants".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MENUS = "menus".getBytes(StandardCharsets.UTF_8);
+    private static final TypeReference<List<MenuItemResponse>> MENU_TYPE = new TypeReference<>() {
+    };
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    private final ObjectMapper objectMapper;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private RocksDB db;
+    private ColumnFamilyHandle restaurants;
+    private ColumnFamilyHandle menus;
+    private WriteOptions writeOptions;
+
+    public CatalogueStore(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${restaurant.catalogue.path:data/catalogue}") Path path,
+                          @Value("${restaurant.catalogue.block-cache-size:32MB}") DataSize blockCacheSize) {
+        this.objectMapper = objectMapper;
+        try {
+            open(path, blockCacheSize);
+            log.info("Opened local catalogue at {}", path.toAbsolutePath());
+        } catch (RocksDBException | IOException | RuntimeException e) {
+            log.error("Local catalogue at {} unavailable, running without it: {}", path, e.getMessage());
+            close();
+        }
+        Gauge.builder("catalogue.entries", this, store -> store.estimateEntries(store.restaurants))
+                .description("Estimated entries in the local catalogue")
+                .tag("type", "restaurant")
+                .register(meterRegistry);
+        Gauge.builder("catalogue.entries", this, store -> store.estimateEntries(store.menus))
+                .description("Estimated entries in the local catalogue")
+                .tag("type", "menu")
+                .register(meterRegistry);
+    }
+
+    public void putRestaurant(RestaurantSummaryResponse restaurant) {
+        long version = restaurant.updatedAt() != null
+                ? ResourceVersions.toEpochMilli(restaurant.updatedAt())
+                : ResourceVersions.UNKNOWN;
+        try {
+            put(restaurants, UUID.fromString(restaurant.id()), version, objectMapper.writeValueAsBytes(restaurant));
+        } catch (IOException e) {
+            log.warn("Failed to serialize restaurant {} for the local catalogue: {}", restaurant.id(), e.getMessage());
+        }
+    }
+
+    public RestaurantSummaryResponse getRestaurant(UUID restaurantId) {
+        Entry entry = get(restaurants, restaurantId);
+        return entry != null ? read(entry.json(), RestaurantSummaryResponse.class, restaurantId) : null;
+    }
+
+    public void putMenu(UUID restaurantId, long version, List<MenuItemResponse> menuItems) {
+        try {
+            putMenu(restaurantId, version, objectMapper.writeValueAsBytes(menuItems));
+        } catch (IOException e) {
+            log.warn("Failed to serialize menu of restaurant {} for the local catalogue: {}", restaurantId, e.getMessage());
+        }
+    }
+
+    /**
+     * Stores the menu as serialized JSON. An empty menu removes the entry instead, so probing
+     * unknown restaurant ids does not fill the disk.
+     */
+    public void putMenu(UUID restaurantId, long version, byte[] json) {
+        if (json.length <= 2) {
+            delete(menus, restaurantId);
+            return;
+        }
+        put(menus, restaurantId, version, json);
+    }
+
+    /**
+     * The stored menu JSON with the menu version it was loaded at, or null.
+     */
+    public Entry getMenu(UUID restaurantId) {
+        return get(menus, restaurantId);
+    }
+
+    public List<MenuItemResponse> getMenuItems(UUID restaurantId) {
+        Entry entry = get(menus, restaurantId);
+        if (entry == null) {
+            return List.of();
+        }
+        List<MenuItemResponse> menuItems = read(entry.json(), MENU_TYPE, restaurantId);
+        return menuItems != null ? menuItems : List.of();
+    }
+
+    public synchronized void delete(UUID restaurantId) {
+        if (db == null) {
+            return;
+        }
+        try (WriteBatch batch = new WriteBatch()) {
+            batch.delete(restaurants, key(restaurantId));
+            batch.delete(menus, key(restaurantId));
+            db.write(writeOptions, batch);
+        } catch (RocksDBException e) {
+            log.warn("Failed to remove restaurant {} from the local catalogue: {}", restaurantId, e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return db != null;
+    }
+
+    // Writes are rare next to reads; serializing them makes the version check and the put atomic
+    private synchronized void put(ColumnFamilyHandle family, UUID id, long version, byte[] json) {
+        if (db == null) {
+            return;
+        }
+        try {
+            byte[] key = key(id);
+            byte[] current = db.get(family, key);
+            // An unknown version comes from a fresh database read while Redis was down, so it wins
+            if (current != null && version != ResourceVersions.UNKNOWN
+                    && ByteBuffer.wrap(current).getLong() > version) {
+                return;
+            }
+            db.put(family, writeOptions, key, ByteBuffer.allocate(Long.BYTES + json.length)
+                    .putLong(version)
+                    .put(json)
+                    .array());
+        } catch (RocksDBException e) {
+            log.warn("Failed to write {} to the local catalogue: {}", id, e.getMessage());
+        }
+    }
+
+    private synchronized void delete(ColumnFamilyHandle family, UUID id) {
+        if (db == null) {
+            return;
+        }
+        try {
+            db.delete(family, writeOptions, key(id));
+        } catch (RocksDBException e) {
+            log.warn("Failed to remove {} from the local catalogue: {}", id, e.getMessage());
+        }
+    }
+
+    private Entry get(ColumnFamilyHandle family, UUID id) {
+        if (db == null) {
+            return null;
+        }
+        try {
+            byte[] value = db.get(family, key(id));
+            if (value == null) {
+                return null;
+            }
+            return new Entry(ByteBuffer.wrap(value).getLong(), Arrays.copyOfRange(value, Long.BYTES, value.length));
+        } catch (RocksDBException e) {
+            log.warn("Failed to read {} from the local catalogue: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T read(byte[] json, Class<T> type, UUID id) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable local catalogue entry {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T read(byte[] json, TypeReference<T> type, UUID id) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable local catalogue entry {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private double estimateEntries(ColumnFamilyHandle family) {
+        if (db == null) {
+            return 0;
+        }
+        try {
+            return db.getLongProperty(family, "rocksdb.estimate-num-keys");
+        } catch (RocksDBException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static byte[] key(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private void open(Path path, DataSize blockCacheSize) throws RocksDBException, IOException {
+        Files.createDirectories(path);
+        LRUCache blockCache = new LRUCache(blockCacheSize.toBytes());
+        resources.add(blockCache);
+        ColumnFamilyOptions familyOptions = new ColumnFamilyOptions()
+                .setCompressionType(CompressionType.LZ4_COMPRESSION)
+                .setTableFormatConfig(new BlockBasedTableConfig().setBlockCache(blockCache));
+        resources.add(familyOptions);
+        DBOptions options = new DBOptions()
+                .setCreateIfMissing(true)
+                .setCreateMissingColumnFamilies(true);
+        resources.add(options);
+        writeOptions = new WriteOptions();
+        resources.add(writeOptions);
+
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        RocksDB opened = RocksDB.open(options, path.toString(), List.of(
+                new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, familyOptions),
+                new ColumnFamilyDescriptor(RESTAURANTS, familyOptions),
+                new ColumnFamilyDescriptor(MENUS, familyOptions)), handles);
+        // Handles are closed before the database, and the database before its options
+        resources.add(0, opened);
+        for (ColumnFamilyHandle handle : handles) {
+            resources.add(0, handle);
+        }
+        restaurants = handles.get(1);
+        menus = handles.get(2);
+        db = opened;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        db = null;
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.debug("Failed to close local catalogue resource: {}", e.getMessage());
+            }
+        }
+        resources.clear();
+    }
+
+    /**
+     * A stored value with the version it was loaded at.
+     */
+    public record Entry(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,77 @@
+package org.codewithzea.restaurantservice.catalogue;
+
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.event.MenuEvent;
+import org.codewithzea.restaurantservice.event.MenuImportedEvent;
+import org.codewithzea.restaurantservice.event.RestaurantEvent;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Writes committed changes made on this node into the {@link CatalogueStore}.
+ * <p>
+ * Changes made on other nodes are not pushed here; they reach this node's store when a read sees
+ * a newer menu version, or on the next write to the restaurant. Menus are reloaded off the
+ * request thread because an edit to one item still means rewriting the whole menu.
+ */
+@Component
+public class CatalogueSynchronizer {
+    private static final Logger log = LoggerFactory.getLogger(CatalogueSynchronizer.class);
+
+    private final CatalogueStore catalogueStore;
+    private final RestaurantService restaurantService;
+    private final MenuItemCacheService menuItemCacheService;
+    private final ResourceVersions resourceVersions;
+
+    public CatalogueSynchronizer(CatalogueStore catalogueStore,
+                                 RestaurantService restaurantService,
+                                 MenuItemCacheService menuItemCacheService,
+                                 ResourceVersions resourceVersions) {
+        this.catalogueStore = catalogueStore;
+        this.restaurantService = restaurantService;
+        this.menuItemCacheService = menuItemCacheService;
+        this.resourceVersions = resourceVersions;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantEvent(RestaurantEvent event) {
+        try {
+            if (event.getEventType() == RestaurantEvent.EventType.DELETED) {
+                catalogueStore.delete(event.getRestaurantId());
+            } else {
+                catalogueStore.putRestaurant(restaurantService.mapToSummary(event.getRestaurant()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not update local catalogue for restaurant {}: {}", event.getRestaurantId(), e.getMessage());
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuEvent(MenuEvent event) {
+        refreshMenu(event.getRestaurantId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuImported(MenuImportedEvent event) {
+        refreshMenu(event.getRestaurantId());
+    }
+
+    private void refreshMenu(UUID restaurantId) {
+        try {
+            // Read before the menu so the stored copy is never labelled with a newer version than it holds
+            long version = resourceVersions.menuVersion(restaurantId);
+            catalogueStore.putMenu(restaurantId, version, menuItemCacheService.loadMenuItems(restaurantId));
+        } catch (RuntimeException e) {
+            log.warn("Could not update local catalogue menu of restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.codewithzea.restaurantservice.changelog;
+
+import org.codewithzea.restaurantservice.model.MenuChangeType;
+import org.codewithzea.restaurantservice.repository.MenuChangeRepository;
+import org.codewithzea.restaurantservice.repository.MenuSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the menu change log small.
+ * <p>
+ * A change superseded by a later one for the same item is always safe to drop. Deletions are kept
+ * for the retention period; dropping them raises the restaurant's floor version in the same
+ * transaction, and clients that last synced below it get the full menu instead.
+ */
+@Component
+public class MenuChangeCompactor {
+    private static final Logger log = LoggerFactory.getLogger(MenuChangeCompactor.class);
+
+    // Arbitrary, but shared by every node
+    static final long LOCK_KEY = 0x6d656e75L;
+
+    private final MenuChangeRepository menuChangeRepository;
+    private final MenuSequenceRepository menuSequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    public MenuChangeCompactor(MenuChangeRepository menuChangeRepository,
+                               MenuSequenceRepository menuSequenceRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${restaurant.menu.changes.retention:7d}") Duration retention) {
+        this.menuChangeRepository = menuChangeRepository;
+        this.menuSequenceRepository = menuSequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.menu.changes.compaction-interval:PT1H}",
+            initialDelayString = "${restaurant.menu.changes.compaction-interval:PT1H}")
+    public void compact() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // One node at a time; the others skip this run
+                if (!menuChangeRepository.tryAdvisoryLock(LOCK_KEY)) {
+                    return;
+                }
+                LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+                int superseded = menuChangeRepository.deleteSuperseded();
+                menuSequenceRepository.raiseFloors(MenuChangeType.DELETED, cutoff);
+                int expired = menuChangeRepository.deleteOlderThan(MenuChangeType.DELETED, cutoff);
+                int orphaned = menuChangeRepository.deleteOrphans();
+                menuSequenceRepository.deleteOrphans();
+                log.info("Compacted menu change log: {} superseded, {} expired deletions, {} of deleted restaurants",
+                        superseded, expired, orphaned);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Menu change log compaction failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.codewithzea.restaurantservice.changelog;
+
+import org.codewithzea.restaurantservice.dto.response.MenuChangesResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuItemChange;
+import org.codewithzea.restaurantservice.exception.RestaurantNotFoundException;
+import org.codewithzea.restaurantservice.model.MenuChange;
+import org.codewithzea.restaurantservice.model.MenuChangeType;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.MenuSequence;
+import org.codewithzea.restaurantservice.repository.MenuChangeRepository;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.codewithzea.restaurantservice.repository.MenuSequenceRepository;
+import org.codewithzea.restaurantservice.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-restaurant menu versions and the item-level changes behind them, so clients can sync a menu
+ * incrementally instead of downloading it again.
+ * <p>
+ * Every menu write takes the next version from {@code menu_sequence} and stores one row per item
+ * it touched, in the writer's transaction. The sequence row stays locked until commit, so a reader
+ * never sees version {@code n} before the changes of every version below it. This version counts
+ * changes; the Redis-held version behind the menu ETag is a timestamp, so the controller returns
+ * that ETag alongside, read before the changes, and the two can be used together.
+ */
+@Component
+public class MenuChangeLog {
+    private static final Logger log = LoggerFactory.getLogger(MenuChangeLog.class);
+
+    private final MenuChangeRepository menuChangeRepository;
+    private final MenuSequenceRepository menuSequenceRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+
+    public MenuChangeLog(MenuChangeRepository menuChangeRepository,
+                         MenuSequenceRepository menuSequenceRepository,
+                         MenuItemRepository menuItemRepository,
+                         RestaurantRepository restaurantRepository) {
+        this.menuChangeRepository = menuChangeRepository;
+        this.menuSequenceRepository = menuSequenceRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    /**
+     * Records created or updated items under one new version, which is returned.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordUpserts(UUID restaurantId, MenuChangeType type, List<MenuItem> menuItems) {
+        long version = menuSequenceRepository.nextVersion(restaurantId);
+        menuChangeRepository.saveAll(menuItems.stream()
+                .map(item -> MenuChange.builder()
+                        .restaurantId(restaurantId)
+                        .version(version)
+                        .menuItemId(item.getId())
+                        .changeType(type)
+                        .name(item.getName())
+                        .description(item.getDescription())
+                        .price(item.getPrice())
+                        .categoryName(item.getCategory() != null ? item.getCategory().getName() : null)
+                        .build())
+                .toList());
+        log.debug("Recorded {} menu item changes as version {}", menuItems.size(), version);
+        return version;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordDeleted(UUID restaurantId, UUID menuItemId) {
+        long version = menuSequenceRepository.nextVersion(restaurantId);
+        menuChangeRepository.save(MenuChange.builder()
+                .restaurantId(restaurantId)
+                .version(version)
+                .menuItemId(menuItemId)
+                .changeType(MenuChangeType.DELETED)
+                .build());
+        log.debug("Recorded deletion of menu item {} as version {}", menuItemId, version);
+        return version;
+    }
+
+    /**
+     * Returns the latest change of each item changed after {@code since}, in version order.
+     * <p>
+     * Falls back to the whole menu when {@code since} is 0, older than the compacted deletions, or
+     * newer than the current version. Repeatable read keeps the version, the changes and the menu
+     * in one snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public MenuChangesResponse changesSince(UUID restaurantId, long since) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RestaurantNotFoundException(restaurantId);
+        }
+        MenuSequence sequence = menuSequenceRepository.findById(restaurantId)
+                .orElseGet(() -> new MenuSequence(restaurantId, 0, 0));
+        long version = sequence.getVersion();
+
+        if (since <= 0 || since < sequence.getFloorVersion() || since > version) {
+            // Bypasses the query cache so the menu matches the version read above
+            List<MenuItemChange> menu = menuItemRepository.findByRestaurantIdInWithCategories(List.of(restaurantId))
+                    .stream()
+                    .map(item -> new MenuItemChange(version, MenuChangeType.CREATED, item.getId().toString(),
+                            item.getName(), item.getDescription(), item.getPrice(),
+                            item.getCategory() != null ? item.getCategory().getName() : null))
+                    .toList();
+            log.debug("Menu changes since {} unavailable, returning {} items", since, menu.size());
+            return new MenuChangesResponse(restaurantId.toString(), since, version, null, true, menu);
+        }
+
+        // Rows not yet compacted may repeat an item; only its last change is sent
+        Map<UUID, MenuItemChange> latest = new LinkedHashMap<>();
+        for (MenuChange change : menuChangeRepository
+                .findByRestaurantIdAndVersionGreaterThanOrderByVersionAscIdAsc(restaurantId, since)) {
+            latest.remove(change.getMenuItemId());
+            latest.put(change.getMenuItemId(), toItemChange(change));
+        }
+        return new MenuChangesResponse(restaurantId.toString(), since, version, null, false,
+                new ArrayList<>(latest.values()));
+    }
+
+    private MenuItemChange toItemChange(MenuChange change) {
+        return new MenuItemChange(change.getVersion(), change.getChangeType(), change.getMenuItemId().toString(),
+                change.getName(), change.getDescription(), change.getPrice(), change.getCategoryName());
+    }
+}
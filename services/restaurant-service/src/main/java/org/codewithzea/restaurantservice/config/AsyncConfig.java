@@ -0,0 +1,96 @@
+package org.codewithzea.restaurantservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs {@code @Async} service calls on Spring Boot's {@code applicationTaskExecutor}.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on Java 21 or later, Boot backs that executor
+ * and Tomcat's request threads with virtual threads. This service still builds on Java 17, where
+ * the flag is ignored: the executor is a bounded platform pool sized by
+ * {@code spring.task.execution.pool.*}, and Hikari's {@code connection-timeout} is the only wait
+ * for a connection. Every executor here carries MDC and the
+ * {@code SecurityContext} over to its tasks and times them; {@code spring.task.execution.mode=force}
+ * keeps Boot's executor in place next to the ones declared below.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    public static final String BATCH_UPDATE_EXECUTOR = "batchUpdateExecutor";
+    public static final String CACHE_WRITE_BACK_EXECUTOR = "cacheWriteBackExecutor";
+
+    @Bean
+    public TaskDecorator applicationTaskDecorator(
+            MeterRegistry meterRegistry,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            log.warn("Virtual threads requested but running on Java {}; using platform threads",
+                    Runtime.version().feature());
+        } else {
+            log.info("Blocking work runs on {} threads", virtualThreads ? "virtual" : "platform");
+        }
+        return decorator(meterRegistry, "applicationTaskExecutor");
+    }
+
+    /**
+     * Fans out the updates of a batch. The pool size caps how many run at once, well below the
+     * connection pool; once the queue is full the submitting thread runs the update itself.
+     */
+    @Bean(name = BATCH_UPDATE_EXECUTOR)
+    public ThreadPoolTaskExecutor batchUpdateExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${restaurant.batch.concurrency:4}") int concurrency,
+            @Value("${restaurant.batch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("restaurant-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(decorator(meterRegistry, BATCH_UPDATE_EXECUTOR));
+        return executor;
+    }
+
+    /**
+     * Writes looked-up entries back to the cache off the request thread. It has its own small pool
+     * so write-backs never queue ahead of batch updates; when it falls behind, further write-backs
+     * are dropped, as the next miss loads and caches the entry again.
+     */
+    @Bean(name = CACHE_WRITE_BACK_EXECUTOR)
+    public ThreadPoolTaskExecutor cacheWriteBackExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${restaurant.cache.write-back.concurrency:1}") int concurrency,
+            @Value("${restaurant.cache.write-back.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("restaurant-cache-write-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setTaskDecorator(decorator(meterRegistry, CACHE_WRITE_BACK_EXECUTOR));
+        return executor;
+    }
+
+    private static TaskDecorator decorator(MeterRegistry meterRegistry, String executorName) {
+        // Timing wraps the context switch so the measured run includes restoring the worker's context
+        return new CompositeTaskDecorator(List.of(
+                new ContextPropagatingTaskDecorator(),
+                new TaskTimingDecorator(meterRegistry, executorName)));
+    }
+}
@@ -0,0 +1,38 @@
+package org.codewithzea.restaurantservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the compressed form of hot responses, e.g. menus, so that serving the same body again
+ * costs a byte comparison instead of a deflate. Entries are keyed by request and only used when
+ * the freshly rendered body is byte-for-byte identical to the one that was compressed, so a
+ * changed menu can never be served from a stale entry.
+ */
+public class CompressedResponseCache {
+
+    private record Entry(byte[] body, byte[] compressed) {}
+
+    private final Cache<String, Entry> entries;
+
+    public CompressedResponseCache(long maximumBytes) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, Entry entry) -> entry.body().length + entry.compressed().length)
+                .build();
+    }
+
+    public byte[] get(String key, byte[] body, int length) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || !Arrays.equals(entry.body(), 0, entry.body().length, body, 0, length)) {
+            return null;
+        }
+        return entry.compressed();
+    }
+
+    public void put(String key, byte[] body, int length, byte[] compressed) {
+        entries.put(key, new Entry(Arrays.copyOf(body, length), compressed));
+    }
+}
@@ -0,0 +1,65 @@
+package org.codewithzea.restaurantservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Counts conditional reads per resource as {@code http.conditional.get} tagged with
+ * {@code outcome=not_modified|full}, and exposes the share answered with 304 as
+ * {@code http.conditional.get.not.modified.ratio}.
+ */
+@Component
+public class ConditionalGetMetrics {
+    public static final String RESTAURANT = "restaurant";
+    public static final String MENU = "menu";
+
+    private final Map<String, Outcomes> outcomes;
+
+    public ConditionalGetMetrics(MeterRegistry meterRegistry) {
+        this.outcomes = Stream.of(RESTAURANT, MENU)
+                .collect(Collectors.toUnmodifiableMap(Function.identity(),
+                        resource -> new Outcomes(meterRegistry, resource)));
+    }
+
+    public void notModified(String resource) {
+        outcomes.get(resource).notModified.increment();
+    }
+
+    public void full(String resource) {
+        outcomes.get(resource).full.increment();
+    }
+
+    private static final class Outcomes {
+        private final Counter notModified;
+        private final Counter full;
+
+        Outcomes(MeterRegistry meterRegistry, String resource) {
+            this.notModified = counter(meterRegistry, resource, "not_modified");
+            this.full = counter(meterRegistry, resource, "full");
+            Gauge.builder("http.conditional.get.not.modified.ratio", this, Outcomes::ratio)
+                    .description("Share of reads answered with 304 Not Modified")
+                    .tag("resource", resource)
+                    .register(meterRegistry);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String resource, String outcome) {
+            return Counter.builder("http.conditional.get")
+                    .description("Reads of a resource that supports conditional requests")
+                    .tag("resource", resource)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private double ratio() {
+            double total = notModified.count() + full.count();
+            return total == 0 ? 0 : notModified.count() / total;
+        }
+    }
+}
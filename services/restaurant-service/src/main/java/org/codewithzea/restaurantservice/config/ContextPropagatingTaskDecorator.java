@@ -0,0 +1,44 @@
+package org.codewithzea.restaurantservice.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Carries the caller's MDC and {@link SecurityContext} over to the thread that runs the task,
+ * and puts back whatever that thread held before, so pooled threads do not leak one request's
+ * context into the next.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable task) {
+        Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+        SecurityContext callerSecurityContext = SecurityContextHolder.getContext();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            setMdc(callerMdc);
+            SecurityContextHolder.setContext(callerSecurityContext);
+            try {
+                task.run();
+            } finally {
+                setMdc(previousMdc);
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
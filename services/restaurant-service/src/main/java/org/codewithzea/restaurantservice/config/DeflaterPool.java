@@ -0,0 +1,36 @@
+package org.codewithzea.restaurantservice.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Reuses raw (nowrap) {@link Deflater}s so each compressed response does not allocate and
+ * initialise a fresh zlib stream with its ~256KB of native buffers.
+ */
+public class DeflaterPool {
+
+    private final int level;
+    private final BlockingQueue<Deflater> idle;
+
+    /**
+     * @param level   zlib level, 1 (fastest) to 9 (smallest), or -1 for the zlib default
+     * @param maxIdle deflaters kept for reuse; 0 disables pooling
+     */
+    public DeflaterPool(int level, int maxIdle) {
+        this.level = level;
+        this.idle = maxIdle > 0 ? new ArrayBlockingQueue<>(maxIdle) : null;
+    }
+
+    public Deflater borrow() {
+        Deflater deflater = idle != null ? idle.poll() : null;
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (idle == null || !idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.codewithzea.restaurantservice.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mirrors the readiness state into the Eureka instance status.
+ * <p>
+ * The instance registers as {@code STARTING} and only turns {@code UP} once Boot reports it ready,
+ * which is after the cache warm-up. The Eureka health check would get there on its own, but only
+ * on the next replication tick.
+ */
+@Component
+public class EurekaReadinessListener {
+    private static final Logger log = LoggerFactory.getLogger(EurekaReadinessListener.class);
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    public EurekaReadinessListener(ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.applicationInfoManager = applicationInfoManager;
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        InstanceStatus status = event.getState() == ReadinessState.ACCEPTING_TRAFFIC
+                ? InstanceStatus.UP
+                : InstanceStatus.OUT_OF_SERVICE;
+        applicationInfoManager.ifAvailable(manager -> {
+            log.info("Readiness is {}, setting Eureka status to {}", event.getState(), status);
+            manager.setInstanceStatus(status);
+        });
+    }
+}
@@ -1,18 +1,56 @@
 package org.codewithzea.restaurantservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
 
 @Configuration
 public class GZipFilterConfig {
+
+    @Value("${restaurant.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${restaurant.compression.min-response-size:2KB}")
+    private DataSize minResponseSize;
+
+    // 1-9; level 5 is close to the default 6 in size at noticeably less CPU for JSON
+    @Value("${restaurant.compression.level:5}")
+    private int level;
+
+    @Value("${restaurant.compression.pool-size:32}")
+    private int poolSize;
+
+    @Value("${restaurant.compression.mime-types:application/json,application/*+json,application/x-ndjson,text/plain,text/csv}")
+    private List<MediaType> mimeTypes;
+
+    @Value("${restaurant.compression.cache.paths:/api/restaurants/*}")
+    private List<String> cacheablePaths;
+
+    @Value("${restaurant.compression.cache.max-entry-size:256KB}")
+    private DataSize maxCachedResponseSize;
+
+    @Value("${restaurant.compression.cache.max-size:32MB}")
+    private DataSize cacheSize;
+
     @Bean
     public FilterRegistrationBean<GZipServletFilter> gzipFilterRegistration() {
         FilterRegistrationBean<GZipServletFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new GZipServletFilter());
+        registration.setFilter(new GZipServletFilter(
+                new DeflaterPool(level, poolSize),
+                (int) minResponseSize.toBytes(),
+                mimeTypes,
+                new CompressedResponseCache(cacheSize.toBytes()),
+                cacheablePaths,
+                (int) maxCachedResponseSize.toBytes()));
         registration.addUrlPatterns("/*");
         registration.setName("gzipFilter");
         registration.setOrder(1);
+        registration.setEnabled(enabled);
         return registration;
     }
 }
@@ -4,30 +4,141 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
 
 import java.io.IOException;
-import java.util.zip.GZIPOutputStream;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Compresses responses with gzip when the client accepts it and the body is large enough to
+ * benefit; see {@link GZipServletResponseWrapper} for how the decision is made.
+ * <p>
+ * Only gzip is negotiated: brotli and zstd need native codecs that are not on the classpath.
+ */
 public class GZipServletFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final DeflaterPool deflaterPool;
+    private final int minResponseSize;
+    private final List<MediaType> compressibleTypes;
+    private final CompressedResponseCache responseCache;
+    private final List<String> cacheablePaths;
+    private final int maxCachedResponseSize;
+
+    public GZipServletFilter(DeflaterPool deflaterPool,
+                             int minResponseSize,
+                             List<MediaType> compressibleTypes,
+                             CompressedResponseCache responseCache,
+                             List<String> cacheablePaths,
+                             int maxCachedResponseSize) {
+        this.deflaterPool = deflaterPool;
+        this.minResponseSize = minResponseSize;
+        this.compressibleTypes = List.copyOf(compressibleTypes);
+        this.responseCache = responseCache;
+        this.cacheablePaths = List.copyOf(cacheablePaths);
+        this.maxCachedResponseSize = maxCachedResponseSize;
+    }
+
+    // Async handlers (CompletableFuture results) write their body on a later dispatch
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        String acceptEncoding = request.getHeader("Accept-Encoding");
+        GZipServletResponseWrapper gzipResponse =
+                WebUtils.getNativeResponse(response, GZipServletResponseWrapper.class);
+        if (gzipResponse == null) {
+            if ("HEAD".equals(request.getMethod()) || request.getHeader(HttpHeaders.RANGE) != null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            String cacheKey = cacheKey(request);
+            gzipResponse = new GZipServletResponseWrapper(response, deflaterPool, minResponseSize,
+                    cacheKey != null ? maxCachedResponseSize : minResponseSize,
+                    this::isCompressible, responseCache, cacheKey);
+        }
 
-        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
-            response.setHeader("Content-Encoding", "gzip");
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, gzipResponse);
+            completed = true;
+        } finally {
+            if (!isAsyncStarted(request)) {
+                if (completed) {
+                    gzipResponse.finish();
+                }
+                gzipResponse.release();
+            }
+        }
+    }
 
-            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(response.getOutputStream())) {
-                GZipServletResponseWrapper gzipResponse = new GZipServletResponseWrapper(response, gzipOutputStream);
-                filterChain.doFilter(request, gzipResponse);
-                gzipResponse.finish();
+    /**
+     * True when the Accept-Encoding header allows gzip, honouring {@code q=0} and {@code *}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = parts.length < 2 || !isZeroQuality(parts[1]);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
             }
-        } else {
-            filterChain.doFilter(request, response);
         }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String trimmed = parameter.trim();
+        if (!trimmed.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(trimmed.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return compressibleTypes.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private String cacheKey(HttpServletRequest request) {
+        if (responseCache == null || !"GET".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI();
+        if (cacheablePaths.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path))) {
+            return null;
+        }
+        return request.getQueryString() != null ? path + "?" + request.getQueryString() : path;
     }
 }
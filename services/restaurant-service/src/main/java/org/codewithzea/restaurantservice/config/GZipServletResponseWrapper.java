@@ -1,82 +1,261 @@
 package org.codewithzea.restaurantservice.config;
 
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.util.zip.GZIPOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.function.Predicate;
 
+/**
+ * Holds back the start of the body until it is known whether compressing it pays off.
+ * <p>
+ * Up to {@code bufferLimit} bytes are buffered. A body that ends below {@code minResponseSize}
+ * (errors, empty 204s, small lookups) is sent as is with a Content-Length. A body that outgrows
+ * the buffer is streamed through a pooled gzip stream. A body that fits the buffer and has a
+ * {@code cacheKey} is compressed in one go and its compressed form is kept in the
+ * {@link CompressedResponseCache} for the next identical response.
+ */
 public class GZipServletResponseWrapper extends HttpServletResponseWrapper {
-    private final GZIPOutputStream gzipOutputStream;
+
+    private final DeflaterPool deflaterPool;
+    private final int minResponseSize;
+    private final int bufferLimit;
+    private final Predicate<String> compressibleType;
+    private final CompressedResponseCache responseCache;
+    private final String cacheKey;
+
+    private final Buffer buffer = new Buffer();
+    private final ServletOutputStream outputStream = new CompressingServletOutputStream();
+    private OutputStream target;
+    private PooledGzipOutputStream gzipOutputStream;
     private PrintWriter writer;
+    private long contentLength = -1;
+    private boolean finished;
 
-    public GZipServletResponseWrapper(HttpServletResponse response, GZIPOutputStream gzipOutputStream) {
+    public GZipServletResponseWrapper(HttpServletResponse response,
+                                      DeflaterPool deflaterPool,
+                                      int minResponseSize,
+                                      int bufferLimit,
+                                      Predicate<String> compressibleType,
+                                      CompressedResponseCache responseCache,
+                                      String cacheKey) {
         super(response);
-        this.gzipOutputStream = gzipOutputStream;
+        this.deflaterPool = deflaterPool;
+        this.minResponseSize = minResponseSize;
+        this.bufferLimit = Math.max(bufferLimit, minResponseSize);
+        this.compressibleType = compressibleType;
+        this.responseCache = responseCache;
+        this.cacheKey = cacheKey;
     }
 
     @Override
     public ServletOutputStream getOutputStream() {
-        return new GZipServletOutputStream(gzipOutputStream);
+        return outputStream;
     }
 
     @Override
-    public PrintWriter getWriter() throws IOException {
+    public PrintWriter getWriter() throws UnsupportedEncodingException {
         if (writer == null) {
-            writer = new PrintWriter(new OutputStreamWriter(new GZIPOutputStream(gzipOutputStream), getCharacterEncoding()));
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
         }
         return writer;
     }
 
+    @Override
+    public void setContentLength(int len) {
+        this.contentLength = len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        this.contentLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            contentLength = value != null ? Long.parseLong(value) : -1;
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            contentLength = Long.parseLong(value);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            contentLength = value;
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
     @Override
     public void flushBuffer() throws IOException {
         if (writer != null) {
             writer.flush();
         }
-        gzipOutputStream.flush();
+        // Flushing while still buffering would force the compression decision too early
+        if (target != null) {
+            target.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        buffer.reset();
+        super.resetBuffer();
     }
 
+    @Override
+    public void reset() {
+        buffer.reset();
+        contentLength = -1;
+        super.reset();
+    }
+
+    /**
+     * Writes out whatever is still buffered and completes the compressed stream.
+     */
     public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
         if (writer != null) {
-            writer.close();
+            writer.flush();
+        }
+        finished = true;
+        if (target != null) {
+            if (gzipOutputStream != null) {
+                gzipOutputStream.finish();
+            }
+            getResponse().getOutputStream().flush();
+            return;
+        }
+
+        int size = buffer.size();
+        if (size == 0) {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            return;
+        }
+        if (size < minResponseSize || !shouldCompress()) {
+            super.setContentLength(size);
+            getResponse().getOutputStream().write(buffer.array(), 0, size);
+            return;
         }
-        gzipOutputStream.finish();
+
+        byte[] compressed = cacheKey != null ? responseCache.get(cacheKey, buffer.array(), size) : null;
+        if (compressed == null) {
+            Buffer out = new Buffer();
+            try (PooledGzipOutputStream gzip = new PooledGzipOutputStream(out, deflaterPool)) {
+                gzip.write(buffer.array(), 0, size);
+            }
+            compressed = out.toByteArray();
+            if (cacheKey != null) {
+                responseCache.put(cacheKey, buffer.array(), size, compressed);
+            }
+        }
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        super.setContentLength(compressed.length);
+        getResponse().getOutputStream().write(compressed);
     }
 
-    private static class GZipServletOutputStream extends ServletOutputStream {
-        private final GZIPOutputStream gzipOutputStream;
+    /**
+     * Gives the pooled deflater back if the request ended without {@link #finish()}.
+     */
+    public void release() {
+        if (gzipOutputStream != null) {
+            gzipOutputStream.release();
+        }
+    }
 
-        public GZipServletOutputStream(GZIPOutputStream gzipOutputStream) {
-            this.gzipOutputStream = gzipOutputStream;
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Response already finished");
+        }
+        if (target == null) {
+            if (buffer.size() + len <= bufferLimit) {
+                buffer.write(b, off, len);
+                return;
+            }
+            startStreaming();
         }
+        target.write(b, off, len);
+    }
 
-        @Override
-        public void write(int b) throws IOException {
-            gzipOutputStream.write(b);
+    private void startStreaming() throws IOException {
+        OutputStream out = getResponse().getOutputStream();
+        if (shouldCompress()) {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            gzipOutputStream = new PooledGzipOutputStream(out, deflaterPool);
+            target = gzipOutputStream;
+        } else {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            target = out;
+        }
+        target.write(buffer.array(), 0, buffer.size());
+        buffer.reset();
+    }
+
+    private boolean shouldCompress() {
+        return getStatus() != SC_PARTIAL_CONTENT
+                && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && getContentType() != null
+                && compressibleType.test(getContentType());
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+        Buffer() {
+            super(1024);
+        }
+
+        byte[] array() {
+            return buf;
         }
+    }
+
+    private final class CompressingServletOutputStream extends ServletOutputStream {
 
         @Override
-        public void write(byte @NotNull [] b) throws IOException {
-            gzipOutputStream.write(b);
+        public void write(int b) throws IOException {
+            GZipServletResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
         }
 
         @Override
-        public void write(byte @NotNull []  b, int off, int len) throws IOException {
-            gzipOutputStream.write(b, off, len);
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            GZipServletResponseWrapper.this.write(b, off, len);
         }
 
         @Override
         public void flush() throws IOException {
-            gzipOutputStream.flush();
+            flushBuffer();
         }
 
         @Override
         public void close() throws IOException {
-            gzipOutputStream.close();
+            finish();
         }
 
         @Override
@@ -85,7 +264,7 @@ public class GZipServletResponseWrapper extends HttpServletResponseWrapper {
         }
 
         @Override
-        public void setWriteListener(jakarta.servlet.WriteListener writeListener) {
+        public void setWriteListener(WriteListener writeListener) {
             throw new UnsupportedOperationException();
         }
     }
@@ -0,0 +1,23 @@
+package org.codewithzea.restaurantservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${spring.kafka.topic.restaurant-events:restaurant-events}")
+    private String restaurantEventsTopic;
+
+    // Events are keyed by restaurant id, so partitions bound how many consumers share the load
+    @Bean
+    public NewTopic restaurantEventsTopic() {
+        return TopicBuilder.name(restaurantEventsTopic)
+                .partitions(6)
+                .replicas(1)
+                .build();
+    }
+}
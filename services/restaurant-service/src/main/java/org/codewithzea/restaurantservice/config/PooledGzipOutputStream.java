@@ -0,0 +1,70 @@
+package org.codewithzea.restaurantservice.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * GZIP stream over a deflater borrowed from a {@link DeflaterPool}; the deflater goes back to the
+ * pool as soon as the stream is finished or abandoned. {@link #flush()} performs a sync flush so
+ * streamed responses reach the client as they are written.
+ */
+class PooledGzipOutputStream extends DeflaterOutputStream {
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final DeflaterPool deflaterPool;
+    private final CRC32 crc = new CRC32();
+    private boolean released;
+
+    PooledGzipOutputStream(OutputStream out, DeflaterPool deflaterPool) throws IOException {
+        super(out, deflaterPool.borrow(), 8192, true);
+        this.deflaterPool = deflaterPool;
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (released) {
+            throw new IOException("Write after end of compressed stream");
+        }
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (released) {
+            out.flush();
+        } else {
+            super.flush();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (released) {
+            return;
+        }
+        try {
+            super.finish();
+            long size = def.getBytesRead();
+            out.write(new byte[]{
+                    (byte) crc.getValue(), (byte) (crc.getValue() >> 8),
+                    (byte) (crc.getValue() >> 16), (byte) (crc.getValue() >> 24),
+                    (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)});
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Returns the deflater to the pool without completing the stream, e.g. after a failed request.
+     */
+    void release() {
+        if (!released) {
+            released = true;
+            deflaterPool.release(def);
+        }
+    }
+}
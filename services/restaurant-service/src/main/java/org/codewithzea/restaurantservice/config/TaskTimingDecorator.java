@@ -0,0 +1,47 @@
+package org.codewithzea.restaurantservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long tasks of one executor wait before they start ({@code executor.task.wait}) and
+ * how long they run ({@code executor.task.duration}), both tagged with the executor name. Queue
+ * depth and active threads come from Spring Boot's executor metrics.
+ */
+public class TaskTimingDecorator implements TaskDecorator {
+
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+
+    public TaskTimingDecorator(MeterRegistry meterRegistry, String executorName) {
+        this.waitTimer = Timer.builder("executor.task.wait")
+                .description("Time tasks spend queued before a thread picks them up")
+                .tag("name", executorName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("executor.task.duration")
+                .description("Time tasks spend running")
+                .tag("name", executorName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                durationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package org.codewithzea.restaurantservice.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Answers conditional GETs before the body is loaded. Spring only evaluates the validators of a
+ * ResponseEntity once its body exists, which is exactly the work a 304 should save.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * If-None-Match wins over If-Modified-Since, as in RFC 9110.
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, String etag, long lastModified) {
+        if (requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            for (String candidate : requestHeaders.getIfNoneMatch()) {
+                String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * The entity versions an If-Match header accepts, or null without a header or for {@code *}.
+     * A tag is the quoted {@code version} of the response body, e.g. {@code "3"}.
+     */
+    static Set<Long> acceptedVersions(HttpHeaders requestHeaders) {
+        return acceptedVersions(requestHeaders, tag -> null);
+    }
+
+    /**
+     * As {@link #acceptedVersions(HttpHeaders)}, also accepting tags that {@code resolve} maps to a
+     * version, such as the ETag a GET returned. Every listed tag counts; weak and unknown tags never
+     * match, so the set can be empty.
+     */
+    static Set<Long> acceptedVersions(HttpHeaders requestHeaders, Function<String, Long> resolve) {
+        List<String> tags = requestHeaders.getIfMatch();
+        if (tags.isEmpty() || tags.contains("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : tags) {
+            if (tag.length() <= 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                Long version = resolve.apply(tag);
+                if (version != null) {
+                    versions.add(version);
+                }
+            }
+        }
+        return versions;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, long lastModified) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .build();
+    }
+}
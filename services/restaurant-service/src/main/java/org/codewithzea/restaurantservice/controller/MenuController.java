@@ -6,18 +6,36 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.codewithzea.restaurantservice.cache.AccessTracker;
 import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.cache.MenuSnapshot;
+import org.codewithzea.restaurantservice.cache.MenuSnapshotCache;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.changelog.MenuChangeLog;
+import org.codewithzea.restaurantservice.config.ConditionalGetMetrics;
+import org.codewithzea.restaurantservice.config.GZipServletFilter;
+import org.codewithzea.restaurantservice.dto.request.MenuImportRequest;
 import org.codewithzea.restaurantservice.dto.request.MenuItemRequest;
+import org.codewithzea.restaurantservice.dto.response.CursorPage;
+import org.codewithzea.restaurantservice.dto.response.MenuChangesResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuImportResponse;
 import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
 import org.codewithzea.restaurantservice.service.MenuService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @RestController
@@ -26,16 +44,24 @@ import java.util.UUID;
 @Tag(name = "Menu Items", description = "Manage restaurant menu items")
 public class MenuController {
     private static final Logger log = LoggerFactory.getLogger(MenuController.class);
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final MenuService menuService;
     private final MenuItemCacheService menuItemCacheService;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final ResourceVersions resourceVersions;
+    private final ConditionalGetMetrics conditionalGetMetrics;
+    private final AccessTracker accessTracker;
+    private final MenuChangeLog menuChangeLog;
 
     @Operation(summary = "Get all menu items for a restaurant")
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Timed(value = "menu.controller.time", description = "Time taken to get menu items")
-    public List<MenuItemResponse> getMenuItems(
+    public ResponseEntity<byte[]> getMenuItems(
             @PathVariable UUID restaurantId,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @RequestHeader HttpHeaders requestHeaders
     ) {
         MDC.put("restaurantId", restaurantId.toString());
         MDC.put("operation", "getMenuItems");
@@ -43,9 +69,27 @@ public class MenuController {
 
         try {
             log.info("Fetching menu items for restaurant");
-            List<MenuItemResponse> items = menuItemCacheService.getMenuItems(restaurantId);
-            log.debug("Found {} menu items for restaurant {}", items.size(), restaurantId);
-            return items;
+            accessTracker.record(restaurantId);
+            // The version is read before the snapshot so a 304 costs one Redis GET
+            long version = resourceVersions.menuVersion(restaurantId);
+            if (version != ResourceVersions.UNKNOWN
+                    && ConditionalRequests.isNotModified(requestHeaders, MenuSnapshot.etag(version), version)) {
+                conditionalGetMetrics.notModified(ConditionalGetMetrics.MENU);
+                return ConditionalRequests.notModified(MenuSnapshot.etag(version), version);
+            }
+            conditionalGetMetrics.full(ConditionalGetMetrics.MENU);
+
+            // Served from the pre-serialized snapshot; the gzip filter leaves pre-encoded bodies alone
+            MenuSnapshot snapshot = menuSnapshotCache.get(restaurantId, version);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (snapshot.version() != ResourceVersions.UNKNOWN) {
+                response.eTag(snapshot.etag()).lastModified(snapshot.version());
+            }
+            if (snapshot.gzipped() != null && GZipServletFilter.acceptsGzip(acceptEncoding)) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzipped());
+            }
+            return response.body(snapshot.json());
         } catch (Exception e) {
             log.error("Failed to fetch menu items: {}", e.getMessage(), e);
             throw e;
@@ -54,6 +98,60 @@ public class MenuController {
         }
     }
 
+    @Operation(summary = "Scroll through a restaurant's menu with a continuation cursor")
+    @GetMapping("/scroll")
+    @Timed(value = "menu.controller.time", description = "Time taken to scroll menu items")
+    public CursorPage<MenuItemResponse> scrollMenuItems(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("restaurantId", restaurantId.toString());
+        MDC.put("operation", "scrollMenuItems");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Scrolling menu items for restaurant");
+            return menuItemCacheService.scrollMenuItems(restaurantId, cursor,
+                    Math.max(1, Math.min(size, MAX_PAGE_SIZE)), includeTotal);
+        } catch (Exception e) {
+            log.error("Failed to scroll menu items: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(summary = "Get the menu item changes since a menu version, or the whole menu if they are unavailable")
+    @GetMapping("/changes")
+    @Timed(value = "menu.controller.time", description = "Time taken to get menu changes")
+    public MenuChangesResponse getMenuChanges(
+            @PathVariable UUID restaurantId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("restaurantId", restaurantId.toString());
+        MDC.put("operation", "getMenuChanges");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Fetching menu changes since version {}", since);
+            // Read before the changes, so the ETag is never newer than the menu they lead to
+            long menuVersion = resourceVersions.menuVersion(restaurantId);
+            MenuChangesResponse response = menuChangeLog.changesSince(restaurantId, since)
+                    .withEtag(MenuSnapshot.etag(menuVersion));
+            log.debug("Returning {} menu changes up to version {}", response.changes().size(), response.version());
+            return response;
+        } catch (Exception e) {
+            log.error("Failed to fetch menu changes: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
     @Operation(
             summary = "Add menu item to restaurant",
             security = @SecurityRequirement(name = "bearerAuth")
@@ -86,7 +184,68 @@ public class MenuController {
     }
 
     @Operation(
-            summary = "Update menu item",
+            summary = "Import menu items in bulk from JSON",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
+    @Timed(value = "menu.controller.time", description = "Time taken to import menu items")
+    public MenuImportResponse importMenu(
+            @PathVariable UUID restaurantId,
+            @RequestBody MenuImportRequest request,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("restaurantId", restaurantId.toString());
+        MDC.put("operation", "importMenu");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            // Validated by the service, which applies the same rules to CSV imports
+            log.info("Importing menu items from JSON");
+            MenuImportResponse response = menuService.importMenu(restaurantId, request);
+            log.info("Successfully imported {} menu items", response.importedCount());
+            return response;
+        } catch (Exception e) {
+            log.error("Failed to import menu items: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(
+            summary = "Import menu items in bulk from CSV with a name,description,price header",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
+    @Timed(value = "menu.controller.time", description = "Time taken to import menu items")
+    public MenuImportResponse importMenuCsv(
+            @PathVariable UUID restaurantId,
+            InputStream body,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) throws IOException {
+        MDC.put("restaurantId", restaurantId.toString());
+        MDC.put("operation", "importMenuCsv");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try (BufferedReader csv = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            log.info("Importing menu items from CSV");
+            MenuImportResponse response = menuService.importMenuCsv(restaurantId, csv);
+            log.info("Successfully imported {} menu items", response.importedCount());
+            return response;
+        } catch (Exception e) {
+            log.error("Failed to import menu items: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(
+            summary = "Update menu item; with If-Match: \"<version>\" only if it is still at a listed version",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PutMapping("/{itemId}")
@@ -96,7 +255,8 @@ public class MenuController {
             @PathVariable UUID restaurantId,
             @PathVariable UUID itemId,
             @Valid @RequestBody MenuItemRequest request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @RequestHeader HttpHeaders requestHeaders
     ) {
         MDC.put("restaurantId", restaurantId.toString());
         MDC.put("itemId", itemId.toString());
@@ -104,8 +264,9 @@ public class MenuController {
         if (requestId != null) MDC.put("requestId", requestId);
 
         try {
-            log.info("Updating menu item {} with data: {}", itemId, request);
-            MenuItemResponse response = menuService.updateMenuItem(restaurantId, itemId, request);
+            log.info("Updating menu item {}", itemId);
+            MenuItemResponse response = menuService.updateMenuItem(restaurantId, itemId, request,
+                    ConditionalRequests.acceptedVersions(requestHeaders));
             log.info("Successfully updated menu item {}", itemId);
             return response;
         } catch (Exception e) {
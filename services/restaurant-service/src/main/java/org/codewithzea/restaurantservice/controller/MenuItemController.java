@@ -0,0 +1,52 @@
+package org.codewithzea.restaurantservice.controller;
+
+import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.codewithzea.restaurantservice.dto.request.BatchLookupRequest;
+import org.codewithzea.restaurantservice.dto.response.BatchLookupResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.service.BatchLookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Menu item lookups that are not scoped to one restaurant, e.g. for resolving the items of an order.
+ */
+@RestController
+@RequestMapping("/api/menu-items")
+@RequiredArgsConstructor
+@Tag(name = "Menu Items", description = "Manage restaurant menu items")
+public class MenuItemController {
+    private static final Logger log = LoggerFactory.getLogger(MenuItemController.class);
+
+    private final BatchLookupService batchLookupService;
+
+    @Operation(summary = "Get many menu items by id in one request")
+    @PostMapping("/batch")
+    @Timed(value = "menu.controller.time", description = "Time taken to look up menu items in batch")
+    public BatchLookupResponse<MenuItemResponse> getMenuItemsBatch(
+            @Valid @RequestBody BatchLookupRequest request,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "getMenuItemsBatch");
+        MDC.put("batchSize", String.valueOf(request.ids().size()));
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Looking up {} menu items", request.ids().size());
+            BatchLookupResponse<MenuItemResponse> response = batchLookupService.getMenuItems(request.ids());
+            log.info("Found {} menu items, {} missing", response.results().size(), response.missing().size());
+            return response;
+        } catch (Exception e) {
+            log.error("Failed to look up menu items: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+}
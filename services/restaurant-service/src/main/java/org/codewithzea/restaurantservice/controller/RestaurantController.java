@@ -4,14 +4,32 @@ import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.codewithzea.restaurantservice.cache.AccessTracker;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.catalogue.CatalogueStore;
+import org.codewithzea.restaurantservice.config.ConditionalGetMetrics;
+import org.codewithzea.restaurantservice.dto.request.BatchLookupRequest;
+import org.codewithzea.restaurantservice.dto.request.RestaurantBatchUpdateRequest;
 import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
+import org.codewithzea.restaurantservice.dto.response.BatchLookupResponse;
+import org.codewithzea.restaurantservice.dto.response.CursorPage;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantNearbyResponse;
 import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSearchResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSummaryResponse;
 import org.codewithzea.restaurantservice.service.AsyncRestaurantService;
+import org.codewithzea.restaurantservice.service.BatchLookupService;
+import org.codewithzea.restaurantservice.service.RestaurantExportService;
 import org.codewithzea.restaurantservice.service.RestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -20,13 +38,18 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RateLimiter(name = "restaurantApi")
@@ -35,9 +58,18 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "Restaurants", description = "Restaurant management operations")
 public class RestaurantController {
     private static final Logger log = LoggerFactory.getLogger(RestaurantController.class);
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Pattern RESTAURANT_ETAG = Pattern.compile("\"r(\\d{1,18})\\.m\\d{1,18}\"");
 
     private final RestaurantService restaurantService;
     private final AsyncRestaurantService asyncRestaurantService;
+    private final RestaurantExportService restaurantExportService;
+    private final ResourceVersions resourceVersions;
+    private final ConditionalGetMetrics conditionalGetMetrics;
+    private final CatalogueStore catalogueStore;
+    private final AccessTracker accessTracker;
+    private final BatchLookupService batchLookupService;
 
     @Operation(summary = "Get paginated list of restaurants")
     @GetMapping
@@ -70,15 +102,143 @@ public class RestaurantController {
         }
     }
 
+    @Operation(summary = "Get paginated list of restaurants without embedded menus")
+    @GetMapping(params = "view=summary")
+    @ResponseBody
+    @Timed(value = "restaurant.controller.time", description = "Time taken to get restaurant summaries")
+    public Page<RestaurantSummaryResponse> getRestaurantSummaries(
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            @RequestParam(required = false) String search,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "getRestaurantSummaries");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Fetching restaurant summaries page {}, size {}", pageable.getPageNumber(), pageable.getPageSize());
+            return restaurantService.getRestaurantSummaries(pageable, search);
+        } catch (Exception e) {
+            log.error("Failed to fetch restaurant summaries: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(summary = "Scroll through restaurants by name with a continuation cursor")
+    @GetMapping("/scroll")
+    @Timed(value = "restaurant.controller.time", description = "Time taken to scroll restaurants")
+    public CursorPage<RestaurantResponse> scrollRestaurants(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "scrollRestaurants");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Scrolling restaurants with size {}", size);
+            return restaurantService.scrollRestaurants(cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)), includeTotal);
+        } catch (Exception e) {
+            log.error("Failed to scroll restaurants: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(summary = "Search restaurants by name, city and menu with relevance ranking")
+    @GetMapping("/search")
+    @Timed(value = "restaurant.controller.time", description = "Time taken to search restaurants")
+    public RestaurantSearchResponse searchRestaurants(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "searchRestaurants");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.debug("Searching restaurants with query: '{}'", query);
+            return restaurantService.searchRestaurants(query, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)), cursor);
+        } catch (Exception e) {
+            log.error("Failed to search restaurants: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(summary = "Find restaurants nearest a point, optionally within a radius in meters")
+    @GetMapping("/nearby")
+    @Timed(value = "restaurant.controller.time", description = "Time taken to find nearby restaurants")
+    public RestaurantNearbyResponse findNearbyRestaurants(
+            @RequestParam("lat")
+            @DecimalMin(value = "-90.0", message = "lat must be between -90 and 90")
+            @DecimalMax(value = "90.0", message = "lat must be between -90 and 90")
+            double latitude,
+            @RequestParam("lng")
+            @DecimalMin(value = "-180.0", message = "lng must be between -180 and 180")
+            @DecimalMax(value = "180.0", message = "lng must be between -180 and 180")
+            double longitude,
+            @RequestParam(value = "radius", required = false)
+            @Positive(message = "radius must be positive")
+            Double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "findNearbyRestaurants");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.debug("Finding restaurants near ({}, {})", latitude, longitude);
+            return restaurantService.findNearbyRestaurants(latitude, longitude, radiusMeters,
+                    Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)), cursor);
+        } catch (Exception e) {
+            log.error("Failed to find nearby restaurants: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(summary = "Stream all restaurants with their menus as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Timed(value = "restaurant.controller.time", description = "Time taken to export restaurants")
+    public void exportRestaurants(
+            HttpServletResponse response,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) throws IOException {
+        MDC.put("operation", "exportRestaurants");
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Exporting restaurant catalogue");
+            // Written straight to the response, which the gzip filter compresses when the client accepts it
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+            long exported = restaurantExportService.exportCatalogue(response.getOutputStream());
+            log.info("Exported {} restaurants", exported);
+        } catch (Exception e) {
+            log.error("Failed to export restaurants: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
     @Operation(summary = "Get restaurant by ID")
     @GetMapping("/{id}")
     @ResponseBody
-    @Cacheable(value = "restaurant", key = "#id")
     @Timed(value = "restaurant.controller.time", description = "Time taken to get restaurant by ID")
     @Retry(name = "restaurantApi", fallbackMethod = "getRestaurantFallback")
-    public CompletableFuture<RestaurantResponse> getRestaurantById(
+    public CompletableFuture<ResponseEntity<RestaurantResponse>> getRestaurantById(
             @PathVariable UUID id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @RequestHeader HttpHeaders requestHeaders
     ) {
         MDC.put("operation", "getRestaurantById");
         MDC.put("restaurantId", id.toString());
@@ -86,12 +246,28 @@ public class RestaurantController {
 
         try {
             log.info("Fetching restaurant by ID");
+            accessTracker.record(id);
+            // A client that already holds the current version is answered from Redis alone
+            ResourceVersions.RestaurantVersions versions = resourceVersions.restaurantVersions(id);
+            if (versions != null) {
+                String etag = restaurantETag(versions.updatedAt(), versions.menuVersion());
+                long lastModified = Math.max(versions.updatedAt(), versions.menuVersion());
+                if (ConditionalRequests.isNotModified(requestHeaders, etag, lastModified)) {
+                    conditionalGetMetrics.notModified(ConditionalGetMetrics.RESTAURANT);
+                    return CompletableFuture.completedFuture(ConditionalRequests.notModified(etag, lastModified));
+                }
+            }
+            conditionalGetMetrics.full(ConditionalGetMetrics.RESTAURANT);
+
+            // Taken before the body so the body is never labelled with a newer menu than it holds
+            long menuVersion = versions != null ? versions.menuVersion() : resourceVersions.menuVersion(id);
             return asyncRestaurantService.getRestaurantAsync(id)
+                    .thenApply(response -> withValidators(id, response, menuVersion))
                     .whenComplete((response, ex) -> {
                         if (ex != null) {
                             log.error("Async operation failed: {}", ex.getMessage());
                         } else {
-                            log.debug("Successfully retrieved restaurant: {}", response.name());
+                            log.debug("Successfully retrieved restaurant: {}", response.getBody().name());
                         }
                     });
         } catch (Exception e) {
@@ -109,7 +285,7 @@ public class RestaurantController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
-    @CacheEvict(value = {"restaurantsList", "restaurant"}, allEntries = true)
+    @CacheEvict(value = "restaurantsList", allEntries = true)
     @Timed(value = "restaurant.controller.time", description = "Time taken to create restaurant")
     public RestaurantResponse createRestaurant(
             @Valid @RequestBody RestaurantRequest request,
@@ -133,25 +309,27 @@ public class RestaurantController {
     }
 
     @Operation(
-            summary = "Update restaurant",
+            summary = "Update restaurant; with If-Match: \"<version>\" or the ETag of a GET, only if it is unchanged",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
-    @CacheEvict(value = {"restaurant", "restaurantsList"}, key = "#id")
+    @CacheEvict(value = "restaurantsList", key = "#id")
     @Timed(value = "restaurant.controller.time", description = "Time taken to update restaurant")
     public CompletableFuture<Void> updateRestaurant(
             @PathVariable UUID id,
             @Valid @RequestBody RestaurantRequest request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @RequestHeader HttpHeaders requestHeaders
     ) {
         MDC.put("operation", "updateRestaurant");
         MDC.put("restaurantId", id.toString());
         if (requestId != null) MDC.put("requestId", requestId);
 
         try {
-            log.info("Updating restaurant {} with data: {}", id, request);
-            return asyncRestaurantService.updateRestaurantAsync(id, request)
+            log.info("Updating restaurant {}", id);
+            return asyncRestaurantService.updateRestaurantAsync(id, request,
+                            ConditionalRequests.acceptedVersions(requestHeaders, tag -> resolveETag(id, tag)))
                     .whenComplete((result, ex) -> {
                         if (ex != null) {
                             log.error("Failed to update restaurant: {}", ex.getMessage());
@@ -167,11 +345,103 @@ public class RestaurantController {
         }
     }
 
+    @Operation(
+            summary = "Update many restaurants at once, reporting the outcome of each",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PutMapping("/batch")
+    @PreAuthorize("hasRole('ROLE_RESTAURANT_OWNER')")
+    @CacheEvict(value = "restaurantsList", allEntries = true)
+    @Timed(value = "restaurant.controller.time", description = "Time taken to batch update restaurants")
+    public CompletableFuture<RestaurantBatchUpdateResponse> updateRestaurants(
+            @Valid @RequestBody RestaurantBatchUpdateRequest request,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "updateRestaurants");
+        MDC.put("batchSize", String.valueOf(request.items().size()));
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Batch updating {} restaurants", request.items().size());
+            return asyncRestaurantService.processBatchUpdateAsync(request.items())
+                    .whenComplete((response, ex) -> {
+                        if (ex != null) {
+                            log.error("Failed to batch update restaurants: {}", ex.getMessage());
+                        } else {
+                            log.info("Batch update finished: {} updated, {} failed",
+                                    response.updatedCount(), response.failedCount());
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Failed to initiate batch update: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Operation(summary = "Get many restaurants by id in one request")
+    @PostMapping("/batch")
+    @Timed(value = "restaurant.controller.time", description = "Time taken to look up restaurants in batch")
+    public BatchLookupResponse<RestaurantResponse> getRestaurantsBatch(
+            @Valid @RequestBody BatchLookupRequest request,
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+    ) {
+        MDC.put("operation", "getRestaurantsBatch");
+        MDC.put("batchSize", String.valueOf(request.ids().size()));
+        if (requestId != null) MDC.put("requestId", requestId);
+
+        try {
+            log.info("Looking up {} restaurants", request.ids().size());
+            BatchLookupResponse<RestaurantResponse> response = batchLookupService.getRestaurants(request.ids());
+            log.info("Found {} restaurants, {} missing", response.results().size(), response.missing().size());
+            return response;
+        } catch (Exception e) {
+            log.error("Failed to look up restaurants: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private ResponseEntity<RestaurantResponse> withValidators(UUID id, RestaurantResponse response, long menuVersion) {
+        if (response.updatedAt() == null || menuVersion == ResourceVersions.UNKNOWN) {
+            return ResponseEntity.ok(response);
+        }
+        long updatedAt = ResourceVersions.toEpochMilli(response.updatedAt());
+        resourceVersions.recordRestaurantIfAbsent(id, updatedAt);
+        return ResponseEntity.ok()
+                .eTag(restaurantETag(updatedAt, menuVersion))
+                .lastModified(Math.max(updatedAt, menuVersion))
+                .body(response);
+    }
+
+    private static String restaurantETag(long updatedAt, long menuVersion) {
+        return "\"r" + updatedAt + ".m" + menuVersion + "\"";
+    }
+
+    // A GET ETag names the restaurant by its updatedAt; it stands for the version the restaurant
+    // carries while it still has that updatedAt, and the update checks that version when applied.
+    // The menu part is ignored, as updating the restaurant leaves its menu alone.
+    private Long resolveETag(UUID id, String tag) {
+        Matcher matcher = RESTAURANT_ETAG.matcher(tag);
+        if (!matcher.matches()) {
+            return null;
+        }
+        RestaurantResponse current = restaurantService.getRestaurantById(id);
+        if (current.updatedAt() == null
+                || ResourceVersions.toEpochMilli(current.updatedAt()) != Long.parseLong(matcher.group(1))) {
+            return null;
+        }
+        return current.version();
+    }
+
     // Fallback method for Resilience4j Retry
-    private CompletableFuture<RestaurantResponse> getRestaurantFallback(
+    private CompletableFuture<ResponseEntity<RestaurantResponse>> getRestaurantFallback(
             UUID id,
             Exception ex,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId
+            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
+            @RequestHeader HttpHeaders requestHeaders
     ) {
         MDC.put("operation", "getRestaurantFallback");
         MDC.put("restaurantId", id.toString());
@@ -179,7 +449,23 @@ public class RestaurantController {
 
         try {
             log.warn("Using fallback method for restaurant {} due to: {}", id, ex.getMessage());
-            return CompletableFuture.completedFuture(
+            RestaurantSummaryResponse stored = catalogueStore.getRestaurant(id);
+            if (stored != null) {
+                return CompletableFuture.completedFuture(ResponseEntity.ok(
+                        new RestaurantResponse(
+                                stored.id(),
+                                stored.name(),
+                                stored.email(),
+                                stored.phone(),
+                                stored.address(),
+                                catalogueStore.getMenuItems(id),
+                                stored.createdAt(),
+                                stored.updatedAt(),
+                                null
+                        )
+                ));
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.ok(
                     new RestaurantResponse(
                             id.toString(),
                             "Fallback Restaurant",
@@ -188,9 +474,10 @@ public class RestaurantController {
                             null,
                             List.of(),
                             null,
+                            null,
                             null
                     )
-            );
+            ));
         } finally {
             MDC.clear();
         }
@@ -1,5 +1,8 @@
 package org.codewithzea.restaurantservice.dto.request;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -24,5 +27,18 @@ public record AddressRequest(
 
         @NotBlank(message = "Country cannot be blank")
         @Size(min = 2, max = 56, message = "Country name must be between 2-56 characters")
-        String country
-) {}
\ No newline at end of file
+        String country,
+
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double latitude,
+
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double longitude
+) {
+    @AssertTrue(message = "Latitude and longitude must be given together")
+    public boolean isLocationComplete() {
+        return (latitude == null) == (longitude == null);
+    }
+}
\ No newline at end of file
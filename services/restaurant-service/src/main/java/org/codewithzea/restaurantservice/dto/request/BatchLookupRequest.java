@@ -0,0 +1,16 @@
+package org.codewithzea.restaurantservice.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchLookupRequest(
+        @NotEmpty(message = "Lookup must contain at least one id")
+        @Size(max = BatchLookupRequest.MAX_IDS, message = "Lookup cannot exceed " + BatchLookupRequest.MAX_IDS + " ids")
+        List<@NotNull UUID> ids
+) {
+    public static final int MAX_IDS = 500;
+}
@@ -0,0 +1,15 @@
+package org.codewithzea.restaurantservice.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MenuImportRequest(
+        @NotEmpty(message = "Import must contain at least one menu item")
+        @Size(max = MenuImportRequest.MAX_ITEMS, message = "Import cannot exceed " + MenuImportRequest.MAX_ITEMS + " menu items")
+        List<@Valid MenuItemRequest> items
+) {
+    public static final int MAX_ITEMS = 5000;
+}
@@ -0,0 +1,18 @@
+package org.codewithzea.restaurantservice.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record RestaurantBatchUpdateItem(
+        @NotNull(message = "Restaurant ID cannot be null")
+        UUID id,
+
+        @NotNull(message = "Restaurant details cannot be null")
+        @Valid
+        RestaurantRequest restaurant,
+
+        // Optional; when set the update only applies to this version of the restaurant
+        Long version
+) {}
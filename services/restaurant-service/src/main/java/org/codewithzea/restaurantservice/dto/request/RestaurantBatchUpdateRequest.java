@@ -0,0 +1,15 @@
+package org.codewithzea.restaurantservice.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RestaurantBatchUpdateRequest(
+        @NotEmpty(message = "Batch must contain at least one restaurant")
+        @Size(max = RestaurantBatchUpdateRequest.MAX_ITEMS, message = "Batch cannot exceed " + RestaurantBatchUpdateRequest.MAX_ITEMS + " restaurants")
+        List<@Valid RestaurantBatchUpdateItem> items
+) {
+    public static final int MAX_ITEMS = 5000;
+}
@@ -5,5 +5,7 @@ public record AddressResponse(
         String city,
         String state,
         String zipCode,
-        String country
+        String country,
+        Double latitude,
+        Double longitude
 ) {}
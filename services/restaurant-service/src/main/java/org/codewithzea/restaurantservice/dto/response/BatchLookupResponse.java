@@ -0,0 +1,13 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch lookup results keyed by id, in request order; ids that do not exist are listed in
+ * {@code missing}.
+ */
+public record BatchLookupResponse<T>(
+        Map<String, T> results,
+        List<String> missing
+) {}
@@ -0,0 +1,24 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+import java.util.List;
+
+/**
+ * Menu changes after {@code since}. With {@code reset} set the changes are the whole menu, and the
+ * client replaces its copy instead of applying them. {@code version} is the value to send as
+ * {@code since} next time, and {@code etag} the ETag a menu GET answers with for the same menu, so
+ * a client syncing through changes can revalidate the full menu with If-None-Match. It is null
+ * when the menu version cannot be read.
+ */
+public record MenuChangesResponse(
+        String restaurantId,
+        long since,
+        long version,
+        String etag,
+        boolean reset,
+        List<MenuItemChange> changes
+) {
+
+    public MenuChangesResponse withEtag(String etag) {
+        return new MenuChangesResponse(restaurantId, since, version, etag, reset, changes);
+    }
+}
@@ -0,0 +1,9 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+import java.util.List;
+
+public record MenuImportResponse(
+        String restaurantId,
+        int importedCount,
+        List<MenuItemResponse> menuItems
+) {}
@@ -0,0 +1,20 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.codewithzea.restaurantservice.model.MenuChangeType;
+
+import java.math.BigDecimal;
+
+/**
+ * The latest state of one menu item; a deletion carries only the id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MenuItemChange(
+        long version,
+        MenuChangeType type,
+        String id,
+        String name,
+        String description,
+        BigDecimal price,
+        String categoryName
+) {}
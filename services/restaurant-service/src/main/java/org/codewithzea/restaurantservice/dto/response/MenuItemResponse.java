@@ -1,7 +1,6 @@
 package org.codewithzea.restaurantservice.dto.response;
 
 import lombok.Builder;
-import org.codewithzea.restaurantservice.model.Category;
 
 import java.math.BigDecimal;
 
@@ -11,5 +10,6 @@ public record MenuItemResponse(
         String name,
         String description,
         BigDecimal price,
-        String categoryName
+        String categoryName,
+        Long version
 ) {}
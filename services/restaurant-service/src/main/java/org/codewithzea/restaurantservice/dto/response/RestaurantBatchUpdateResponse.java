@@ -0,0 +1,16 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+import java.util.List;
+
+public record RestaurantBatchUpdateResponse(
+        int updatedCount,
+        int failedCount,
+        List<RestaurantBatchUpdateResult> results
+) {
+    public static RestaurantBatchUpdateResponse of(List<RestaurantBatchUpdateResult> results) {
+        int updated = (int) results.stream()
+                .filter(result -> result.status() == RestaurantBatchUpdateResult.Status.UPDATED)
+                .count();
+        return new RestaurantBatchUpdateResponse(updated, results.size() - updated, results);
+    }
+}
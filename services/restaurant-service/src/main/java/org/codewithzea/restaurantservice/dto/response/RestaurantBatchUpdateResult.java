@@ -0,0 +1,17 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+import java.util.UUID;
+
+public record RestaurantBatchUpdateResult(
+        String id,
+        Status status,
+        String message
+) {
+    public enum Status {
+        UPDATED, NOT_FOUND, FORBIDDEN, CONFLICT, FAILED
+    }
+
+    public static RestaurantBatchUpdateResult of(UUID id, Status status, String message) {
+        return new RestaurantBatchUpdateResult(id.toString(), status, message);
+    }
+}
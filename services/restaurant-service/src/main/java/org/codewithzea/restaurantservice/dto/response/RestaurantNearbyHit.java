@@ -0,0 +1,11 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+
+public record RestaurantNearbyHit(
+        String id,
+        String name,
+        String city,
+        double latitude,
+        double longitude,
+        double distanceMeters
+) {}
@@ -0,0 +1,9 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+
+import java.util.List;
+
+public record RestaurantNearbyResponse(
+        List<RestaurantNearbyHit> hits,
+        String nextCursor
+) {}
@@ -12,7 +12,8 @@ public record RestaurantResponse(
         AddressResponse address,
         List<MenuItemResponse> menuItems,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version
 ) {}
 
 
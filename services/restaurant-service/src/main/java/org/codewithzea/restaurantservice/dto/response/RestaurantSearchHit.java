@@ -0,0 +1,9 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+
+public record RestaurantSearchHit(
+        String id,
+        String name,
+        String city,
+        float score
+) {}
@@ -0,0 +1,9 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+
+import java.util.List;
+
+public record RestaurantSearchResponse(
+        List<RestaurantSearchHit> hits,
+        String nextCursor
+) {}
@@ -0,0 +1,14 @@
+package org.codewithzea.restaurantservice.dto.response;
+
+
+import java.time.LocalDateTime;
+
+public record RestaurantSummaryResponse(
+        String id,
+        String name,
+        String email,
+        String phone,
+        AddressResponse address,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -43,4 +44,8 @@ public class MenuEventPublisher {
                         null)
         );
     }
+
+    public void publishMenuImportedEvent(UUID restaurantId, List<MenuItem> menuItems) {
+        eventPublisher.publishEvent(new MenuImportedEvent(this, restaurantId, menuItems));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.codewithzea.restaurantservice.event;
+
+
+import lombok.Getter;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published once per bulk menu import instead of one {@link MenuEvent} per item.
+ */
+@Getter
+public class MenuImportedEvent extends ApplicationEvent {
+    private final UUID restaurantId;
+    private final List<MenuItem> menuItems;
+
+    public MenuImportedEvent(Object source, UUID restaurantId, List<MenuItem> menuItems) {
+        super(source);
+        this.restaurantId = restaurantId;
+        this.menuItems = List.copyOf(menuItems);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.codewithzea.restaurantservice.dto.response.ErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.List;
@@ -52,6 +54,33 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
 
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(
+            @NonNull HandlerMethodValidationException ex,
+            @NonNull HttpHeaders headers,
+            @NonNull HttpStatusCode status,
+            @NonNull WebRequest request) {
+
+        log.warn("Parameter validation error: {}", ex.getMessage());
+
+        List<String> errors = ex.getParameterValidationResults()
+                .stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> String.format("%s (invalid value: %s)",
+                                error.getDefaultMessage(), result.getArgument())))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.badRequest().body(
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST,
+                        "Validation failed",
+                        request.getDescription(false),
+                        errors,
+                        "VALIDATION_ERROR"
+                )
+        );
+    }
+
     @Override
     protected ResponseEntity<Object> handleHttpMessageNotReadable(
             @NonNull HttpMessageNotReadableException ex,
@@ -110,6 +139,22 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(
+            InvalidCursorException ex, WebRequest request) {
+
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST,
+                        ex.getMessage(),
+                        request.getDescription(false),
+                        null,
+                        "INVALID_CURSOR"
+                )
+        );
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(
             AccessDeniedException ex, WebRequest request) {
@@ -143,6 +188,43 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(
+            PreconditionFailedException ex, WebRequest request) {
+
+        log.info("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(
+                ErrorResponse.of(
+                        HttpStatus.PRECONDITION_FAILED,
+                        ex.getMessage(),
+                        request.getDescription(false),
+                        null,
+                        "PRECONDITION_FAILED"
+                )
+        );
+    }
+
+    // A concurrent write committed between our read and our flush. With If-Match the client's
+    // version is gone, which is a failed precondition; without it the write simply lost the race.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(
+                ErrorResponse.of(
+                        status,
+                        "The resource was modified concurrently, reload it and try again",
+                        request.getDescription(false),
+                        null,
+                        "CONCURRENT_MODIFICATION"
+                )
+        );
+    }
+
     @ExceptionHandler(MenuValidationException.class)
     public ResponseEntity<ErrorResponse> handleMenuValidation(
             MenuValidationException ex, WebRequest request) {
@@ -0,0 +1,8 @@
+package org.codewithzea.restaurantservice.exception;
+
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("Invalid pagination cursor: " + cursor, cause);
+    }
+}
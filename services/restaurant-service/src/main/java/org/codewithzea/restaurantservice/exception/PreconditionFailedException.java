@@ -0,0 +1,14 @@
+package org.codewithzea.restaurantservice.exception;
+
+
+import java.util.Collection;
+import java.util.UUID;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String resource, UUID id, Collection<Long> expectedVersions, long currentVersion) {
+        super(String.format(
+                "%s %s is at version %d, not one of the expected versions %s",
+                resource, id, currentVersion, expectedVersions
+        ));
+    }
+}
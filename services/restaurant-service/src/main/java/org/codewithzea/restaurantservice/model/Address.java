@@ -18,4 +18,7 @@ public class Address {
     private String state;
     private String zipCode;
     private String country;
+    // WGS84 degrees; both or neither are set
+    private Double latitude;
+    private Double longitude;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.codewithzea.restaurantservice.model;
+
+/**
+ * Hibernate second-level cache regions. Each one is declared in {@code ehcache.xml}; Hibernate
+ * refuses to start if a region is missing there.
+ */
+public final class CacheRegions {
+
+    public static final String RESTAURANT = "l2.restaurant";
+    public static final String RESTAURANT_MENU_ITEMS = "l2.restaurant.menuItems";
+    public static final String MENU_ITEM = "l2.menuItem";
+    public static final String CATEGORY = "l2.category";
+    public static final String MENU_QUERY = "l2.query.menu";
+
+    private CacheRegions() {
+    }
+}
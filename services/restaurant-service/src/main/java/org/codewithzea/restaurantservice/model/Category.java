@@ -5,11 +5,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
+// Never updated by this service, so cached copies need no locking
 @Entity
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CacheRegions.CATEGORY)
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,55 @@
+package org.codewithzea.restaurantservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One item-level change to a restaurant's menu, stamped with the menu version it produced. A
+ * deletion keeps only the item id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "menu_change", indexes = {
+        @Index(name = "idx_menu_change_restaurant_version", columnList = "restaurant_id, version"),
+        @Index(name = "idx_menu_change_restaurant_item_version", columnList = "restaurant_id, menu_item_id, version")
+})
+public class MenuChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_change_seq")
+    @SequenceGenerator(name = "menu_change_seq", sequenceName = "menu_change_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID restaurantId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private UUID menuItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MenuChangeType changeType;
+
+    private String name;
+
+    private String description;
+
+    private BigDecimal price;
+
+    private String categoryName;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
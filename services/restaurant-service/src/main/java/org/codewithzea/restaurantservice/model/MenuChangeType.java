@@ -0,0 +1,7 @@
+package org.codewithzea.restaurantservice.model;
+
+public enum MenuChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -3,6 +3,8 @@ package org.codewithzea.restaurantservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -12,6 +14,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_menu_item_restaurant_name_id", columnList = "restaurant_id, name, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MENU_ITEM)
 public class MenuItem {
 
     @Id
@@ -33,4 +37,9 @@ public class MenuItem {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
+
+    // The default fills the column for rows written before it existed
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
 }
\ No newline at end of file
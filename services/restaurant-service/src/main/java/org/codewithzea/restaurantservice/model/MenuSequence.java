@@ -0,0 +1,30 @@
+package org.codewithzea.restaurantservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * The menu version of a restaurant, raised by one for every committed menu change.
+ * <p>
+ * {@code floorVersion} is the newest version whose deletions compaction has dropped; a client that
+ * last synced before it has to start over from the full menu.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "menu_sequence")
+public class MenuSequence {
+
+    @Id
+    private UUID restaurantId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private long floorVersion;
+}
@@ -3,6 +3,8 @@ package org.codewithzea.restaurantservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,6 +19,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_restaurant_name_id", columnList = "name, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESTAURANT)
 public class Restaurant {
 
     @Id
@@ -36,6 +40,7 @@ public class Restaurant {
     private Address address;
 
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESTAURANT_MENU_ITEMS)
     @Builder.Default
     private List<MenuItem> menuItems = new ArrayList<>();
 
@@ -52,4 +57,9 @@ public class Restaurant {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // The default fills the column for rows written before it existed
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
 }
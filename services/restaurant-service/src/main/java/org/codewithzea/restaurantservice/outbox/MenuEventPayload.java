@@ -0,0 +1,22 @@
+package org.codewithzea.restaurantservice.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Kafka payload of a menu change. Item events carry the item; an import carries only the number
+ * of items, and consumers that need them read the menu. {@code version} is the item's
+ * {@code @Version} as committed, absent for deletions and imports.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MenuEventPayload(
+        String type,
+        String restaurantId,
+        String menuItemId,
+        String name,
+        BigDecimal price,
+        String category,
+        Integer itemCount,
+        Long version
+) {}
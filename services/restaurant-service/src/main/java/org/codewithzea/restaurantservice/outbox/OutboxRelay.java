@@ -0,0 +1,178 @@
+package org.codewithzea.restaurantservice.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.model.OutboxEvent;
+import org.codewithzea.restaurantservice.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to Kafka in id order, one batch per transaction.
+ * <p>
+ * Every node runs the relay, but a Postgres advisory lock lets only one drain at a time. Records
+ * are keyed by restaurant id, so they share a partition. Id order is not commit order: ids come
+ * from a pooled sequence and are taken at insert, so a transaction that commits later can hold a
+ * lower id, and a row committed after a higher id was relayed is sent after it. Every record
+ * therefore carries the committed {@code @Version} of its restaurant or menu item in the
+ * {@code version} header, and consumers drop an event that is not newer than the last one they
+ * applied for that aggregate.
+ * <p>
+ * A batch is queued on the producer, flushed, and deleted only once every record is acknowledged.
+ * A failed batch stays in the outbox and is sent again, so delivery is at-least-once and consumers
+ * deduplicate on the {@code eventId} header.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Arbitrary, but shared by every node
+    static final long LOCK_KEY = 0x6f7574626f78L;
+    static final String EVENT_ID_HEADER = "eventId";
+    static final String EVENT_TYPE_HEADER = "eventType";
+    static final String VERSION_HEADER = "version";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration sendTimeout;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${spring.kafka.topic.restaurant-events:restaurant-events}") String topic,
+                       @Value("${restaurant.outbox.batch-size:500}") int batchSize,
+                       @Value("${restaurant.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${restaurant.outbox.send-timeout:10s}") Duration sendTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeout = sendTimeout;
+        this.published = Counter.builder("restaurant.outbox.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failures = Counter.builder("restaurant.outbox.failures")
+                .description("Outbox batches that failed and will be retried")
+                .register(meterRegistry);
+        this.lag = Timer.builder("restaurant.outbox.lag")
+                .description("Time from writing an outbox event to its acknowledgement by Kafka")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("restaurant.outbox.oldest.age", oldestAgeMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered event when the relay last ran on this node")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.outbox.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            int batches = 0;
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize && ++batches < maxBatchesPerRun);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox relay failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        if (!outboxEventRepository.tryAdvisoryLock(LOCK_KEY)) {
+            // Only the draining node reports an age, so the maximum across nodes stays meaningful
+            oldestAgeMillis.set(0);
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            oldestAgeMillis.set(0);
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        oldestAgeMillis.set(now - ResourceVersions.toEpochMilli(events.get(0).getCreatedAt()));
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            CompletableFuture<SendResult<String, String>> send = kafkaTemplate.send(record(event));
+            sends.add(send);
+            // Without broker metadata every further send would block for max.block.ms
+            if (send.isCompletedExceptionally()) {
+                break;
+            }
+        }
+        // Everything is queued, so linger would only delay the acknowledgements
+        kafkaTemplate.flush();
+        awaitAcknowledgements(sends);
+
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+        published.increment(events.size());
+        long acknowledged = System.currentTimeMillis();
+        for (OutboxEvent event : events) {
+            lag.record(acknowledged - ResourceVersions.toEpochMilli(event.getCreatedAt()), TimeUnit.MILLISECONDS);
+        }
+        return events.size();
+    }
+
+    private ProducerRecord<String, String> record(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, null,
+                ResourceVersions.toEpochMilli(event.getCreatedAt()), event.getRestaurantId().toString(),
+                event.getPayload());
+        record.headers()
+                .add(new RecordHeader(EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8)))
+                .add(new RecordHeader(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8)));
+        if (event.getAggregateVersion() != null) {
+            record.headers().add(new RecordHeader(VERSION_HEADER,
+                    event.getAggregateVersion().toString().getBytes(StandardCharsets.UTF_8)));
+        }
+        return record;
+    }
+
+    private void awaitAcknowledgements(List<CompletableFuture<SendResult<String, String>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Kafka", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Kafka rejected an outbox event: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Kafka did not acknowledge the outbox batch within " + sendTimeout, e);
+        }
+    }
+}
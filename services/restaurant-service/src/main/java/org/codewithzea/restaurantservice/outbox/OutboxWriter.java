@@ -0,0 +1,116 @@
+package org.codewithzea.restaurantservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.codewithzea.restaurantservice.event.MenuEvent;
+import org.codewithzea.restaurantservice.event.MenuImportedEvent;
+import org.codewithzea.restaurantservice.event.RestaurantEvent;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.OutboxEvent;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Turns restaurant and menu events into outbox rows inside the transaction that raised them, so
+ * a change and its event commit or roll back together. {@link OutboxRelay} sends them to Kafka,
+ * stamped with the time the row was written and the committed {@code @Version} of the restaurant or
+ * menu item they are about.
+ */
+@Component
+public class OutboxWriter {
+    static final String RESTAURANT_PREFIX = "restaurant.";
+    static final String MENU_ITEM_PREFIX = "menu-item.";
+    static final String MENU_IMPORTED = "menu.imported";
+
+    private static final Object VERSIONS_FLUSHED = new Object();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRestaurantEvent(RestaurantEvent event) {
+        String type = RESTAURANT_PREFIX + event.getEventType().name().toLowerCase(Locale.ROOT);
+        Restaurant restaurant = event.getRestaurant();
+        flushVersions();
+        Long version = restaurant != null ? restaurant.getVersion() : null;
+        RestaurantEventPayload payload = restaurant == null
+                ? new RestaurantEventPayload(type, event.getRestaurantId().toString(), null, null, null, null)
+                : new RestaurantEventPayload(type,
+                        event.getRestaurantId().toString(),
+                        restaurant.getName(),
+                        restaurant.getAddress() != null ? restaurant.getAddress().getCity() : null,
+                        restaurant.getStatus() != null ? restaurant.getStatus().name() : null,
+                        version);
+        append(event.getRestaurantId(), type, payload, version);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onMenuEvent(MenuEvent event) {
+        String type = MENU_ITEM_PREFIX + event.getEventType().name().toLowerCase(Locale.ROOT);
+        MenuItem item = event.getMenuItem();
+        flushVersions();
+        Long version = item != null && event.getEventType() != MenuEvent.EventType.DELETED ? item.getVersion() : null;
+        MenuEventPayload payload = item == null
+                ? new MenuEventPayload(type, event.getRestaurantId().toString(), event.getMenuItemId().toString(),
+                        null, null, null, null, null)
+                : new MenuEventPayload(type,
+                        event.getRestaurantId().toString(),
+                        event.getMenuItemId().toString(),
+                        item.getName(),
+                        item.getPrice(),
+                        item.getCategory() != null ? item.getCategory().getName() : null,
+                        null,
+                        version);
+        append(event.getRestaurantId(), type, payload, version);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onMenuImported(MenuImportedEvent event) {
+        append(event.getRestaurantId(), MENU_IMPORTED, new MenuEventPayload(MENU_IMPORTED,
+                event.getRestaurantId().toString(), null, null, null, null, event.getMenuItems().size(), null),
+                null);
+    }
+
+    // @Version is only bumped on flush. The business code is done by now, so one flush per commit
+    // gives every event of it the version that will be committed.
+    private void flushVersions() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(VERSIONS_FLUSHED)) {
+            return;
+        }
+        outboxEventRepository.flush();
+        TransactionSynchronizationManager.bindResource(VERSIONS_FLUSHED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(VERSIONS_FLUSHED);
+            }
+        });
+    }
+
+    private void append(UUID restaurantId, String type, Object payload, Long aggregateVersion) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .restaurantId(restaurantId)
+                    .eventType(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .aggregateVersion(aggregateVersion)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + type + " event of restaurant " + restaurantId, e);
+        }
+    }
+}
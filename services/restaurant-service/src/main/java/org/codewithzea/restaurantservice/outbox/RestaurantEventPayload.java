@@ -0,0 +1,18 @@
+package org.codewithzea.restaurantservice.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Kafka payload of a restaurant change; a deletion carries only the type and id. {@code version}
+ * is the restaurant's {@code @Version} as committed, so consumers can drop an event that is not
+ * newer than one they have already applied.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RestaurantEventPayload(
+        String type,
+        String restaurantId,
+        String name,
+        String city,
+        String status,
+        Long version
+) {}
@@ -0,0 +1,39 @@
+package org.codewithzea.restaurantservice.repository;
+
+import org.codewithzea.restaurantservice.model.MenuChange;
+import org.codewithzea.restaurantservice.model.MenuChangeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MenuChangeRepository extends JpaRepository<MenuChange, Long> {
+
+    List<MenuChange> findByRestaurantIdAndVersionGreaterThanOrderByVersionAscIdAsc(UUID restaurantId, long version);
+
+    // Bulk JPQL rather than native SQL, so Hibernate leaves the second-level cache alone
+    @Modifying
+    @Query("""
+            DELETE FROM MenuChange c WHERE EXISTS (
+                SELECT 1 FROM MenuChange n
+                WHERE n.restaurantId = c.restaurantId AND n.menuItemId = c.menuItemId AND n.version > c.version)""")
+    int deleteSuperseded();
+
+    @Modifying
+    @Query("DELETE FROM MenuChange c WHERE c.changeType = :type AND c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("type") MenuChangeType type, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM MenuChange c WHERE NOT EXISTS (SELECT 1 FROM Restaurant r WHERE r.id = c.restaurantId)")
+    int deleteOrphans();
+
+    // Held until the surrounding transaction ends; false if another session holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
@@ -2,23 +2,24 @@ package org.codewithzea.restaurantservice.repository;
 
 
 
+import org.codewithzea.restaurantservice.model.CacheRegions;
 import org.codewithzea.restaurantservice.model.MenuItem;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -30,14 +31,34 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, UUID> {
     @EntityGraph(attributePaths = {"restaurant"})
     Page<MenuItem> findByRestaurantId(UUID restaurantId, Pageable pageable);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT m FROM MenuItem m WHERE m.id = :id")
-    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
-    Optional<MenuItem> findByIdForUpdate(@Param("id") UUID id);
+    // Keyset pages over idx_menu_item_restaurant_name_id; the row-value seek is a single index range
+    @Query("SELECT mi FROM MenuItem mi LEFT JOIN FETCH mi.category WHERE mi.restaurant.id = :restaurantId " +
+            "ORDER BY mi.name, mi.id")
+    List<MenuItem> findFirstScrollPage(@Param("restaurantId") UUID restaurantId, Limit limit);
+
+    @Query("SELECT mi FROM MenuItem mi LEFT JOIN FETCH mi.category WHERE mi.restaurant.id = :restaurantId " +
+            "AND (mi.name, mi.id) > (:name, :id) ORDER BY mi.name, mi.id")
+    List<MenuItem> findScrollPageAfter(@Param("restaurantId") UUID restaurantId, @Param("name") String name,
+                                       @Param("id") UUID id, Limit limit);
+
+    long countByRestaurantId(UUID restaurantId);
 
     @Query("SELECT COUNT(m) > 0 FROM MenuItem m WHERE m.id = :id AND m.restaurant.id = :restaurantId")
     boolean existsByIdAndRestaurantId(@Param("id") UUID id, @Param("restaurantId") UUID restaurantId);
 
-    @Query("SELECT mi FROM MenuItem mi JOIN FETCH mi.category WHERE mi.restaurant.id = :restaurantId")
+    // Cached until a MenuItem or Category write makes Hibernate invalidate the region
+    @Query("SELECT mi FROM MenuItem mi LEFT JOIN FETCH mi.category WHERE mi.restaurant.id = :restaurantId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.MENU_QUERY)
+    })
     List<MenuItem> findByRestaurantIdWithCategories(@Param("restaurantId") UUID restaurantId);
+
+    // Batch read path for restaurant listings: one query for the menus of a whole page
+    @Query("SELECT mi FROM MenuItem mi LEFT JOIN FETCH mi.category WHERE mi.restaurant.id IN :restaurantIds")
+    List<MenuItem> findByRestaurantIdInWithCategories(@Param("restaurantIds") Collection<UUID> restaurantIds);
+
+    // Batch lookup by id; the categories come with the items instead of one query per item
+    @Query("SELECT mi FROM MenuItem mi LEFT JOIN FETCH mi.category WHERE mi.id IN :ids")
+    List<MenuItem> findByIdInWithCategories(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
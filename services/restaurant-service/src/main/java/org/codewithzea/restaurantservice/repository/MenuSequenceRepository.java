@@ -0,0 +1,37 @@
+package org.codewithzea.restaurantservice.repository;
+
+import org.codewithzea.restaurantservice.model.MenuChangeType;
+import org.codewithzea.restaurantservice.model.MenuSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface MenuSequenceRepository extends JpaRepository<MenuSequence, UUID> {
+
+    // The row lock taken by the upsert is held until commit, so versions are handed out in commit order
+    @Query(value = """
+            INSERT INTO menu_sequence (restaurant_id, version, floor_version) VALUES (:restaurantId, 1, 0)
+            ON CONFLICT (restaurant_id) DO UPDATE SET version = menu_sequence.version + 1
+            RETURNING version""", nativeQuery = true)
+    long nextVersion(@Param("restaurantId") UUID restaurantId);
+
+    @Modifying
+    @Query("""
+            UPDATE MenuSequence s SET s.floorVersion = (
+                SELECT MAX(c.version) FROM MenuChange c
+                WHERE c.restaurantId = s.restaurantId AND c.changeType = :type AND c.changedAt < :cutoff)
+            WHERE EXISTS (
+                SELECT 1 FROM MenuChange c
+                WHERE c.restaurantId = s.restaurantId AND c.changeType = :type AND c.changedAt < :cutoff)""")
+    int raiseFloors(@Param("type") MenuChangeType type, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM MenuSequence s WHERE NOT EXISTS (SELECT 1 FROM Restaurant r WHERE r.id = s.restaurantId)")
+    int deleteOrphans();
+}
@@ -1,19 +1,16 @@
 package org.codewithzea.restaurantservice.repository;
 
 
-import jakarta.persistence.QueryHint;
 import org.codewithzea.restaurantservice.model.Restaurant;
 import org.codewithzea.restaurantservice.model.RestaurantStatus;
-import org.hibernate.jpa.HibernateHints;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,8 +27,16 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
     @Query("SELECT r FROM Restaurant r LEFT JOIN FETCH r.menuItems WHERE r.id = :id")
     Optional<Restaurant> findByIdWithMenuItems(@Param("id") UUID id);
 
-    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
-    Page<Restaurant> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    // Keyset pages over idx_restaurant_name_id; the row-value seek is a single index range
+    @Query("SELECT r FROM Restaurant r ORDER BY r.name, r.id")
+    List<Restaurant> findFirstScrollPage(Limit limit);
+
+    @Query("SELECT r FROM Restaurant r WHERE (r.name, r.id) > (:name, :id) ORDER BY r.name, r.id")
+    List<Restaurant> findScrollPageAfter(@Param("name") String name, @Param("id") UUID id, Limit limit);
+
+    List<Restaurant> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 
     boolean existsByIdAndOwnerId(UUID id, String ownerId);
+
+    List<Restaurant> findByEmailIn(Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,304 @@
+package org.codewithzea.restaurantservice.search;
+
+import org.codewithzea.restaurantservice.exception.InvalidCursorException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process spatial index of restaurant locations for radius and nearest-first queries.
+ * <p>
+ * Locations are keyed by a geohash of {@value #BITS_PER_AXIS} bits per axis in a sorted map, so
+ * every geohash cell, at any level, is one contiguous key range. A query covers the bounding box of
+ * its circle with at most {@value #MAX_CELLS_PER_AXIS} cells per axis, scans those ranges and keeps
+ * what lies within the great-circle radius. Nearest-first queries widen the radius until a full
+ * page is found. Either way the work follows the number of restaurants near the point rather than
+ * the number indexed.
+ * <p>
+ * The index is kept up to date by {@link RestaurantSearchIndexer}.
+ */
+@Component
+public class RestaurantGeoIndex {
+
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    // Half the circumference, which reaches every point on the globe
+    public static final double MAX_RADIUS_METERS = Math.PI * EARTH_RADIUS_METERS;
+
+    private static final int BITS_PER_AXIS = 26;
+    private static final int MAX_CELLS_PER_AXIS = 8;
+    private static final double INITIAL_NEAREST_RADIUS_METERS = 2_000;
+    private static final int NEAREST_GROWTH_FACTOR = 4;
+    private static final Comparator<Candidate> RANKING = Comparator.comparingDouble(Candidate::haversine)
+            .thenComparing(candidate -> candidate.location().restaurantId());
+
+    private final Map<UUID, Location> locations = new HashMap<>();
+    private final NavigableMap<Long, Map<UUID, Location>> cells = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long generation;
+
+    public record Hit(UUID restaurantId, String name, String city, double latitude, double longitude,
+                      double distanceMeters) {}
+
+    public record Result(List<Hit> hits, String nextCursor) {}
+
+    public void put(UUID restaurantId, String name, String city, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            removeLocation(restaurantId);
+            Location location = new Location(restaurantId, name, city, latitude, longitude,
+                    Math.cos(Math.toRadians(latitude)), geohash(latitude, longitude), generation);
+            locations.put(restaurantId, location);
+            cells.computeIfAbsent(location.geohash(), hash -> new HashMap<>()).put(restaurantId, location);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID restaurantId) {
+        lock.writeLock().lock();
+        try {
+            removeLocation(restaurantId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a full rebuild. Locations written from now on are stamped with the returned
+     * generation; {@link #completeRebuild(long)} drops the ones that were not.
+     */
+    public long beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            return ++generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeRebuild(long rebuildGeneration) {
+        lock.writeLock().lock();
+        try {
+            List<UUID> stale = new ArrayList<>();
+            locations.forEach((id, location) -> {
+                if (location.generation() < rebuildGeneration) {
+                    stale.add(id);
+                }
+            });
+            stale.forEach(this::removeLocation);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} restaurants ordered by distance from the point, continuing after
+     * {@code cursor} when one is given. Without a radius the whole globe is searched, nearest first.
+     */
+    public Result nearby(double latitude, double longitude, Double radiusMeters, int limit, String cursor) {
+        Cursor after = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor) : null;
+        List<Candidate> ordered;
+        lock.readLock().lock();
+        try {
+            if (radiusMeters != null) {
+                ordered = closest(latitude, longitude, Math.min(radiusMeters, MAX_RADIUS_METERS), limit + 1, after);
+            } else {
+                double radius = Math.max(INITIAL_NEAREST_RADIUS_METERS,
+                        after != null ? toMeters(after.haversine()) * 2 : 0);
+                ordered = closest(latitude, longitude, Math.min(radius, MAX_RADIUS_METERS), limit + 1, after);
+                // Everything within the radius was considered, so a full page there is exact
+                while (ordered.size() <= limit && radius < MAX_RADIUS_METERS) {
+                    radius = Math.min(radius * NEAREST_GROWTH_FACTOR, MAX_RADIUS_METERS);
+                    ordered = closest(latitude, longitude, radius, limit + 1, after);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(Math.min(limit, ordered.size()));
+        for (Candidate candidate : ordered.subList(0, Math.min(limit, ordered.size()))) {
+            Location location = candidate.location();
+            hits.add(new Hit(location.restaurantId(), location.name(), location.city(),
+                    location.latitude(), location.longitude(), toMeters(candidate.haversine())));
+        }
+        if (ordered.size() <= limit) {
+            return new Result(hits, null);
+        }
+        Candidate last = ordered.get(limit - 1);
+        return new Result(hits, new Cursor(last.haversine(), last.location().restaurantId()).encode());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return locations.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called with the read lock held; returns at most capacity candidates, nearest first
+    private List<Candidate> closest(double latitude, double longitude, double radiusMeters, int capacity,
+                                    Cursor after) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        double halfAngle = Math.min(radiusMeters / EARTH_RADIUS_METERS, Math.PI) / 2;
+        double maxHaversine = Math.sin(halfAngle) * Math.sin(halfAngle);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(capacity + 1, RANKING.reversed());
+        for (long[] range : coveringRanges(latitude, longitude, radiusMeters)) {
+            for (Map<UUID, Location> bucket : cells.subMap(range[0], range[1]).values()) {
+                for (Location location : bucket.values()) {
+                    double haversine = haversine(latitude, longitude, cosLatitude, location);
+                    // Once the page is full only something nearer than its farthest entry can get in
+                    double threshold = best.size() == capacity ? best.peek().haversine() : maxHaversine;
+                    if (haversine > threshold) {
+                        continue;
+                    }
+                    Candidate candidate = new Candidate(location, haversine);
+                    if (after != null && after.compareTo(candidate) >= 0) {
+                        continue;
+                    }
+                    best.offer(candidate);
+                    if (best.size() > capacity) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(RANKING);
+        return ordered;
+    }
+
+    // Must be called with the write lock held
+    private void removeLocation(UUID restaurantId) {
+        Location removed = locations.remove(restaurantId);
+        if (removed == null) {
+            return;
+        }
+        Map<UUID, Location> bucket = cells.get(removed.geohash());
+        if (bucket != null) {
+            bucket.remove(restaurantId);
+            if (bucket.isEmpty()) {
+                cells.remove(removed.geohash());
+            }
+        }
+    }
+
+    // Geohash key ranges of the cells overlapping the circle's bounding box, at the finest level that
+    // needs no more than MAX_CELLS_PER_AXIS cells per axis
+    private static List<long[]> coveringRanges(double latitude, double longitude, double radiusMeters) {
+        double angle = radiusMeters / EARTH_RADIUS_METERS;
+        double latitudeSpan = Math.toDegrees(angle);
+        double south = Math.max(-90, latitude - latitudeSpan);
+        double north = Math.min(90, latitude + latitudeSpan);
+        double west = -180;
+        double east = 180;
+        // A circle reaching a pole spans every longitude
+        if (Math.abs(latitude) + latitudeSpan < 90) {
+            double longitudeSpan = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(latitude))));
+            west = longitude - longitudeSpan;
+            east = longitude + longitudeSpan;
+        }
+
+        int level = 0;
+        while (level < BITS_PER_AXIS
+                && cellSpan(south, north, 180, level + 1) <= MAX_CELLS_PER_AXIS
+                && cellSpan(west, east, 360, level + 1) <= MAX_CELLS_PER_AXIS) {
+            level++;
+        }
+
+        long cellsPerAxis = 1L << level;
+        long firstRow = cellIndex(south + 90, 180, level);
+        long lastRow = Math.min(cellIndex(north + 90, 180, level), cellsPerAxis - 1);
+        long firstColumn = cellIndex(west + 180, 360, level);
+        long lastColumn = Math.min(cellIndex(east + 180, 360, level), firstColumn + cellsPerAxis - 1);
+        int shift = 2 * (BITS_PER_AXIS - level);
+        List<long[]> ranges = new ArrayList<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                // Longitude wraps around the antimeridian
+                long cell = interleave(Math.floorMod(column, cellsPerAxis), row);
+                ranges.add(new long[]{cell << shift, (cell + 1) << shift});
+            }
+        }
+        return ranges;
+    }
+
+    private static long cellSpan(double from, double to, double extent, int level) {
+        return cellIndex(to + extent / 2, extent, level) - cellIndex(from + extent / 2, extent, level) + 1;
+    }
+
+    // Offset is measured from the western or southern edge and may fall outside the globe
+    private static long cellIndex(double offset, double extent, int level) {
+        return (long) Math.floor(offset / extent * (1L << level));
+    }
+
+    static long geohash(double latitude, double longitude) {
+        return interleave(quantize((longitude + 180) / 360), quantize((latitude + 90) / 180));
+    }
+
+    private static long quantize(double fraction) {
+        long max = (1L << BITS_PER_AXIS) - 1;
+        return Math.max(0, Math.min(max, (long) Math.floor(fraction * (1L << BITS_PER_AXIS))));
+    }
+
+    // Longitude takes the higher bit of each pair, as in a standard geohash
+    private static long interleave(long x, long y) {
+        return (spread(x) << 1) | spread(y);
+    }
+
+    private static long spread(long value) {
+        value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value << 2)) & 0x3333333333333333L;
+        value = (value | (value << 1)) & 0x5555555555555555L;
+        return value;
+    }
+
+    // The haversine of the central angle; it grows with distance, so it ranks without the arcsine
+    private static double haversine(double latitude, double longitude, double cosLatitude, Location location) {
+        double sinHalfLatitude = Math.sin(Math.toRadians(location.latitude() - latitude) / 2);
+        double sinHalfLongitude = Math.sin(Math.toRadians(location.longitude() - longitude) / 2);
+        return sinHalfLatitude * sinHalfLatitude
+                + cosLatitude * location.cosLatitude() * sinHalfLongitude * sinHalfLongitude;
+    }
+
+    private static double toMeters(double haversine) {
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    private record Location(UUID restaurantId, String name, String city, double latitude, double longitude,
+                            double cosLatitude, long geohash, long generation) {}
+
+    private record Candidate(Location location, double haversine) {}
+
+    private record Cursor(double haversine, UUID restaurantId) {
+
+        int compareTo(Candidate candidate) {
+            int byDistance = Double.compare(haversine, candidate.haversine());
+            return byDistance != 0 ? byDistance : restaurantId.compareTo(candidate.location().restaurantId());
+        }
+
+        String encode() {
+            String raw = Double.doubleToLongBits(haversine) + ":" + restaurantId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new Cursor(Double.longBitsToDouble(Long.parseLong(raw.substring(0, separator))),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException(cursor, e);
+            }
+        }
+    }
+}
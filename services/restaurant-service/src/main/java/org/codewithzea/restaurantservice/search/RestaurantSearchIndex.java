@@ -0,0 +1,456 @@
+package org.codewithzea.restaurantservice.search;
+
+import org.codewithzea.restaurantservice.exception.InvalidCursorException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over restaurant names, cities and menu item names/descriptions.
+ * <p>
+ * Every query term is matched exactly and as a prefix of an indexed term; longer terms that match
+ * nothing fall back to trigram similarity so that small typos still match. A short prefix can
+ * complete to many terms, so only the {@value #MAX_EXPANSIONS} completions found in the most
+ * restaurants are matched. A restaurant must match
+ * every query term; its score is the sum of the best field weight per term. Lookups only touch the
+ * postings of the query terms, so latency follows the number of candidates for the most selective
+ * term rather than the number of restaurants.
+ * <p>
+ * The index is kept up to date by {@link RestaurantSearchIndexer}.
+ */
+@Component
+public class RestaurantSearchIndex {
+
+    static final float NAME_WEIGHT = 3.0f;
+    static final float CITY_WEIGHT = 2.0f;
+    static final float MENU_NAME_WEIGHT = 1.0f;
+    static final float MENU_DESCRIPTION_WEIGHT = 0.5f;
+
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+    private static final float MIN_SIMILARITY = 0.35f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    static final int MAX_EXPANSIONS = 64;
+
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<UUID, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long generation;
+
+    public record MenuText(UUID menuItemId, String name, String description) {}
+
+    public record Hit(UUID restaurantId, String name, String city, float score) {}
+
+    public record Result(List<Hit> hits, String nextCursor) {}
+
+    /**
+     * Replaces everything known about a restaurant, including its menu.
+     */
+    public void indexRestaurant(UUID restaurantId, String name, String city, Collection<MenuText> menu) {
+        lock.writeLock().lock();
+        try {
+            Document document = new Document(name, city);
+            for (MenuText item : menu) {
+                document.menu.put(item.menuItemId(), item);
+            }
+            replace(restaurantId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the restaurant fields and keeps the already indexed menu.
+     */
+    public void updateRestaurant(UUID restaurantId, String name, String city) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(restaurantId);
+            Document document = new Document(name, city);
+            if (current != null) {
+                document.menu.putAll(current.menu);
+            }
+            replace(restaurantId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRestaurant(UUID restaurantId) {
+        lock.writeLock().lock();
+        try {
+            Document removed = documents.remove(restaurantId);
+            if (removed != null) {
+                removePostings(restaurantId, removed.terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a single menu item. Ignored when the restaurant is not indexed yet; the
+     * next rebuild picks it up together with the restaurant.
+     */
+    public void putMenuItem(UUID restaurantId, MenuText item) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(restaurantId);
+            if (current == null) {
+                return;
+            }
+            Document document = current.copy();
+            document.menu.put(item.menuItemId(), item);
+            replace(restaurantId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMenuItem(UUID restaurantId, UUID menuItemId) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(restaurantId);
+            if (current == null || !current.menu.containsKey(menuItemId)) {
+                return;
+            }
+            Document document = current.copy();
+            document.menu.remove(menuItemId);
+            replace(restaurantId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a full rebuild. Documents written from now on are stamped with the returned
+     * generation; {@link #completeRebuild(long)} drops the ones that were not.
+     */
+    public long beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            return ++generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeRebuild(long rebuildGeneration) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<UUID, Document>> iterator = documents.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, Document> entry = iterator.next();
+                if (entry.getValue().generation < rebuildGeneration) {
+                    removePostings(entry.getKey(), entry.getValue().terms);
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} hits ordered by score, continuing after {@code cursor} when
+     * one is given.
+     */
+    public Result search(String query, int limit, String cursor) {
+        Cursor after = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor) : null;
+        Comparator<Map.Entry<UUID, Float>> ranking = ranking();
+
+        // Min-heap of the best limit + 1 matches; the extra one tells us whether there is a next page
+        PriorityQueue<Map.Entry<UUID, Float>> best = new PriorityQueue<>(ranking.reversed());
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<UUID, Float> match : score(query).entrySet()) {
+                if (after != null && ranking.compare(match, Map.entry(after.restaurantId(), after.score())) <= 0) {
+                    continue;
+                }
+                best.offer(match);
+                if (best.size() > limit + 1) {
+                    best.poll();
+                }
+            }
+            List<Map.Entry<UUID, Float>> ordered = new ArrayList<>(best);
+            ordered.sort(ranking);
+            for (Map.Entry<UUID, Float> match : ordered.subList(0, Math.min(limit, ordered.size()))) {
+                Document document = documents.get(match.getKey());
+                hits.add(new Hit(match.getKey(), document.name, document.city, match.getValue()));
+            }
+            if (ordered.size() <= limit) {
+                return new Result(hits, null);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Hit last = hits.get(hits.size() - 1);
+        return new Result(hits, new Cursor(last.score(), last.restaurantId()).encode());
+    }
+
+    /**
+     * Returns the ids of every matching restaurant, best match first.
+     */
+    public List<UUID> rankedIds(String query) {
+        lock.readLock().lock();
+        try {
+            return score(query).entrySet().stream()
+                    .sorted(ranking())
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called with the read lock held
+    private Map<UUID, Float> score(String query) {
+        List<List<Expansion>> queryTerms = new ArrayList<>();
+        for (String queryTerm : new LinkedHashSet<>(tokenize(query))) {
+            List<Expansion> expansions = expand(queryTerm);
+            if (expansions.isEmpty()) {
+                return Map.of();
+            }
+            queryTerms.add(expansions);
+        }
+        if (queryTerms.isEmpty()) {
+            return Map.of();
+        }
+
+        // Start from the most selective term and only probe the others for its candidates,
+        // so the work is bounded by the smallest posting set rather than the largest
+        queryTerms.sort(Comparator.comparingInt(RestaurantSearchIndex::postingCount));
+        Map<UUID, Float> scores = new HashMap<>();
+        for (Expansion expansion : queryTerms.get(0)) {
+            expansion.posting().forEach((id, weight) -> scores.merge(id, weight * expansion.factor(), Math::max));
+        }
+        for (List<Expansion> expansions : queryTerms.subList(1, queryTerms.size())) {
+            Iterator<Map.Entry<UUID, Float>> iterator = scores.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, Float> entry = iterator.next();
+                float best = 0;
+                for (Expansion expansion : expansions) {
+                    Float weight = expansion.posting().get(entry.getKey());
+                    if (weight != null) {
+                        best = Math.max(best, weight * expansion.factor());
+                    }
+                }
+                if (best == 0) {
+                    iterator.remove();
+                } else {
+                    entry.setValue(entry.getValue() + best);
+                }
+            }
+        }
+        return scores;
+    }
+
+    // Exact and prefix matches first; trigram similarity only when neither finds anything
+    private List<Expansion> expand(String queryTerm) {
+        List<Expansion> expansions = new ArrayList<>();
+        Map<UUID, Float> exact = postings.get(queryTerm);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, 1.0f));
+        }
+        List<Map<UUID, Float>> completions =
+                new ArrayList<>(postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values());
+        if (completions.size() > MAX_EXPANSIONS) {
+            // Keep the completions found in the most restaurants; the sort is stable, so ties stay alphabetical
+            completions.sort(Comparator.comparingInt(Map<UUID, Float>::size).reversed());
+            completions = completions.subList(0, MAX_EXPANSIONS);
+        }
+        for (Map<UUID, Float> posting : completions) {
+            expansions.add(new Expansion(posting, PREFIX_FACTOR));
+        }
+        if (expansions.isEmpty() && queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            similarTerms(queryTerm).forEach((term, similarity) ->
+                    expansions.add(new Expansion(postings.get(term), FUZZY_FACTOR * similarity)));
+        }
+        return expansions;
+    }
+
+    private static int postingCount(List<Expansion> expansions) {
+        int count = 0;
+        for (Expansion expansion : expansions) {
+            count += expansion.posting().size();
+        }
+        return count;
+    }
+
+    private Map<String, Float> similarTerms(String queryTerm) {
+        Set<String> queryGrams = trigramsOf(queryTerm);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            for (String term : trigrams.getOrDefault(gram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        Map<String, Float> similar = new HashMap<>();
+        shared.forEach((term, common) -> {
+            if (term.equals(queryTerm) || term.startsWith(queryTerm)) {
+                return;
+            }
+            // A padded term has length + 1 trigrams, give or take the odd repeat
+            int union = queryGrams.size() + term.length() + 1 - common;
+            float similarity = (float) common / union;
+            if (similarity >= MIN_SIMILARITY) {
+                similar.put(term, similarity);
+            }
+        });
+        return similar;
+    }
+
+    // Must be called with the write lock held
+    private void replace(UUID restaurantId, Document document) {
+        Document previous = documents.put(restaurantId, document);
+        if (previous != null) {
+            removePostings(restaurantId, previous.terms);
+        }
+        document.generation = generation;
+        document.terms = terms(document);
+        document.terms.forEach((term, weight) -> {
+            postings.computeIfAbsent(term, t -> {
+                for (String gram : trigramsOf(t)) {
+                    trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(t);
+                }
+                return new HashMap<>();
+            }).put(restaurantId, weight);
+        });
+    }
+
+    private void removePostings(UUID restaurantId, Map<String, Float> terms) {
+        for (String term : terms.keySet()) {
+            Map<UUID, Float> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(restaurantId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String gram : trigramsOf(term)) {
+                    Set<String> gramTerms = trigrams.get(gram);
+                    if (gramTerms != null && gramTerms.remove(term) && gramTerms.isEmpty()) {
+                        trigrams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    // A term that appears in several fields adds up each field weight once
+    private static Map<String, Float> terms(Document document) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, tokenize(document.name), NAME_WEIGHT);
+        addField(terms, tokenize(document.city), CITY_WEIGHT);
+        Set<String> menuNames = new HashSet<>();
+        Set<String> menuDescriptions = new HashSet<>();
+        for (MenuText item : document.menu.values()) {
+            menuNames.addAll(tokenize(item.name()));
+            menuDescriptions.addAll(tokenize(item.description()));
+        }
+        addField(terms, menuNames, MENU_NAME_WEIGHT);
+        addField(terms, menuDescriptions, MENU_DESCRIPTION_WEIGHT);
+        return terms;
+    }
+
+    private static void addField(Map<String, Float> terms, Collection<String> tokens, float weight) {
+        for (String token : new HashSet<>(tokens)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigramsOf(String term) {
+        String padded = "  " + term + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static Comparator<Map.Entry<UUID, Float>> ranking() {
+        return Map.Entry.<UUID, Float>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String city;
+        private final Map<UUID, MenuText> menu = new HashMap<>();
+        private Map<String, Float> terms = Map.of();
+        private long generation;
+
+        private Document(String name, String city) {
+            this.name = name;
+            this.city = city;
+        }
+
+        private Document copy() {
+            Document copy = new Document(name, city);
+            copy.menu.putAll(menu);
+            return copy;
+        }
+    }
+
+    private record Expansion(Map<UUID, Float> posting, float factor) {}
+
+    private record Cursor(float score, UUID restaurantId) {
+
+        String encode() {
+            String raw = Float.floatToIntBits(score) + ":" + restaurantId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new Cursor(Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator))),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException(cursor, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.codewithzea.restaurantservice.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.codewithzea.restaurantservice.event.MenuEvent;
+import org.codewithzea.restaurantservice.event.MenuImportedEvent;
+import org.codewithzea.restaurantservice.event.RestaurantEvent;
+import org.codewithzea.restaurantservice.model.Address;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.codewithzea.restaurantservice.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps {@link RestaurantSearchIndex} and {@link RestaurantGeoIndex} in line with the database.
+ * <p>
+ * Local writes are applied as soon as their transaction commits. Writes made on other nodes are
+ * picked up by the periodic full rebuild, which also runs once before the node reports ready.
+ */
+@Component
+public class RestaurantSearchIndexer {
+    private static final Logger log = LoggerFactory.getLogger(RestaurantSearchIndexer.class);
+    // Postgres compares uuids bytewise, so no id sorts below this one
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantGeoIndex geoIndex;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final Timer rebuildTimer;
+
+    @Value("${restaurant.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    public RestaurantSearchIndexer(RestaurantSearchIndex searchIndex,
+                                   RestaurantGeoIndex geoIndex,
+                                   RestaurantRepository restaurantRepository,
+                                   MenuItemRepository menuItemRepository,
+                                   MeterRegistry meterRegistry) {
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.rebuildTimer = Timer.builder("restaurant.search.rebuild.time")
+                .description("Time taken to rebuild the restaurant search index")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.search.index.documents", searchIndex, RestaurantSearchIndex::size)
+                .description("Restaurants in the search index")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.search.index.terms", searchIndex, RestaurantSearchIndex::termCount)
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.geo.index.restaurants", geoIndex, RestaurantGeoIndex::size)
+                .description("Restaurants with a location in the geo index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildQuietly();
+    }
+
+    @Scheduled(initialDelayString = "${restaurant.search.rebuild-interval:PT10M}",
+            fixedDelayString = "${restaurant.search.rebuild-interval:PT10M}")
+    public void scheduledRebuild() {
+        rebuildQuietly();
+    }
+
+    public void rebuild() {
+        rebuildTimer.record(() -> {
+            long generation = searchIndex.beginRebuild();
+            long geoGeneration = geoIndex.beginRebuild();
+            // Keyset pages stay as cheap at the end of the table as at the start and need no count
+            UUID lastId = FIRST_ID;
+            List<Restaurant> restaurants;
+            do {
+                restaurants = restaurantRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildBatchSize));
+                indexBatch(restaurants);
+                if (!restaurants.isEmpty()) {
+                    lastId = restaurants.get(restaurants.size() - 1).getId();
+                }
+            } while (restaurants.size() == rebuildBatchSize);
+            searchIndex.completeRebuild(generation);
+            geoIndex.completeRebuild(geoGeneration);
+        });
+        log.info("Rebuilt restaurant search index with {} restaurants, {} located", searchIndex.size(), geoIndex.size());
+    }
+
+    // A failed rebuild leaves the previous index in place until the next attempt
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild restaurant search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantEvent(RestaurantEvent event) {
+        switch (event.getEventType()) {
+            case CREATED, UPDATED -> {
+                Restaurant restaurant = event.getRestaurant();
+                searchIndex.updateRestaurant(restaurant.getId(), restaurant.getName(), city(restaurant));
+                indexLocation(restaurant);
+            }
+            case DELETED -> {
+                searchIndex.removeRestaurant(event.getRestaurantId());
+                geoIndex.remove(event.getRestaurantId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuEvent(MenuEvent event) {
+        switch (event.getEventType()) {
+            case CREATED, UPDATED -> searchIndex.putMenuItem(event.getRestaurantId(), menuText(event.getMenuItem()));
+            case DELETED -> searchIndex.removeMenuItem(event.getRestaurantId(), event.getMenuItemId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuImported(MenuImportedEvent event) {
+        event.getMenuItems().forEach(menuItem -> searchIndex.putMenuItem(event.getRestaurantId(), menuText(menuItem)));
+    }
+
+    private void indexBatch(List<Restaurant> restaurants) {
+        if (restaurants.isEmpty()) {
+            return;
+        }
+        List<UUID> restaurantIds = restaurants.stream().map(Restaurant::getId).toList();
+        Map<UUID, List<RestaurantSearchIndex.MenuText>> menus = new HashMap<>();
+        for (MenuItem menuItem : menuItemRepository.findByRestaurantIdInWithCategories(restaurantIds)) {
+            menus.computeIfAbsent(menuItem.getRestaurant().getId(), id -> new ArrayList<>())
+                    .add(menuText(menuItem));
+        }
+        for (Restaurant restaurant : restaurants) {
+            searchIndex.indexRestaurant(restaurant.getId(), restaurant.getName(), city(restaurant),
+                    menus.getOrDefault(restaurant.getId(), List.of()));
+            indexLocation(restaurant);
+        }
+    }
+
+    // A restaurant whose coordinates were cleared drops out of the geo index
+    private void indexLocation(Restaurant restaurant) {
+        Address address = restaurant.getAddress();
+        if (address != null && address.getLatitude() != null && address.getLongitude() != null) {
+            geoIndex.put(restaurant.getId(), restaurant.getName(), address.getCity(),
+                    address.getLatitude(), address.getLongitude());
+        } else {
+            geoIndex.remove(restaurant.getId());
+        }
+    }
+
+    private static RestaurantSearchIndex.MenuText menuText(MenuItem menuItem) {
+        return new RestaurantSearchIndex.MenuText(menuItem.getId(), menuItem.getName(), menuItem.getDescription());
+    }
+
+    private static String city(Restaurant restaurant) {
+        return restaurant.getAddress() != null ? restaurant.getAddress().getCity() : null;
+    }
+}
@@ -27,6 +27,7 @@ public class RestaurantSecurityConfig {
                         .requestMatchers(
                                 "/api/restaurants",
                                 "/api/restaurants/**",
+                                "/api/menu-items/batch",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -1,26 +1,45 @@
 package org.codewithzea.restaurantservice.service;
 
+import org.codewithzea.restaurantservice.config.AsyncConfig;
+import org.codewithzea.restaurantservice.dto.request.RestaurantBatchUpdateItem;
 import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResult;
 import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class AsyncRestaurantService {
     private static final Logger log = LoggerFactory.getLogger(AsyncRestaurantService.class);
 
     private final RestaurantService restaurantService;
+    private final Executor batchUpdateExecutor;
+    private final int chunkSize;
 
-    public AsyncRestaurantService(RestaurantService restaurantService) {
+    public AsyncRestaurantService(RestaurantService restaurantService,
+                                  @Qualifier(AsyncConfig.BATCH_UPDATE_EXECUTOR) Executor batchUpdateExecutor,
+                                  @Value("${restaurant.batch.chunk-size:500}") int chunkSize) {
         this.restaurantService = restaurantService;
+        this.batchUpdateExecutor = batchUpdateExecutor;
+        this.chunkSize = chunkSize;
     }
 
     @Async
@@ -47,7 +66,7 @@ public class AsyncRestaurantService {
     }
 
     @Async
-    public CompletableFuture<Void> updateRestaurantAsync(UUID id, RestaurantRequest request) {
+    public CompletableFuture<Void> updateRestaurantAsync(UUID id, RestaurantRequest request, Set<Long> expectedVersions) {
         MDC.put("operation", "asyncUpdateRestaurant");
         MDC.put("restaurantId", id.toString());
         StopWatch stopWatch = new StopWatch();
@@ -56,7 +75,7 @@ public class AsyncRestaurantService {
         log.info("Starting async restaurant update for {}", request.name());
 
         try {
-            restaurantService.updateRestaurant(id, request);
+            restaurantService.updateRestaurant(id, request, expectedVersions);
             log.debug("Successfully completed async update");
             return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
@@ -69,35 +88,97 @@ public class AsyncRestaurantService {
         }
     }
 
+    /**
+     * Splits the batch into chunks that are applied in parallel on the batch executor, each in its
+     * own transaction, so a large batch neither holds locks for long nor takes more connections
+     * than the executor allows. Every item gets a result, in request order; a chunk that fails on
+     * commit is retried one item per transaction, so only the items that fail again are reported.
+     */
     @Async
-    public CompletableFuture<Void> processBatchUpdateAsync(List<RestaurantUpdateTask> tasks) {
+    public CompletableFuture<RestaurantBatchUpdateResponse> processBatchUpdateAsync(List<RestaurantBatchUpdateItem> items) {
         MDC.put("operation", "batchUpdateRestaurants");
-        MDC.put("batchSize", String.valueOf(tasks.size()));
+        MDC.put("batchSize", String.valueOf(items.size()));
         StopWatch batchStopWatch = new StopWatch();
         batchStopWatch.start();
 
-        log.info("Starting batch update of {} restaurants", tasks.size());
+        log.info("Starting batch update of {} restaurants", items.size());
 
         try {
-            List<CompletableFuture<Void>> futures = tasks.stream()
-                    .map(task -> {
-                        MDC.put("currentRestaurantId", task.id().toString());
-                        log.debug("Processing update for restaurant {}", task.id());
-                        return updateRestaurantAsync(task.id(), task.request())
-                                .exceptionally(e -> {
-                                    log.warn("Failed to update restaurant {}: {}", task.id(), e.getMessage());
-                                    return null;
-                                });
-                    })
-                    .toList();
-
-            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+            RestaurantBatchUpdateResult[] results = new RestaurantBatchUpdateResult[items.size()];
+            List<Integer> pending = rejectDuplicates(items, results);
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+                futures.add(CompletableFuture.runAsync(() -> applyChunk(items, chunk, results), batchUpdateExecutor));
+            }
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(ignored -> RestaurantBatchUpdateResponse.of(Arrays.asList(results)))
+                    .whenComplete((response, ex) -> {
+                        batchStopWatch.stop();
+                        log.info("Batch update of {} restaurants completed in {} ms",
+                                items.size(), batchStopWatch.getTotalTimeMillis());
+                    });
         } finally {
-            batchStopWatch.stop();
-            log.info("Batch update completed in {} ms", batchStopWatch.getTotalTimeMillis());
             MDC.clear();
         }
     }
 
-    public record RestaurantUpdateTask(UUID id, RestaurantRequest request) {}
-}
\ No newline at end of file
+    private void applyChunk(List<RestaurantBatchUpdateItem> items, List<Integer> chunk,
+                            RestaurantBatchUpdateResult[] results) {
+        log.debug("Applying chunk of {} restaurant updates", chunk.size());
+        try {
+            List<RestaurantBatchUpdateResult> chunkResults = restaurantService.applyBatchUpdate(
+                    chunk.stream().map(items::get).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = chunkResults.get(i);
+            }
+        } catch (Exception e) {
+            if (chunk.size() > 1) {
+                // The rollback took the whole chunk with it; one transaction per item finds the culprit
+                log.warn("Chunk of {} restaurant updates rolled back, applying its items one at a time: {}",
+                        chunk.size(), e.getMessage());
+                chunk.forEach(index -> applyChunk(items, List.of(index), results));
+            } else if (e instanceof OptimisticLockingFailureException || e instanceof DataIntegrityViolationException) {
+                log.warn("Restaurant update rolled back on a concurrent change or constraint violation: {}",
+                        e.getMessage());
+                fail(items, chunk, results, RestaurantBatchUpdateResult.Status.CONFLICT,
+                        "Conflicting change: the restaurant or its email was updated concurrently");
+            } else {
+                log.error("Restaurant update failed: {}", e.getMessage(), e);
+                fail(items, chunk, results, RestaurantBatchUpdateResult.Status.FAILED,
+                        "Update failed and was rolled back");
+            }
+        }
+    }
+
+    // Only the first occurrence of a restaurant or of a target email is applied
+    private static List<Integer> rejectDuplicates(List<RestaurantBatchUpdateItem> items,
+                                                  RestaurantBatchUpdateResult[] results) {
+        Set<UUID> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Integer> pending = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            RestaurantBatchUpdateItem item = items.get(i);
+            if (!ids.add(item.id())) {
+                results[i] = RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.CONFLICT,
+                        "Restaurant appears more than once in the batch");
+            } else if (!emails.add(item.restaurant().email())) {
+                results[i] = RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.CONFLICT,
+                        "Email is used by another restaurant in the batch");
+            } else {
+                pending.add(i);
+            }
+        }
+        return pending;
+    }
+
+    private static void fail(List<RestaurantBatchUpdateItem> items, List<Integer> chunk,
+                             RestaurantBatchUpdateResult[] results,
+                             RestaurantBatchUpdateResult.Status status, String message) {
+        for (int index : chunk) {
+            results[index] = RestaurantBatchUpdateResult.of(items.get(index).id(), status, message);
+        }
+    }
+}
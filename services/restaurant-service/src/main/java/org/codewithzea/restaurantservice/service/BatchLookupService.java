@@ -0,0 +1,171 @@
+package org.codewithzea.restaurantservice.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.codewithzea.restaurantservice.cache.CacheMultiGet;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.config.AsyncConfig;
+import org.codewithzea.restaurantservice.dto.response.BatchLookupResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Resolves many restaurants or menu items per request, so clients can replace one call per id
+ * with a single batch.
+ * <p>
+ * Restaurants come from the {@code restaurants} cache through one multi-get; the misses are loaded
+ * with one restaurant query and one menu query and written back in the background, unless an
+ * update recorded in {@link ResourceVersions} has made them stale by then. Write-backs run on
+ * their own executor, which drops them when it falls behind. Menu items are loaded with their
+ * categories in one {@code IN} query.
+ */
+@Service
+public class BatchLookupService {
+    private static final Logger log = LoggerFactory.getLogger(BatchLookupService.class);
+
+    static final String RESTAURANTS = "restaurants";
+
+    private final CacheMultiGet cacheMultiGet;
+    private final CacheManager cacheManager;
+    private final RestaurantService restaurantService;
+    private final MenuItemRepository menuItemRepository;
+    private final ResourceVersions resourceVersions;
+    private final Executor executor;
+
+    public BatchLookupService(CacheMultiGet cacheMultiGet,
+                              CacheManager cacheManager,
+                              RestaurantService restaurantService,
+                              MenuItemRepository menuItemRepository,
+                              ResourceVersions resourceVersions,
+                              @Qualifier(AsyncConfig.CACHE_WRITE_BACK_EXECUTOR) Executor executor) {
+        this.cacheMultiGet = cacheMultiGet;
+        this.cacheManager = cacheManager;
+        this.restaurantService = restaurantService;
+        this.menuItemRepository = menuItemRepository;
+        this.resourceVersions = resourceVersions;
+        this.executor = executor;
+    }
+
+    @Timed(value = "restaurant.service.time", description = "Time taken to look up restaurants in batch")
+    public BatchLookupResponse<RestaurantResponse> getRestaurants(List<UUID> ids) {
+        MDC.put("operation", "getRestaurantsBatch");
+        log.info("Looking up {} restaurants", ids.size());
+
+        try {
+            List<UUID> distinctIds = ids.stream().distinct().toList();
+            Map<UUID, RestaurantResponse> found = new HashMap<>(
+                    cacheMultiGet.getAll(RESTAURANTS, distinctIds, RestaurantResponse.class));
+            List<UUID> misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+            if (!misses.isEmpty()) {
+                List<RestaurantResponse> loaded = restaurantService.getRestaurantsByIds(misses);
+                loaded.forEach(restaurant -> found.put(UUID.fromString(restaurant.id()), restaurant));
+                cacheInBackground(loaded);
+            }
+            log.debug("Resolved {} of {} restaurants, {} from cache",
+                    found.size(), distinctIds.size(), distinctIds.size() - misses.size());
+            return response(distinctIds, found, Function.identity());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Timed(value = "restaurant.service.time", description = "Time taken to look up menu items in batch")
+    @Transactional(readOnly = true)
+    public BatchLookupResponse<MenuItemResponse> getMenuItems(List<UUID> ids) {
+        MDC.put("operation", "getMenuItemsBatch");
+        log.info("Looking up {} menu items", ids.size());
+
+        try {
+            List<UUID> distinctIds = ids.stream().distinct().toList();
+            Map<UUID, MenuItem> found = new HashMap<>();
+            for (MenuItem menuItem : menuItemRepository.findByIdInWithCategories(distinctIds)) {
+                found.put(menuItem.getId(), menuItem);
+            }
+            log.debug("Resolved {} of {} menu items", found.size(), distinctIds.size());
+            return response(distinctIds, found, this::mapToResponse);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    // Entries another request cached in the meantime are kept. An update can commit and evict
+    // between the load and the write-back, so a row older than the recorded updatedAt is not
+    // cached, and one that became stale while it was written is evicted again.
+    private void cacheInBackground(List<RestaurantResponse> restaurants) {
+        Cache cache = cacheManager.getCache(RESTAURANTS);
+        if (cache == null || restaurants.isEmpty()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+                    List<RestaurantResponse> current = unchanged(restaurants);
+                    current.forEach(restaurant -> cache.putIfAbsent(UUID.fromString(restaurant.id()), restaurant));
+                    List<RestaurantResponse> unchanged = unchanged(current);
+                    current.stream()
+                            .filter(restaurant -> !unchanged.contains(restaurant))
+                            .forEach(restaurant -> cache.evict(UUID.fromString(restaurant.id())));
+                }, executor)
+                .exceptionally(e -> {
+                    log.warn("Failed to cache {} looked up restaurants: {}", restaurants.size(), e.getMessage());
+                    return null;
+                });
+    }
+
+    private List<RestaurantResponse> unchanged(List<RestaurantResponse> restaurants) {
+        if (restaurants.isEmpty()) {
+            return restaurants;
+        }
+        Map<UUID, Long> updatedAts = resourceVersions.restaurantUpdatedAts(
+                restaurants.stream().map(restaurant -> UUID.fromString(restaurant.id())).toList());
+        return restaurants.stream()
+                .filter(restaurant -> {
+                    Long updatedAt = updatedAts.get(UUID.fromString(restaurant.id()));
+                    return updatedAt == null || (restaurant.updatedAt() != null
+                            && updatedAt <= ResourceVersions.toEpochMilli(restaurant.updatedAt()));
+                })
+                .toList();
+    }
+
+    private static <E, T> BatchLookupResponse<T> response(List<UUID> ids, Map<UUID, E> found, Function<E, T> mapper) {
+        Map<String, T> results = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            E value = found.get(id);
+            if (value != null) {
+                results.put(id.toString(), mapper.apply(value));
+            } else {
+                missing.add(id.toString());
+            }
+        }
+        return new BatchLookupResponse<>(results, missing);
+    }
+
+    private MenuItemResponse mapToResponse(MenuItem menuItem) {
+        return new MenuItemResponse(
+                menuItem.getId().toString(),
+                menuItem.getName(),
+                menuItem.getDescription(),
+                menuItem.getPrice(),
+                menuItem.getCategory() != null ? menuItem.getCategory().getName() : null,
+                menuItem.getVersion()
+        );
+    }
+}
@@ -0,0 +1,180 @@
+package org.codewithzea.restaurantservice.service;
+
+import org.codewithzea.restaurantservice.dto.request.MenuItemRequest;
+import org.codewithzea.restaurantservice.exception.MenuValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads menu items from RFC 4180 CSV with a header row naming the {@code name}, {@code price}
+ * and optional {@code description} columns, in any order.
+ * <p>
+ * The input is consumed record by record and parsing stops as soon as {@code maxItems} is
+ * exceeded, or a field or record grows past {@value #MAX_FIELD_LENGTH} or
+ * {@value #MAX_RECORD_LENGTH} characters, so an oversized upload or a runaway quoted field is
+ * rejected without being read in full. A leading byte order mark, as spreadsheet exports often
+ * write, is skipped.
+ */
+public final class MenuCsvParser {
+
+    // Well above the column limits of MenuItemRequest, so those still report the precise violation
+    static final int MAX_FIELD_LENGTH = 1_024;
+    static final int MAX_RECORD_LENGTH = 4_096;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+    private int next = -2;
+
+    private MenuCsvParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static List<MenuItemRequest> parse(Reader reader, int maxItems) {
+        return new MenuCsvParser(reader).parse(maxItems);
+    }
+
+    private List<MenuItemRequest> parse(int maxItems) {
+        if (peek() == BYTE_ORDER_MARK) {
+            read();
+        }
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new MenuValidationException("CSV import is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Integer nameColumn = columns.get("name");
+        Integer priceColumn = columns.get("price");
+        Integer descriptionColumn = columns.get("description");
+        if (nameColumn == null || priceColumn == null) {
+            throw new MenuValidationException("CSV header must contain 'name' and 'price' columns");
+        }
+
+        List<MenuItemRequest> items = new ArrayList<>();
+        List<String> record;
+        while ((record = readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (items.size() == maxItems) {
+                throw new MenuValidationException("Import cannot exceed " + maxItems + " menu items");
+            }
+            items.add(new MenuItemRequest(
+                    field(record, nameColumn),
+                    field(record, descriptionColumn),
+                    price(field(record, priceColumn))));
+        }
+        return items;
+    }
+
+    private BigDecimal price(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new MenuValidationException("Invalid price '" + value + "' on CSV line " + recordLine);
+        }
+    }
+
+    private static String field(List<String> record, Integer column) {
+        if (column == null || column >= record.size()) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    // Returns the next record, or null at end of input; quoted fields may contain commas, quotes and newlines
+    private List<String> readRecord() {
+        recordLine = line;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new MenuValidationException("CSV record on line " + recordLine + " exceeds "
+                        + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new MenuValidationException("Unterminated quoted field on CSV line " + line);
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c != -1) {
+                    line++;
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+    }
+
+    private void append(StringBuilder field, int c) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new MenuValidationException("CSV field on line " + recordLine + " exceeds "
+                    + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private int read() {
+        int c = peek();
+        next = -2;
+        return c;
+    }
+
+    private int peek() {
+        if (next == -2) {
+            try {
+                next = reader.read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next;
+    }
+}
@@ -1,27 +1,36 @@
 package org.codewithzea.restaurantservice.service;
 
 import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.changelog.MenuChangeLog;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.dto.request.MenuImportRequest;
 import org.codewithzea.restaurantservice.dto.request.MenuItemRequest;
+import org.codewithzea.restaurantservice.dto.response.MenuImportResponse;
 import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
 import org.codewithzea.restaurantservice.event.MenuEventPublisher;
 import org.codewithzea.restaurantservice.exception.*;
+import org.codewithzea.restaurantservice.model.MenuChangeType;
 import org.codewithzea.restaurantservice.model.MenuItem;
 import org.codewithzea.restaurantservice.model.Restaurant;
 import org.codewithzea.restaurantservice.repository.MenuItemRepository;
 import org.codewithzea.restaurantservice.repository.RestaurantRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Reader;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -34,8 +43,10 @@ public class MenuService {
     private final RestaurantRepository restaurantRepository;
     private final MenuEventPublisher eventPublisher;
     private final MenuItemCacheService menuItemCacheService;
+    private final Validator validator;
+    private final ResourceVersions resourceVersions;
+    private final MenuChangeLog menuChangeLog;
 
-    @CacheEvict(value = {"menuItems", "menuItemsPaginated", "restaurants"}, key = "#restaurantId")
     @Transactional
     @Retryable(value = {OptimisticLockingFailureException.class},
             backoff = @Backoff(delay = 100))
@@ -64,7 +75,10 @@ public class MenuService {
             MenuItem savedItem = menuItemRepository.save(menuItem);
 
             log.info("Successfully created menu item with ID: {}", savedItem.getId());
+            menuChangeLog.recordUpserts(restaurantId, MenuChangeType.CREATED, List.of(savedItem));
             eventPublisher.publishMenuItemCreatedEvent(savedItem);
+            // Registered after the event so the caches are patched before clients see the new version
+            resourceVersions.bumpMenuAfterCommit(restaurantId);
             log.debug("Published menu item created event");
 
             return mapToResponse(savedItem);
@@ -76,9 +90,71 @@ public class MenuService {
         }
     }
 
-    @CacheEvict(value = {"menuItems", "menuItemsPaginated", "restaurants"}, key = "#restaurantId")
+    /**
+     * Adds all items in one transaction: the request is validated and ownership checked once, the
+     * inserts go out in JDBC batches and a single {@link org.codewithzea.restaurantservice.event.MenuImportedEvent}
+     * is published. Any invalid item rejects the whole import.
+     */
     @Transactional
-    public MenuItemResponse updateMenuItem(UUID restaurantId, UUID itemId, MenuItemRequest request) {
+    public MenuImportResponse importMenu(UUID restaurantId, MenuImportRequest request) {
+        MDC.put("restaurantId", restaurantId.toString());
+        log.info("Attempting to import menu items to restaurant");
+
+        try {
+            Set<ConstraintViolation<MenuImportRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                log.warn("Menu import rejected with {} violations", violations.size());
+                throw new MenuValidationException("Menu import contains invalid items", violations);
+            }
+
+            Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                    .orElseThrow(() -> {
+                        log.warn("Restaurant not found with ID: {}", restaurantId);
+                        return new RestaurantNotFoundException(restaurantId);
+                    });
+
+            verifyOwnership(restaurant);
+
+            List<MenuItem> menuItems = request.items().stream()
+                    .map(item -> MenuItem.builder()
+                            .name(item.name())
+                            .description(item.description())
+                            .price(item.price())
+                            .restaurant(restaurant)
+                            .build())
+                    .toList();
+
+            // One flush for the whole import lets Hibernate group the inserts by hibernate.jdbc.batch_size
+            List<MenuItem> savedItems = menuItemRepository.saveAll(menuItems);
+            log.info("Successfully imported {} menu items", savedItems.size());
+            menuChangeLog.recordUpserts(restaurantId, MenuChangeType.CREATED, savedItems);
+
+            eventPublisher.publishMenuImportedEvent(restaurantId, savedItems);
+            resourceVersions.bumpMenuAfterCommit(restaurantId);
+            log.debug("Published menu imported event");
+
+            return new MenuImportResponse(restaurantId.toString(), savedItems.size(),
+                    savedItems.stream().map(this::mapToResponse).toList());
+        } catch (Exception e) {
+            log.error("Failed to import menu to restaurant {}: {}", restaurantId, e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Transactional
+    public MenuImportResponse importMenuCsv(UUID restaurantId, Reader csv) {
+        return importMenu(restaurantId, new MenuImportRequest(MenuCsvParser.parse(csv, MenuImportRequest.MAX_ITEMS)));
+    }
+
+    /**
+     * Applies the update if the item is still at one of {@code expectedVersions}; null skips the check.
+     * Concurrent writers are caught by the {@code @Version} check when the update is flushed.
+     */
+    @Transactional
+    public MenuItemResponse updateMenuItem(UUID restaurantId, UUID itemId, MenuItemRequest request,
+                                           Set<Long> expectedVersions) {
         MDC.put("restaurantId", restaurantId.toString());
         MDC.put("menuItemId", itemId.toString());
         log.info("Attempting to update menu item");
@@ -97,15 +173,25 @@ public class MenuService {
 
             verifyOwnership(menuItem.getRestaurant());
 
+            if (expectedVersions != null && !expectedVersions.contains(menuItem.getVersion())) {
+                log.warn("Menu item {} is at version {}, client expected {}",
+                        itemId, menuItem.getVersion(), expectedVersions);
+                throw new PreconditionFailedException("Menu item", itemId, expectedVersions, menuItem.getVersion());
+            }
+
             log.debug("Updating menu item from: {} to: {}", menuItem, request);
             menuItem.setName(request.name());
             menuItem.setDescription(request.description());
             menuItem.setPrice(request.price());
 
             MenuItem updatedItem = menuItemRepository.save(menuItem);
+            // Flushed here so the response carries the incremented version
+            menuItemRepository.flush();
             log.info("Successfully updated menu item with ID: {}", itemId);
+            menuChangeLog.recordUpserts(restaurantId, MenuChangeType.UPDATED, List.of(updatedItem));
 
             eventPublisher.publishMenuItemUpdatedEvent(updatedItem);
+            resourceVersions.bumpMenuAfterCommit(restaurantId);
             log.debug("Published menu item updated event");
 
             return mapToResponse(updatedItem);
@@ -117,7 +203,6 @@ public class MenuService {
         }
     }
 
-    @CacheEvict(value = {"menuItems", "menuItemsPaginated", "restaurants"}, key = "#restaurantId")
     @Transactional
     public void deleteMenuItem(UUID restaurantId, UUID itemId) {
         MDC.put("restaurantId", restaurantId.toString());
@@ -140,8 +225,10 @@ public class MenuService {
 
             menuItemRepository.delete(menuItem);
             log.info("Successfully deleted menu item with ID: {}", itemId);
+            menuChangeLog.recordDeleted(restaurantId, itemId);
 
             eventPublisher.publishMenuItemDeletedEvent(itemId, restaurantId);
+            resourceVersions.bumpMenuAfterCommit(restaurantId);
             log.debug("Published menu item deleted event");
         } catch (Exception e) {
             log.error("Failed to delete menu item {}: {}", itemId, e.getMessage(), e);
@@ -151,23 +238,22 @@ public class MenuService {
         }
     }
 
+    @Async
     @Transactional(readOnly = true)
     public CompletableFuture<List<MenuItemResponse>> getMenuItemsAsync(UUID restaurantId) {
         MDC.put("restaurantId", restaurantId.toString());
         log.info("Fetching menu items asynchronously for restaurant");
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                List<MenuItemResponse> items = menuItemCacheService.getMenuItems(restaurantId);
-                log.debug("Retrieved {} menu items for restaurant {}", items.size(), restaurantId);
-                return items;
-            } catch (Exception e) {
-                log.error("Failed to fetch menu items for restaurant {}: {}", restaurantId, e.getMessage(), e);
-                throw e;
-            } finally {
-                MDC.clear();
-            }
-        });
+        try {
+            List<MenuItemResponse> items = menuItemCacheService.getMenuItems(restaurantId);
+            log.debug("Retrieved {} menu items for restaurant {}", items.size(), restaurantId);
+            return CompletableFuture.completedFuture(items);
+        } catch (Exception e) {
+            log.error("Failed to fetch menu items for restaurant {}: {}", restaurantId, e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
     }
 
     private void verifyOwnership(Restaurant restaurant) {
@@ -188,7 +274,8 @@ public class MenuService {
                 menuItem.getName(),
                 menuItem.getDescription(),
                 menuItem.getPrice(),
-                menuItem.getCategory() != null ? menuItem.getCategory().getName() : null
+                menuItem.getCategory() != null ? menuItem.getCategory().getName() : null,
+                menuItem.getVersion()
         );
     }
 }
\ No newline at end of file
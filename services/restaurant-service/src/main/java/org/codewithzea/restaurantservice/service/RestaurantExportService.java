@@ -0,0 +1,119 @@
+package org.codewithzea.restaurantservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams the whole catalogue as NDJSON, one restaurant with its menu per line.
+ * <p>
+ * Restaurants are read through a forward-only cursor and handled in chunks of {@code fetch-size}:
+ * the chunk's menus are loaded with one query, each restaurant is written and then detached
+ * together with its menu, so memory stays flat regardless of catalogue size.
+ */
+@Service
+public class RestaurantExportService {
+    private static final Logger log = LoggerFactory.getLogger(RestaurantExportService.class);
+
+    private final EntityManager entityManager;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantService restaurantService;
+    private final MenuItemCacheService menuItemCacheService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    @Value("${restaurant.export.fetch-size:200}")
+    private int fetchSize;
+
+    public RestaurantExportService(EntityManager entityManager,
+                                   MenuItemRepository menuItemRepository,
+                                   RestaurantService restaurantService,
+                                   MenuItemCacheService menuItemCacheService,
+                                   ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantService = restaurantService;
+        this.menuItemCacheService = menuItemCacheService;
+        this.objectMapper = objectMapper;
+        // Flushed once per chunk rather than after every line
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every restaurant to {@code out} and returns how many were written. The stream is
+     * flushed after each chunk but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long exportCatalogue(OutputStream out) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        long exported = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             ScrollableResults<Restaurant> restaurants = session
+                     .createSelectionQuery("from Restaurant r order by r.id", Restaurant.class)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .setCacheMode(CacheMode.IGNORE)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            List<Restaurant> chunk = new ArrayList<>(fetchSize);
+            while (restaurants.next()) {
+                chunk.add(restaurants.get());
+                if (chunk.size() == fetchSize) {
+                    exported += writeChunk(session, chunk, generator);
+                }
+            }
+            exported += writeChunk(session, chunk, generator);
+        }
+        log.debug("Wrote {} restaurants to the export stream", exported);
+        return exported;
+    }
+
+    private int writeChunk(Session session, List<Restaurant> chunk, JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, List<MenuItem>> menus = new HashMap<>();
+        List<UUID> restaurantIds = chunk.stream().map(Restaurant::getId).toList();
+        for (MenuItem menuItem : menuItemRepository.findByRestaurantIdInWithCategories(restaurantIds)) {
+            menus.computeIfAbsent(menuItem.getRestaurant().getId(), id -> new ArrayList<>()).add(menuItem);
+        }
+
+        for (Restaurant restaurant : chunk) {
+            List<MenuItem> menu = menus.getOrDefault(restaurant.getId(), List.of());
+            List<MenuItemResponse> menuItems = menu.stream().map(menuItemCacheService::mapToResponse).toList();
+            lineWriter.writeValue(generator, restaurantService.mapToResponse(restaurant, menuItems));
+            generator.writeRaw('\n');
+            menu.forEach(session::detach);
+            session.detach(restaurant);
+        }
+        generator.flush();
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+}
@@ -1,36 +1,66 @@
 package org.codewithzea.restaurantservice.service;
 
 import io.micrometer.core.annotation.Timed;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
 import org.codewithzea.restaurantservice.dto.request.AddressRequest;
+import org.codewithzea.restaurantservice.dto.request.RestaurantBatchUpdateItem;
 import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
 import org.codewithzea.restaurantservice.dto.response.AddressResponse;
+import org.codewithzea.restaurantservice.dto.response.CursorPage;
 import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResult;
+import org.codewithzea.restaurantservice.dto.response.RestaurantNearbyHit;
+import org.codewithzea.restaurantservice.dto.response.RestaurantNearbyResponse;
 import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSearchHit;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSearchResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSummaryResponse;
 import org.codewithzea.restaurantservice.event.RestaurantEventPublisher;
 import org.codewithzea.restaurantservice.exception.*;
 import org.codewithzea.restaurantservice.model.*;
+import org.codewithzea.restaurantservice.pagination.ScrollCursors;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
 import org.codewithzea.restaurantservice.repository.RestaurantRepository;
+import org.codewithzea.restaurantservice.search.RestaurantGeoIndex;
+import org.codewithzea.restaurantservice.search.RestaurantSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class RestaurantService {
     private static final Logger log = LoggerFactory.getLogger(RestaurantService.class);
+    private static final Sort SCROLL_SORT = Sort.by("name", "id");
 
     private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
     private final RestaurantEventPublisher eventPublisher;
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantGeoIndex geoIndex;
+    private final ResourceVersions resourceVersions;
 
     @Transactional(readOnly = true)
     public Page<RestaurantResponse> getAllRestaurants(Pageable pageable, String search) {
@@ -38,23 +68,96 @@ public class RestaurantService {
         log.info("Fetching restaurants with search: '{}' and pageable: {}", search, pageable);
 
         try {
-            Page<RestaurantResponse> result;
-            if (search != null && !search.isBlank()) {
-                result = restaurantRepository.findByNameContainingIgnoreCase(search, pageable)
-                        .map(this::mapToResponse);
-                log.debug("Found {} restaurants matching search '{}'", result.getTotalElements(), search);
-            } else {
-                result = restaurantRepository.findAll(pageable)
-                        .map(this::mapToResponse);
-                log.debug("Found {} total restaurants", result.getTotalElements());
-            }
+            Page<Restaurant> restaurants = findRestaurantPage(pageable, search);
+            Map<UUID, List<MenuItemResponse>> menus = loadMenus(restaurants.getContent());
+            Page<RestaurantResponse> result = restaurants.map(restaurant ->
+                    mapToResponse(restaurant, menus.getOrDefault(restaurant.getId(), List.of())));
+            log.debug("Found {} restaurants", result.getTotalElements());
             return result;
         } finally {
             MDC.clear();
         }
     }
 
-    @Cacheable(value = "restaurants", key = "#id")
+    @Transactional(readOnly = true)
+    public Page<RestaurantSummaryResponse> getRestaurantSummaries(Pageable pageable, String search) {
+        MDC.put("operation", "getRestaurantSummaries");
+        log.info("Fetching restaurant summaries with search: '{}' and pageable: {}", search, pageable);
+
+        try {
+            return findRestaurantPage(pageable, search).map(this::mapToSummary);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Keyset-paginated restaurant listing ordered by name. Every page costs the same index seek,
+     * however deep the client scrolls; the total is only counted when asked for.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<RestaurantResponse> scrollRestaurants(String cursor, int size, boolean includeTotal) {
+        MDC.put("operation", "scrollRestaurants");
+        log.info("Scrolling restaurants with size: {}", size);
+
+        try {
+            KeysetScrollPosition position = ScrollCursors.decode(cursor, SCROLL_SORT);
+            // One row past the page tells whether another page follows
+            List<Restaurant> rows = position.isInitial()
+                    ? restaurantRepository.findFirstScrollPage(Limit.of(size + 1))
+                    : restaurantRepository.findScrollPageAfter(ScrollCursors.key(position, "name", String.class),
+                            ScrollCursors.key(position, "id", UUID.class), Limit.of(size + 1));
+            Window<Restaurant> window = ScrollCursors.window(rows, size,
+                    restaurant -> Map.of("name", restaurant.getName(), "id", restaurant.getId()));
+            Map<UUID, List<MenuItemResponse>> menus = loadMenus(window.getContent());
+            List<RestaurantResponse> content = window.getContent().stream()
+                    .map(restaurant -> mapToResponse(restaurant, menus.getOrDefault(restaurant.getId(), List.of())))
+                    .toList();
+            Long total = includeTotal ? restaurantRepository.count() : null;
+            return new CursorPage<>(content, ScrollCursors.next(window), total);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Timed(value = "restaurant.search.time", description = "Time taken to search restaurants")
+    public RestaurantSearchResponse searchRestaurants(String query, int limit, String cursor) {
+        MDC.put("operation", "searchRestaurants");
+        log.info("Searching restaurants with query: '{}' and limit: {}", query, limit);
+
+        try {
+            RestaurantSearchIndex.Result result = searchIndex.search(query, limit, cursor);
+            List<RestaurantSearchHit> hits = result.hits().stream()
+                    .map(hit -> new RestaurantSearchHit(
+                            hit.restaurantId().toString(), hit.name(), hit.city(), hit.score()))
+                    .toList();
+            log.debug("Found {} restaurants", hits.size());
+            return new RestaurantSearchResponse(hits, result.nextCursor());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Timed(value = "restaurant.nearby.time", description = "Time taken to find nearby restaurants")
+    public RestaurantNearbyResponse findNearbyRestaurants(double latitude, double longitude, Double radiusMeters,
+                                                          int limit, String cursor) {
+        MDC.put("operation", "findNearbyRestaurants");
+        log.info("Finding restaurants near ({}, {}) within {} m, limit: {}", latitude, longitude, radiusMeters, limit);
+
+        try {
+            RestaurantGeoIndex.Result result = geoIndex.nearby(latitude, longitude, radiusMeters, limit, cursor);
+            List<RestaurantNearbyHit> hits = result.hits().stream()
+                    .map(hit -> new RestaurantNearbyHit(hit.restaurantId().toString(), hit.name(), hit.city(),
+                            hit.latitude(), hit.longitude(), hit.distanceMeters()))
+                    .toList();
+            log.debug("Found {} restaurants", hits.size());
+            return new RestaurantNearbyResponse(hits, result.nextCursor());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Cacheable(value = "restaurants", key = "#id", sync = true)
     @Timed(value = "restaurant.service.time", description = "Time taken to get restaurant")
     @Transactional(readOnly = true)
     public RestaurantResponse getRestaurantById(UUID id) {
@@ -76,6 +179,22 @@ public class RestaurantService {
         }
     }
 
+    /**
+     * Restaurants with their menus in two queries, in the order of {@code ids}; unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<RestaurantResponse> getRestaurantsByIds(Collection<UUID> ids) {
+        Map<UUID, Restaurant> restaurants = new HashMap<>();
+        restaurantRepository.findAllById(ids).forEach(restaurant -> restaurants.put(restaurant.getId(), restaurant));
+        Map<UUID, List<MenuItemResponse>> menus = loadMenus(List.copyOf(restaurants.values()));
+        return ids.stream()
+                .distinct()
+                .map(restaurants::get)
+                .filter(Objects::nonNull)
+                .map(restaurant -> mapToResponse(restaurant, menus.getOrDefault(restaurant.getId(), List.of())))
+                .toList();
+    }
+
     @Timed(value = "restaurant.service.time", description = "Time taken to create restaurant")
     @Transactional
     public RestaurantResponse createRestaurant(RestaurantRequest request) {
@@ -94,7 +213,6 @@ public class RestaurantService {
                     .ownerId(ownerId)
                     .build();
 
-            log.debug("Restaurant entity prepared: {}", restaurant);
             Restaurant savedRestaurant = restaurantRepository.save(restaurant);
             log.info("Successfully created restaurant with ID: {}", savedRestaurant.getId());
 
@@ -110,9 +228,13 @@ public class RestaurantService {
         }
     }
 
+    /**
+     * Applies the update if the restaurant is still at one of {@code expectedVersions}; null skips the
+     * check.
+     */
     @CacheEvict(value = "restaurants", key = "#id")
     @Transactional
-    public void updateRestaurant(UUID id, RestaurantRequest request) {
+    public void updateRestaurant(UUID id, RestaurantRequest request, Set<Long> expectedVersions) {
         MDC.put("operation", "updateRestaurant");
         MDC.put("restaurantId", id.toString());
         String ownerId = getCurrentUserId();
@@ -131,7 +253,12 @@ public class RestaurantService {
                         return new RestaurantNotFoundException(id);
                     });
 
-            log.debug("Updating restaurant from: {} to: {}", restaurant, request);
+            if (expectedVersions != null && !expectedVersions.contains(restaurant.getVersion())) {
+                log.warn("Restaurant {} is at version {}, client expected {}",
+                        id, restaurant.getVersion(), expectedVersions);
+                throw new PreconditionFailedException("Restaurant", id, expectedVersions, restaurant.getVersion());
+            }
+
             restaurant.setName(request.name());
             restaurant.setEmail(request.email());
             restaurant.setPhone(request.phone());
@@ -141,6 +268,7 @@ public class RestaurantService {
             log.info("Successfully updated restaurant with ID: {}", id);
 
             eventPublisher.publishRestaurantUpdatedEvent(updatedRestaurant);
+            resourceVersions.recordRestaurantAfterCommit(id, updatedRestaurant::getUpdatedAt);
             log.debug("Published restaurant updated event");
         } catch (Exception e) {
             log.error("Failed to update restaurant: {}", e.getMessage(), e);
@@ -150,6 +278,44 @@ public class RestaurantService {
         }
     }
 
+    /**
+     * Applies a chunk of updates in one transaction: the restaurants are loaded with one IN query,
+     * ownership and email clashes are checked in memory against the emails as each item leaves
+     * them, and Hibernate flushes the changes as JDBC batches on commit. Items that cannot be
+     * applied are reported rather than failing the chunk. Results are in the order of {@code items}.
+     */
+    @Timed(value = "restaurant.service.time", description = "Time taken to apply a batch of restaurant updates")
+    @Transactional
+    public List<RestaurantBatchUpdateResult> applyBatchUpdate(List<RestaurantBatchUpdateItem> items) {
+        MDC.put("operation", "applyBatchUpdate");
+        String ownerId = getCurrentUserId();
+        MDC.put("ownerId", ownerId);
+        log.info("Applying batch update of {} restaurants", items.size());
+
+        try {
+            Map<UUID, Restaurant> restaurants = new HashMap<>();
+            restaurantRepository.findAllById(items.stream().map(RestaurantBatchUpdateItem::id).toList())
+                    .forEach(restaurant -> restaurants.put(restaurant.getId(), restaurant));
+            Map<String, UUID> emailOwners = new HashMap<>();
+            restaurantRepository.findByEmailIn(items.stream().map(item -> item.restaurant().email()).toList())
+                    .forEach(restaurant -> emailOwners.put(restaurant.getEmail(), restaurant.getId()));
+
+            List<RestaurantBatchUpdateResult> results = new ArrayList<>(items.size());
+            for (RestaurantBatchUpdateItem item : items) {
+                results.add(applyUpdate(item, restaurants.get(item.id()), emailOwners, ownerId));
+            }
+            log.info("Applied {} of {} restaurant updates", results.stream()
+                    .filter(result -> result.status() == RestaurantBatchUpdateResult.Status.UPDATED)
+                    .count(), items.size());
+            return results;
+        } catch (Exception e) {
+            log.error("Failed to apply batch update: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+
     @CacheEvict(value = "restaurants", key = "#id")
     @Transactional
     public void deleteRestaurant(UUID id) {
@@ -169,6 +335,7 @@ public class RestaurantService {
             log.info("Successfully deleted restaurant with ID: {}", id);
 
             eventPublisher.publishRestaurantDeletedEvent(id);
+            resourceVersions.removeAfterCommit(id);
             log.debug("Published restaurant deleted event");
         } catch (Exception e) {
             log.error("Failed to delete restaurant: {}", e.getMessage(), e);
@@ -185,39 +352,138 @@ public class RestaurantService {
         return userId;
     }
 
+    private RestaurantBatchUpdateResult applyUpdate(RestaurantBatchUpdateItem item, Restaurant restaurant,
+                                                    Map<String, UUID> emailOwners, String ownerId) {
+        if (restaurant == null) {
+            return RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.NOT_FOUND,
+                    "Restaurant not found");
+        }
+        if (!ownerId.equals(restaurant.getOwnerId())) {
+            log.warn("Unauthorized update attempt by user {} for restaurant {}", ownerId, item.id());
+            return RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.FORBIDDEN,
+                    "User not authorized to update this restaurant");
+        }
+        if (item.version() != null && item.version() != restaurant.getVersion()) {
+            return RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.CONFLICT,
+                    "Restaurant is at version " + restaurant.getVersion() + ", not " + item.version());
+        }
+        RestaurantRequest request = item.restaurant();
+        UUID emailOwner = emailOwners.get(request.email());
+        if (emailOwner != null && !emailOwner.equals(item.id())) {
+            return RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.CONFLICT,
+                    "Email is already used by another restaurant");
+        }
+
+        String previousEmail = restaurant.getEmail();
+        restaurant.setName(request.name());
+        restaurant.setEmail(request.email());
+        restaurant.setPhone(request.phone());
+        restaurant.setAddress(mapAddress(request.address()));
+        if (!request.email().equals(previousEmail)) {
+            emailOwners.put(request.email(), item.id());
+            if (emailOwners.remove(previousEmail, item.id())) {
+                // A later item takes the released email; ordered updates could flush it before this
+                // one and trip the unique constraint, so the release is written first
+                restaurantRepository.flush();
+            }
+        }
+
+        eventPublisher.publishRestaurantUpdatedEvent(restaurant);
+        resourceVersions.recordRestaurantAfterCommit(item.id(), restaurant::getUpdatedAt);
+        return RestaurantBatchUpdateResult.of(item.id(), RestaurantBatchUpdateResult.Status.UPDATED, null);
+    }
+
     private Address mapAddress(AddressRequest addressRequest) {
-        Address address = Address.builder()
+        return Address.builder()
                 .street(addressRequest.street())
                 .city(addressRequest.city())
                 .state(addressRequest.state())
                 .zipCode(addressRequest.zipCode())
                 .country(addressRequest.country())
+                .latitude(addressRequest.latitude())
+                .longitude(addressRequest.longitude())
                 .build();
-        log.debug("Mapped address request to entity: {}", address);
-        return address;
     }
 
-    private RestaurantResponse mapToResponse(Restaurant restaurant) {
-        RestaurantResponse response = new RestaurantResponse(
+    public RestaurantResponse mapToResponse(Restaurant restaurant) {
+        return mapToResponse(restaurant, restaurant.getMenuItems().stream()
+                .map(this::mapToMenuItemResponse)
+                .toList());
+    }
+
+    public RestaurantResponse mapToResponse(Restaurant restaurant, List<MenuItemResponse> menuItems) {
+        return new RestaurantResponse(
                 restaurant.getId().toString(),
                 restaurant.getName(),
                 restaurant.getEmail(),
                 restaurant.getPhone(),
-                new AddressResponse(
-                        restaurant.getAddress().getStreet(),
-                        restaurant.getAddress().getCity(),
-                        restaurant.getAddress().getState(),
-                        restaurant.getAddress().getZipCode(),
-                        restaurant.getAddress().getCountry()
-                ),
-                restaurant.getMenuItems().stream()
-                        .map(this::mapToMenuItemResponse)
-                        .toList(),
+                mapAddressResponse(restaurant.getAddress()),
+                menuItems,
+                restaurant.getCreatedAt(),
+                restaurant.getUpdatedAt(),
+                restaurant.getVersion()
+        );
+    }
+
+    public RestaurantSummaryResponse mapToSummary(Restaurant restaurant) {
+        return new RestaurantSummaryResponse(
+                restaurant.getId().toString(),
+                restaurant.getName(),
+                restaurant.getEmail(),
+                restaurant.getPhone(),
+                mapAddressResponse(restaurant.getAddress()),
                 restaurant.getCreatedAt(),
                 restaurant.getUpdatedAt()
         );
-        log.debug("Mapped restaurant entity to response: {}", response);
-        return response;
+    }
+
+    private AddressResponse mapAddressResponse(Address address) {
+        return new AddressResponse(
+                address.getStreet(),
+                address.getCity(),
+                address.getState(),
+                address.getZipCode(),
+                address.getCountry(),
+                address.getLatitude(),
+                address.getLongitude()
+        );
+    }
+
+    private Page<Restaurant> findRestaurantPage(Pageable pageable, String search) {
+        if (search != null && !search.isBlank()) {
+            return searchRestaurantPage(pageable, search);
+        }
+        return restaurantRepository.findAll(pageable);
+    }
+
+    // Search results come back in relevance order from the index, so the requested sort is ignored
+    private Page<Restaurant> searchRestaurantPage(Pageable pageable, String search) {
+        List<UUID> rankedIds = searchIndex.rankedIds(search);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        List<UUID> pageIds = rankedIds.subList(from, Math.min(from + pageable.getPageSize(), rankedIds.size()));
+
+        Map<UUID, Restaurant> restaurants = new HashMap<>();
+        restaurantRepository.findAllById(pageIds).forEach(restaurant -> restaurants.put(restaurant.getId(), restaurant));
+        List<Restaurant> content = pageIds.stream()
+                .map(restaurants::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    // Loads the menus (with categories) of every restaurant on the page in a single query
+    // instead of one lazy load per restaurant and per category.
+    private Map<UUID, List<MenuItemResponse>> loadMenus(List<Restaurant> restaurants) {
+        if (restaurants.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> restaurantIds = restaurants.stream().map(Restaurant::getId).toList();
+        Map<UUID, List<MenuItemResponse>> menus = new HashMap<>();
+        for (MenuItem menuItem : menuItemRepository.findByRestaurantIdInWithCategories(restaurantIds)) {
+            menus.computeIfAbsent(menuItem.getRestaurant().getId(), id -> new ArrayList<>())
+                    .add(mapToMenuItemResponse(menuItem));
+        }
+        return menus;
     }
 
     private MenuItemResponse mapToMenuItemResponse(MenuItem menuItem) {
@@ -226,7 +492,8 @@ public class RestaurantService {
                 menuItem.getName(),
                 menuItem.getDescription(),
                 menuItem.getPrice(),
-                menuItem.getCategory() != null ? menuItem.getCategory().getName() : null
+                menuItem.getCategory() != null ? menuItem.getCategory().getName() : null,
+                menuItem.getVersion()
         );
     }
 }
\ No newline at end of file
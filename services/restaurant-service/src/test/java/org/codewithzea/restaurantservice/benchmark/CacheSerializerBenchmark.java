@@ -0,0 +1,64 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.codewithzea.restaurantservice.cache.CompactCacheSerializer;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON cache serializer with {@link CompactCacheSerializer} for cached menus and
+ * full restaurant round trips. Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "compact", "compact-deflate"})
+    private String format;
+
+    @Param({"10", "100", "200", "1000"})
+    private int menuSize;
+
+    private RedisSerializer<Object> serializer;
+    private List<MenuItemResponse> menu;
+    private RestaurantResponse restaurant;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        serializer = switch (format) {
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "compact-deflate" -> new CompactCacheSerializer(1024);
+            default -> new CompactCacheSerializer(0);
+        };
+        menu = MenuFixtures.menuItemResponses(menuSize);
+        restaurant = MenuFixtures.restaurantResponse(menuSize);
+        encoded = serializer.serialize(menu);
+        System.out.printf("%n[%s] %d-item menu payload: %d bytes%n", format, menuSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(menu);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    @Benchmark
+    public Object restaurantRoundTrip() {
+        return serializer.deserialize(serializer.serialize(restaurant));
+    }
+}
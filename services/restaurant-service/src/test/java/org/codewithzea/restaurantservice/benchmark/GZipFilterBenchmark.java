@@ -0,0 +1,115 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.codewithzea.restaurantservice.config.CompressedResponseCache;
+import org.codewithzea.restaurantservice.config.DeflaterPool;
+import org.codewithzea.restaurantservice.config.GZipServletFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the response compression filter for menu-sized JSON bodies. A menu of 0 items
+ * stands in for tiny bodies such as error responses.
+ * <p>
+ * {@code eager} reproduces the previous behaviour (every body compressed at the default level
+ * with a fresh deflater), {@code tuned} the size threshold, level 5 and deflater pool, and
+ * {@code cached} additionally serves repeated menus from the compressed response cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GZipFilterBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int menuSize;
+
+    @Param({"gzip", "identity"})
+    private String acceptEncoding;
+
+    @Param({"eager", "tuned", "cached"})
+    private String mode;
+
+    private GZipServletFilter filter;
+    private FilterChain chain;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkLogging.quiet();
+        filter = switch (mode) {
+            case "eager" -> filter(new DeflaterPool(-1, 0), 0, List.of());
+            case "tuned" -> filter(new DeflaterPool(5, 32), 2048, List.of());
+            default -> filter(new DeflaterPool(5, 32), 2048, List.of("/api/restaurants/*/menu"));
+        };
+        byte[] body = new ObjectMapper().findAndRegisterModules()
+                .writeValueAsBytes(MenuFixtures.menuItemResponses(menuSize));
+        chain = (request, response) -> {
+            response.setContentType("application/json");
+            response.getOutputStream().write(body);
+        };
+    }
+
+    @Benchmark
+    public int filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants/1/menu");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        CountingResponse response = new CountingResponse();
+        filter.doFilter(request, response, chain);
+        return response.bytesWritten;
+    }
+
+    private static GZipServletFilter filter(DeflaterPool deflaterPool, int minResponseSize, List<String> cacheablePaths) {
+        return new GZipServletFilter(deflaterPool, minResponseSize, List.of(MediaType.APPLICATION_JSON),
+                new CompressedResponseCache(32 * 1024 * 1024), cacheablePaths, 256 * 1024);
+    }
+
+    /**
+     * Discards the body and only counts bytes. MockHttpServletResponse copies byte by byte,
+     * which would otherwise dominate the measurement.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private int bytesWritten;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                bytesWritten++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytesWritten += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        CountingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
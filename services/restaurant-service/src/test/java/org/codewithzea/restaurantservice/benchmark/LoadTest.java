@@ -0,0 +1,107 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test against a running instance: every client sends GETs back to back
+ * and the latency distribution after warm-up is printed.
+ * <p>
+ * To compare execution modes, start the service once with {@code VIRTUAL_THREADS_ENABLED=true}
+ * and once without it (Java 21), then run for each:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=org.codewithzea.restaurantservice.benchmark.LoadTest \
+ *     -Djmh.args="http://localhost:8082/api/restaurants/{id} 2000 60 15"
+ * </pre>
+ * Arguments: URL, concurrent clients (2000), measured seconds (60), warm-up seconds (15).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Duration measured = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 15);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        Recorder recorder = new Recorder(TimeUnit.SECONDS.toNanos(60), 3);
+        LongAdder errors = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (running.get()) {
+                    long started = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    recorder.recordValue(Math.min(System.nanoTime() - started, TimeUnit.SECONDS.toNanos(60)));
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        Thread.sleep(warmup.toMillis());
+        recorder.reset();
+        errors.reset();
+        long measuredStart = System.nanoTime();
+        Thread.sleep(measured.toMillis());
+        Histogram histogram = recorder.getIntervalHistogram();
+        double elapsedSeconds = (System.nanoTime() - measuredStart) / 1e9;
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        System.out.printf("%s, %d clients, %.0fs%n", uri, clients, elapsedSeconds);
+        System.out.printf("requests %d (%.0f/s), errors %d%n",
+                histogram.getTotalCount(), histogram.getTotalCount() / elapsedSeconds, errors.sum());
+        System.out.printf("p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms%n",
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
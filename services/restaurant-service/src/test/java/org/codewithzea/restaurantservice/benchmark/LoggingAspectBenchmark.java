@@ -0,0 +1,107 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.codewithzea.restaurantservice.aop.LoggingAspect;
+import org.codewithzea.restaurantservice.controller.RestaurantController;
+import org.codewithzea.restaurantservice.dto.request.AddressRequest;
+import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
+import org.codewithzea.restaurantservice.service.AsyncRestaurantService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the controller logging aspect adds to a restaurant update call whose service returns at
+ * once. {@code none} calls the controller directly, {@code legacy} goes through the previous
+ * aspect (every call logged at INFO with its arguments) and {@code sampled} through the current
+ * one at the default 1% sample rate. Aspect output is formatted and then discarded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    @Param({"none", "legacy", "sampled"})
+    private String mode;
+
+    private final UUID restaurantId = UUID.randomUUID();
+    private final RestaurantRequest request = new RestaurantRequest("Test Restaurant", "test@example.com",
+            "+233201234567", new AddressRequest("1 Oxford Street", "Accra", "Greater Accra", "00233", "Ghana", null, null));
+
+    private RestaurantController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        BenchmarkLogging.formatAndDiscard(LoggingAspect.class, LegacyLoggingAspect.class);
+        RestaurantController target = new RestaurantController(null, new ImmediateAsyncRestaurantService(), null, null, null, null, null, null);
+        controller = switch (mode) {
+            case "none" -> target;
+            case "legacy" -> proxy(target, new LegacyLoggingAspect());
+            default -> proxy(target, new LoggingAspect(0.01));
+        };
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> updateRestaurant() {
+        return controller.updateRestaurant(restaurantId, request, "request-1", new HttpHeaders());
+    }
+
+    private static RestaurantController proxy(RestaurantController target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static final class ImmediateAsyncRestaurantService extends AsyncRestaurantService {
+        ImmediateAsyncRestaurantService() {
+            super(null, Runnable::run, 1);
+        }
+
+        @Override
+        public CompletableFuture<Void> updateRestaurantAsync(UUID id, RestaurantRequest request, Set<Long> expectedVersions) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /** The aspect as it was before sampling: arguments rendered at INFO and the MDC cleared on every call. */
+    @Aspect
+    static class LegacyLoggingAspect {
+        private static final Logger log = LoggerFactory.getLogger(LegacyLoggingAspect.class);
+
+        @Around("execution(* org.codewithzea.restaurantservice.controller..*(..))")
+        public Object logController(ProceedingJoinPoint joinPoint) throws Throwable {
+            String methodName = joinPoint.getSignature().getName();
+            String className = joinPoint.getTarget().getClass().getSimpleName();
+            Object[] args = joinPoint.getArgs();
+
+            MDC.put("method", className + "." + methodName);
+            log.info("Entering method with args: {}", args);
+
+            try {
+                Object result = joinPoint.proceed();
+                log.info("Method completed successfully");
+                return result;
+            } catch (Exception e) {
+                log.error("Method failed: {}", e.getMessage(), e);
+                throw e;
+            } finally {
+                MDC.clear();
+            }
+        }
+    }
+}
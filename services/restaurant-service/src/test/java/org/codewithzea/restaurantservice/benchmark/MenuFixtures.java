@@ -0,0 +1,104 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.codewithzea.restaurantservice.dto.response.AddressResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.model.Address;
+import org.codewithzea.restaurantservice.model.Category;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.model.RestaurantStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic, realistically sized fixtures shared by the benchmarks.
+ */
+public final class MenuFixtures {
+
+    private static final String[] CATEGORIES = {"Starters", "Mains", "Sides", "Desserts", "Drinks"};
+    private static final String[] DISHES = {"Jollof Rice", "Waakye", "Banku & Tilapia", "Kelewele",
+            "Red Red", "Fufu & Light Soup", "Kenkey", "Chicken Suya", "Groundnut Soup", "Bofrot"};
+
+    private MenuFixtures() {
+    }
+
+    public static List<MenuItemResponse> menuItemResponses(int count) {
+        Random random = new Random(count);
+        List<MenuItemResponse> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String dish = DISHES[i % DISHES.length];
+            items.add(new MenuItemResponse(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    dish + " #" + i,
+                    "House-made " + dish.toLowerCase() + " served with seasonal sides and our signature pepper sauce",
+                    BigDecimal.valueOf(500 + random.nextInt(4500), 2),
+                    CATEGORIES[i % CATEGORIES.length],
+                    (long) random.nextInt(10)
+            ));
+        }
+        return items;
+    }
+
+    public static RestaurantResponse restaurantResponse(int menuSize) {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 12, 12, 30);
+        return new RestaurantResponse(
+                new UUID(menuSize, menuSize).toString(),
+                "ByteBites Kitchen " + menuSize,
+                "kitchen" + menuSize + "@bytebites.com",
+                "+233201234567",
+                new AddressResponse("12 Oxford Street", "Accra", "GA", "00233", "Ghana", 5.5560, -0.1969),
+                menuItemResponses(menuSize),
+                now.minusDays(30),
+                now,
+                3L
+        );
+    }
+
+    public static Restaurant restaurant(int menuSize) {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 12, 12, 30);
+        Restaurant restaurant = Restaurant.builder()
+                .id(new UUID(menuSize, menuSize))
+                .name("ByteBites Kitchen " + menuSize)
+                .email("kitchen" + menuSize + "@bytebites.com")
+                .phone("+233201234567")
+                .address(new Address("12 Oxford Street", "Accra", "GA", "00233", "Ghana", 5.5560, -0.1969))
+                .ownerId("owner-" + menuSize)
+                .status(RestaurantStatus.ACTIVE)
+                .createdAt(now.minusDays(30))
+                .updatedAt(now)
+                .build();
+        restaurant.getMenuItems().addAll(menuItems(restaurant, menuSize));
+        return restaurant;
+    }
+
+    public static List<MenuItem> menuItems(Restaurant restaurant, int count) {
+        List<Category> categories = new ArrayList<>(CATEGORIES.length);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            Category category = new Category();
+            category.setId(new UUID(0, i));
+            category.setName(CATEGORIES[i]);
+            categories.add(category);
+        }
+
+        Random random = new Random(count);
+        List<MenuItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String dish = DISHES[i % DISHES.length];
+            items.add(MenuItem.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(dish + " #" + i)
+                    .description("House-made " + dish.toLowerCase() + " served with seasonal sides and our signature pepper sauce")
+                    .price(BigDecimal.valueOf(500 + random.nextInt(4500), 2))
+                    .restaurant(restaurant)
+                    .category(categories.get(i % categories.size()))
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,55 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping cost per request for restaurants of different menu sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int menuSize;
+
+    private RestaurantService restaurantService;
+    private MenuItemCacheService menuItemCacheService;
+    private Restaurant restaurant;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        restaurantService = new RestaurantService(null, null, null, null, null, null);
+        menuItemCacheService = new MenuItemCacheService(null, null, null);
+        restaurant = MenuFixtures.restaurant(menuSize);
+    }
+
+    @Benchmark
+    public RestaurantResponse restaurantMapToResponse() {
+        return restaurantService.mapToResponse(restaurant);
+    }
+
+    @Benchmark
+    public List<MenuItemResponse> menuItemsMapToResponse() {
+        List<MenuItem> menuItems = restaurant.getMenuItems();
+        List<MenuItemResponse> responses = new ArrayList<>(menuItems.size());
+        for (MenuItem menuItem : menuItems) {
+            responses.add(menuItemCacheService.mapToResponse(menuItem));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,101 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.cache.MenuSnapshotCache;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.catalogue.CatalogueStore;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-request cost of the menu endpoint body: serializing and gzipping the cached menu on every
+ * request versus handing out the pre-serialized snapshot, and reading it back from the local
+ * catalogue as a snapshot rebuild after a restart would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuSnapshotBenchmark {
+    private static final long VERSION = 1;
+
+    @Param({"10", "100", "1000"})
+    private int menuSize;
+
+    private final UUID restaurantId = UUID.randomUUID();
+
+    private ObjectMapper objectMapper;
+    private List<MenuItemResponse> menu;
+    private MenuSnapshotCache snapshotCache;
+    private Path cataloguePath;
+    private CatalogueStore catalogueStore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkLogging.quiet();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        menu = MenuFixtures.menuItemResponses(menuSize);
+        MenuItemCacheService menuItemCacheService = new MenuItemCacheService(null, null, null) {
+            @Override
+            public List<MenuItemResponse> getMenuItems(UUID restaurantId) {
+                return menu;
+            }
+        };
+        ResourceVersions resourceVersions = new ResourceVersions(null, Duration.ofHours(1)) {
+            @Override
+            public long menuVersion(UUID restaurantId) {
+                return VERSION;
+            }
+        };
+        cataloguePath = Files.createTempDirectory("catalogue-benchmark");
+        catalogueStore = new CatalogueStore(objectMapper, new SimpleMeterRegistry(), cataloguePath,
+                DataSize.ofMegabytes(32));
+        snapshotCache = new MenuSnapshotCache(menuItemCacheService, resourceVersions, objectMapper, null,
+                catalogueStore, Duration.ofMinutes(1), DataSize.ofMegabytes(64), DataSize.ofKilobytes(2));
+        snapshotCache.get(restaurantId, VERSION);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        catalogueStore.close();
+        try (var files = Files.walk(cataloguePath)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipPerRequest() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(menu);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return snapshotCache.get(restaurantId, VERSION).json();
+    }
+
+    @Benchmark
+    public byte[] catalogueRead() {
+        return catalogueStore.getMenu(restaurantId).json();
+    }
+}
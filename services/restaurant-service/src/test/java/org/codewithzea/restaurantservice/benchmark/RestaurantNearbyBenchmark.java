@@ -0,0 +1,52 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.codewithzea.restaurantservice.search.RestaurantGeoIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby latency against indexes of growing size, with restaurants clustered in a few cities the
+ * way real ones are; it should stay roughly flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestaurantNearbyBenchmark {
+
+    // Accra, Kumasi, Tamale, Takoradi, Cape Coast
+    private static final double[][] CITIES = {{5.6037, -0.1870}, {6.6885, -1.6244}, {9.4008, -0.8393},
+            {4.8845, -1.7554}, {5.1053, -1.2466}};
+
+    @Param({"10000", "100000"})
+    private int restaurantCount;
+
+    @Param({"1000", "5000", "nearest"})
+    private String radius;
+
+    private RestaurantGeoIndex geoIndex;
+    private Double radiusMeters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        geoIndex = new RestaurantGeoIndex();
+        Random random = new Random(restaurantCount);
+        for (int i = 0; i < restaurantCount; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            // Roughly a 10 km spread around the centre
+            geoIndex.put(new UUID(0, i), "Restaurant " + i, null,
+                    city[0] + random.nextGaussian() * 0.05, city[1] + random.nextGaussian() * 0.05);
+        }
+        radiusMeters = radius.equals("nearest") ? null : Double.valueOf(radius);
+    }
+
+    @Benchmark
+    public RestaurantGeoIndex.Result firstPage() {
+        return geoIndex.nearby(5.6100, -0.1800, radiusMeters, 20, null);
+    }
+}
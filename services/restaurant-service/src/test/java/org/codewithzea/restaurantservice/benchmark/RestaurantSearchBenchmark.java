@@ -0,0 +1,63 @@
+package org.codewithzea.restaurantservice.benchmark;
+
+import org.codewithzea.restaurantservice.search.RestaurantSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency against indexes of growing size; it should stay roughly flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestaurantSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"Golden", "Spicy", "Royal", "Urban", "Coastal", "Savanna",
+            "Happy", "Little", "Grand", "Sunset", "Hidden", "Smoky"};
+    private static final String[] NOUNS = {"Kitchen", "Grill", "Chop Bar", "Bistro", "Canteen", "Diner",
+            "Spot", "Table", "Pot", "Garden", "Corner", "House"};
+    private static final String[] CITIES = {"Accra", "Kumasi", "Tamale", "Takoradi", "Cape Coast", "Ho",
+            "Sunyani", "Koforidua", "Tema", "Bolgatanga"};
+    private static final String[] DISHES = {"Jollof Rice", "Waakye", "Banku & Tilapia", "Kelewele",
+            "Red Red", "Fufu & Light Soup", "Kenkey", "Chicken Suya", "Groundnut Soup", "Bofrot",
+            "Omo Tuo", "Ampesi", "Tuo Zaafi", "Kontomire Stew", "Abolo"};
+
+    @Param({"1000", "10000", "50000"})
+    private int restaurantCount;
+
+    @Param({"kitchen 500", "jollof accra", "smoky grll", "kumasi suy"})
+    private String query;
+
+    private RestaurantSearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searchIndex = new RestaurantSearchIndex();
+        Random random = new Random(restaurantCount);
+        for (int i = 0; i < restaurantCount; i++) {
+            List<RestaurantSearchIndex.MenuText> menu = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                String dish = DISHES[random.nextInt(DISHES.length)];
+                menu.add(new RestaurantSearchIndex.MenuText(UUID.randomUUID(), dish,
+                        "House-made " + dish.toLowerCase() + " with pepper sauce"));
+            }
+            searchIndex.indexRestaurant(new UUID(0, i),
+                    ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i,
+                    CITIES[random.nextInt(CITIES.length)],
+                    menu);
+        }
+    }
+
+    @Benchmark
+    public RestaurantSearchIndex.Result firstPage() {
+        return searchIndex.search(query, 20, null);
+    }
+}
@@ -60,7 +60,9 @@ class RestaurantControllerIT {
                 "Foodville",
                 "FV",
                 "12345",
-                "USA"
+                "USA",
+                null,
+                null
         );
 
         CreateRestaurantRequest request = new CreateRestaurantRequest(
@@ -0,0 +1,151 @@
+package org.codewithzea.restaurantservice.integrationtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.event.RestaurantEventPublisher;
+import org.codewithzea.restaurantservice.model.Address;
+import org.codewithzea.restaurantservice.model.Category;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.model.RestaurantStatus;
+import org.codewithzea.restaurantservice.search.RestaurantGeoIndex;
+import org.codewithzea.restaurantservice.search.RestaurantSearchIndex;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements behind a restaurant list page; the count must not grow with the page size.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Every load must reach the database to be counted
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RestaurantService.class)
+@Testcontainers
+class RestaurantQueryCountIT {
+
+    @BeforeAll
+    static void checkDocker() {
+        Assumptions.assumeTrue(
+                DockerClientFactory.instance().isDockerAvailable(),
+                "Docker is not available"
+        );
+    }
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("restaurant_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @MockitoBean
+    private RestaurantEventPublisher eventPublisher;
+
+    @MockitoBean
+    private RestaurantSearchIndex searchIndex;
+
+    @MockitoBean
+    private RestaurantGeoIndex geoIndex;
+
+    @MockitoBean
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 30; i++) {
+            Restaurant restaurant = entityManager.persist(Restaurant.builder()
+                    .name("Restaurant " + i)
+                    .email("restaurant" + i + "@test.com")
+                    .phone("1234567890")
+                    .ownerId("owner_" + i)
+                    .status(RestaurantStatus.ACTIVE)
+                    .address(Address.builder()
+                            .street(i + " Main St")
+                            .city("Foodville")
+                            .state("FV")
+                            .zipCode("12345")
+                            .build())
+                    .build());
+            for (int j = 0; j < 3; j++) {
+                Category category = new Category();
+                category.setName("Category " + i + "-" + j);
+                entityManager.persist(category);
+                entityManager.persist(MenuItem.builder()
+                        .name("Dish " + j)
+                        .price(new BigDecimal("10.00"))
+                        .restaurant(restaurant)
+                        .category(category)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllRestaurants_ShouldRunTheSameStatements_WhateverThePageSize() {
+        // When
+        long smallPage = statementsFor(5);
+        long largePage = statementsFor(25);
+
+        // Then
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    private long statementsFor(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<RestaurantResponse> page = restaurantService.getAllRestaurants(
+                PageRequest.of(0, pageSize, Sort.by("name")), null);
+
+        assertThat(page.getContent()).hasSize(pageSize)
+                .allSatisfy(restaurant -> assertThat(restaurant.menuItems()).hasSize(3));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,18 +1,28 @@
 package org.codewithzea.restaurantservice.tests;
 
 
+import org.codewithzea.restaurantservice.dto.request.RestaurantBatchUpdateItem;
 import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResult;
 import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.model.Restaurant;
 import org.codewithzea.restaurantservice.service.AsyncRestaurantService;
 import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,11 +35,15 @@ class AsyncRestaurantServiceTest {
     @Mock
     private RestaurantService restaurantService;
 
-    @InjectMocks
     private AsyncRestaurantService asyncRestaurantService;
 
     private final UUID restaurantId = UUID.randomUUID();
 
+    @BeforeEach
+    void setUp() {
+        asyncRestaurantService = new AsyncRestaurantService(restaurantService, Runnable::run, 500);
+    }
+
     // Success scenario tests
     @Test
     void getRestaurantAsync_ShouldReturnResponse_WhenRestaurantExists() throws Exception {
@@ -51,15 +65,15 @@ class AsyncRestaurantServiceTest {
     void updateRestaurantAsync_ShouldComplete_WhenValidRequest() throws Exception {
         // Arrange
         RestaurantRequest request = createTestRequest();
-        doNothing().when(restaurantService).updateRestaurant(restaurantId, request);
+        doNothing().when(restaurantService).updateRestaurant(restaurantId, request, null);
 
         // Act
         CompletableFuture<Void> future =
-                asyncRestaurantService.updateRestaurantAsync(restaurantId, request);
+                asyncRestaurantService.updateRestaurantAsync(restaurantId, request, null);
 
         // Assert
         assertNull(future.get());
-        verify(restaurantService).updateRestaurant(restaurantId, request);
+        verify(restaurantService).updateRestaurant(restaurantId, request, null);
     }
 
     // Failure scenario tests
@@ -85,11 +99,11 @@ class AsyncRestaurantServiceTest {
 
         // Mock to throw exception
         doThrow(new RuntimeException(errorMessage))
-                .when(restaurantService).updateRestaurant(restaurantId, request);
+                .when(restaurantService).updateRestaurant(restaurantId, request, null);
 
         // Act
         CompletableFuture<Void> future =
-                asyncRestaurantService.updateRestaurantAsync(restaurantId, request);
+                asyncRestaurantService.updateRestaurantAsync(restaurantId, request, null);
 
         // Assert
         assertTrue(future.isCompletedExceptionally());
@@ -103,7 +117,72 @@ class AsyncRestaurantServiceTest {
             assertEquals(errorMessage, e.getCause().getMessage());
         }
 
-        verify(restaurantService).updateRestaurant(restaurantId, request);
+        verify(restaurantService).updateRestaurant(restaurantId, request, null);
+    }
+
+    @Test
+    void processBatchUpdateAsync_ShouldApplyChunksInParallel_AndReportEveryItem() throws Exception {
+        // Arrange
+        ExecutorService batchExecutor = Executors.newFixedThreadPool(2);
+        AsyncRestaurantService service = new AsyncRestaurantService(restaurantService, batchExecutor, 1);
+        UUID failingId = UUID.randomUUID();
+        RestaurantBatchUpdateItem item = new RestaurantBatchUpdateItem(restaurantId, createTestRequest(), null);
+        RestaurantBatchUpdateItem failingItem = new RestaurantBatchUpdateItem(failingId,
+                new RestaurantRequest("Other Restaurant", "other@example.com", "1234567890", null), null);
+        RestaurantBatchUpdateItem duplicateItem = new RestaurantBatchUpdateItem(restaurantId,
+                new RestaurantRequest("Test Restaurant", "third@example.com", "1234567890", null), null);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return List.of(RestaurantBatchUpdateResult.of(restaurantId, RestaurantBatchUpdateResult.Status.UPDATED, null));
+        }).when(restaurantService).applyBatchUpdate(List.of(item));
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            throw new RuntimeException("Update failed");
+        }).when(restaurantService).applyBatchUpdate(List.of(failingItem));
+
+        // Act
+        RestaurantBatchUpdateResponse response = service
+                .processBatchUpdateAsync(List.of(item, failingItem, duplicateItem))
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, response.updatedCount());
+        assertEquals(2, response.failedCount());
+        assertEquals(List.of(RestaurantBatchUpdateResult.Status.UPDATED,
+                        RestaurantBatchUpdateResult.Status.FAILED,
+                        RestaurantBatchUpdateResult.Status.CONFLICT),
+                response.results().stream().map(RestaurantBatchUpdateResult::status).toList());
+        assertEquals(failingId.toString(), response.results().get(1).id());
+        verify(restaurantService, times(2)).applyBatchUpdate(anyList());
+        batchExecutor.shutdown();
+    }
+
+    @Test
+    void processBatchUpdateAsync_ShouldRetryItemsOneAtATime_WhenTheChunkRollsBack() throws Exception {
+        // Arrange
+        UUID contendedId = UUID.randomUUID();
+        RestaurantBatchUpdateItem item = new RestaurantBatchUpdateItem(restaurantId, createTestRequest(), null);
+        RestaurantBatchUpdateItem contendedItem = new RestaurantBatchUpdateItem(contendedId,
+                new RestaurantRequest("Other Restaurant", "other@example.com", "1234567890", null), null);
+        when(restaurantService.applyBatchUpdate(List.of(item, contendedItem)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Restaurant.class, contendedId));
+        when(restaurantService.applyBatchUpdate(List.of(item))).thenReturn(
+                List.of(RestaurantBatchUpdateResult.of(restaurantId, RestaurantBatchUpdateResult.Status.UPDATED, null)));
+        when(restaurantService.applyBatchUpdate(List.of(contendedItem)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Restaurant.class, contendedId));
+
+        // Act
+        RestaurantBatchUpdateResponse response = asyncRestaurantService
+                .processBatchUpdateAsync(List.of(item, contendedItem))
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of(RestaurantBatchUpdateResult.Status.UPDATED,
+                        RestaurantBatchUpdateResult.Status.CONFLICT),
+                response.results().stream().map(RestaurantBatchUpdateResult::status).toList());
+        verify(restaurantService, times(3)).applyBatchUpdate(anyList());
     }
 
     // Helper methods
@@ -116,6 +195,7 @@ class AsyncRestaurantServiceTest {
                 null,
                 null,
                 null,
+                null,
                 null
         );
     }
@@ -177,10 +257,10 @@ class AsyncRestaurantServiceTest {
 //
 //        // Act
 //        CompletableFuture<Void> future =
-//                asyncRestaurantService.updateRestaurantAsync(restaurantId, request);
+//                asyncRestaurantService.updateRestaurantAsync(restaurantId, request, null);
 //
 //        // Assert
 //        assertNull(future.get());
-//        verify(restaurantService).updateRestaurant(restaurantId, request);
+//        verify(restaurantService).updateRestaurant(restaurantId, request, null);
 //    }
 //}
\ No newline at end of file
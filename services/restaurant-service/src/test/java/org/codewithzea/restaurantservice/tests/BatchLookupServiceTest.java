@@ -0,0 +1,142 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.cache.CacheMultiGet;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.dto.response.BatchLookupResponse;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.model.Category;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.codewithzea.restaurantservice.service.BatchLookupService;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchLookupServiceTest {
+
+    @Mock
+    private CacheMultiGet cacheMultiGet;
+
+    @Mock
+    private RestaurantService restaurantService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private BatchLookupService batchLookupService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        batchLookupService = new BatchLookupService(cacheMultiGet, cacheManager, restaurantService,
+                menuItemRepository, resourceVersions, Runnable::run);
+    }
+
+    @Test
+    void getRestaurants_ShouldLoadOnlyCacheMisses_AndKeepRequestOrder() {
+        // Arrange
+        UUID cached = UUID.randomUUID();
+        UUID uncached = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        List<UUID> ids = List.of(uncached, cached, unknown, cached);
+        when(cacheMultiGet.getAll(eq("restaurants"), eq(List.of(uncached, cached, unknown)), eq(RestaurantResponse.class)))
+                .thenReturn(Map.of(cached, restaurant(cached, "From cache")));
+        when(restaurantService.getRestaurantsByIds(List.of(uncached, unknown)))
+                .thenReturn(List.of(restaurant(uncached, "From database")));
+        when(resourceVersions.restaurantUpdatedAts(List.of(uncached))).thenReturn(Map.of());
+
+        // Act
+        BatchLookupResponse<RestaurantResponse> response = batchLookupService.getRestaurants(ids);
+
+        // Assert
+        assertEquals(List.of(uncached.toString(), cached.toString()), List.copyOf(response.results().keySet()));
+        assertEquals("From cache", response.results().get(cached.toString()).name());
+        assertEquals(List.of(unknown.toString()), response.missing());
+        assertNotNull(cacheManager.getCache("restaurants").get(uncached));
+        assertNull(cacheManager.getCache("restaurants").get(cached));
+    }
+
+    @Test
+    void getRestaurants_ShouldNotCacheLoadedRestaurant_WhenAnUpdateCommittedSinceTheLoad() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        RestaurantResponse loaded = restaurant(id, "Before update");
+        when(cacheMultiGet.getAll(eq("restaurants"), eq(List.of(id)), eq(RestaurantResponse.class)))
+                .thenReturn(Map.of());
+        when(restaurantService.getRestaurantsByIds(List.of(id))).thenReturn(List.of(loaded));
+        when(resourceVersions.restaurantUpdatedAts(List.of(id)))
+                .thenReturn(Map.of(id, ResourceVersions.toEpochMilli(loaded.updatedAt()) + 1));
+
+        // Act
+        BatchLookupResponse<RestaurantResponse> response = batchLookupService.getRestaurants(List.of(id));
+
+        // Assert
+        assertEquals("Before update", response.results().get(id.toString()).name());
+        assertNull(cacheManager.getCache("restaurants").get(id));
+    }
+
+    @Test
+    void getRestaurants_ShouldEvictWrittenBackRestaurant_WhenAnUpdateCommittedDuringTheWrite() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        RestaurantResponse loaded = restaurant(id, "Before update");
+        when(cacheMultiGet.getAll(eq("restaurants"), eq(List.of(id)), eq(RestaurantResponse.class)))
+                .thenReturn(Map.of());
+        when(restaurantService.getRestaurantsByIds(List.of(id))).thenReturn(List.of(loaded));
+        when(resourceVersions.restaurantUpdatedAts(List.of(id)))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of(id, ResourceVersions.toEpochMilli(loaded.updatedAt()) + 1));
+
+        // Act
+        batchLookupService.getRestaurants(List.of(id));
+
+        // Assert
+        assertNull(cacheManager.getCache("restaurants").get(id));
+    }
+
+    @Test
+    void getMenuItems_ShouldLoadItemsWithTheirCategoriesInOneQuery() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        Category category = new Category();
+        category.setName("Mains");
+        MenuItem menuItem = MenuItem.builder().id(id).name("Jollof Rice").price(BigDecimal.TEN)
+                .category(category).build();
+        when(menuItemRepository.findByIdInWithCategories(List.of(id, unknown))).thenReturn(List.of(menuItem));
+
+        // Act
+        BatchLookupResponse<MenuItemResponse> response = batchLookupService.getMenuItems(List.of(id, unknown, id));
+
+        // Assert
+        assertEquals("Mains", response.results().get(id.toString()).categoryName());
+        assertEquals(List.of(unknown.toString()), response.missing());
+        verify(menuItemRepository, times(1)).findByIdInWithCategories(anyList());
+    }
+
+    private RestaurantResponse restaurant(UUID id, String name) {
+        return new RestaurantResponse(id.toString(), name, null, null, null, List.of(),
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
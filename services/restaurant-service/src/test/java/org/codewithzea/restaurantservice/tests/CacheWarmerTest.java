@@ -0,0 +1,101 @@
+package org.codewithzea.restaurantservice.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.codewithzea.restaurantservice.cache.AccessTracker;
+import org.codewithzea.restaurantservice.cache.CacheWarmer;
+import org.codewithzea.restaurantservice.cache.MenuSnapshotCache;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private AccessTracker accessTracker;
+
+    @Mock
+    private RestaurantService restaurantService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private MenuSnapshotCache menuSnapshotCache;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        warmer = new CacheWarmer(accessTracker, restaurantService, resourceVersions, menuSnapshotCache,
+                cacheManager, Runnable::run, meterRegistry, 10, 2, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void warmUp_ShouldLoadTopRestaurantsInBatches_AndKeepCachedEntries() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        RestaurantResponse alreadyCached = restaurant(first, "Cached elsewhere");
+        cacheManager.getCache("restaurants").put(first, alreadyCached);
+        when(accessTracker.topRestaurants(10)).thenReturn(List.of(first, second, third));
+        when(resourceVersions.menuVersion(any())).thenReturn(4L);
+        when(restaurantService.getRestaurantsByIds(List.of(first, second)))
+                .thenReturn(List.of(restaurant(first, "Fresh"), restaurant(second, "Second")));
+        when(restaurantService.getRestaurantsByIds(List.of(third)))
+                .thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        warmer.warmUp();
+
+        // Assert
+        assertSame(alreadyCached, cacheManager.getCache("restaurants").get(first).get());
+        assertEquals("Second", ((RestaurantResponse) cacheManager.getCache("restaurants").get(second).get()).name());
+        assertNotNull(cacheManager.getCache("menuItems").get(second));
+        verify(menuSnapshotCache).warm(eq(second), eq(4L), anyList());
+        assertEquals(2.0 / 3, meterRegistry.get("restaurant.warmup.coverage").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void warmUp_ShouldBeSkipped_WhenAccessCountsAreUnavailable() {
+        // Arrange
+        when(accessTracker.topRestaurants(10)).thenThrow(new IllegalStateException("redis down"));
+
+        // Act
+        warmer.warmUp();
+
+        // Assert
+        verifyNoInteractions(restaurantService);
+    }
+
+    private RestaurantResponse restaurant(UUID id, String name) {
+        return new RestaurantResponse(id.toString(), name, null, null, null,
+                List.of(new MenuItemResponse(UUID.randomUUID().toString(), "Jollof Rice", null,
+                        new BigDecimal("45.00"), null, 0L)),
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,92 @@
+package org.codewithzea.restaurantservice.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.codewithzea.restaurantservice.benchmark.MenuFixtures;
+import org.codewithzea.restaurantservice.catalogue.CatalogueStore;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSummaryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogueStoreTest {
+
+    @TempDir
+    Path path;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final UUID restaurantId = UUID.randomUUID();
+    private CatalogueStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void entries_ShouldSurviveReopen() {
+        // Arrange
+        RestaurantSummaryResponse restaurant = new RestaurantSummaryResponse(restaurantId.toString(), "Stored",
+                "stored@example.com", "+233200000000", null, LocalDateTime.now(), LocalDateTime.now());
+        List<MenuItemResponse> menu = MenuFixtures.menuItemResponses(20);
+        store.putRestaurant(restaurant);
+        store.putMenu(restaurantId, 3, menu);
+
+        // Act
+        store.close();
+        store = open();
+
+        // Assert
+        assertEquals(restaurant, store.getRestaurant(restaurantId));
+        assertEquals(menu, store.getMenuItems(restaurantId));
+        assertEquals(3, store.getMenu(restaurantId).version());
+    }
+
+    @Test
+    void putMenu_ShouldNotReplaceNewerVersion() {
+        // Arrange
+        List<MenuItemResponse> newer = MenuFixtures.menuItemResponses(5);
+        store.putMenu(restaurantId, 7, newer);
+
+        // Act
+        store.putMenu(restaurantId, 6, MenuFixtures.menuItemResponses(2));
+
+        // Assert
+        assertEquals(newer, store.getMenuItems(restaurantId));
+        assertEquals(7, store.getMenu(restaurantId).version());
+    }
+
+    @Test
+    void delete_ShouldRemoveRestaurantAndMenu() {
+        // Arrange
+        store.putRestaurant(new RestaurantSummaryResponse(restaurantId.toString(), "Gone", "gone@example.com",
+                "+233200000001", null, LocalDateTime.now(), LocalDateTime.now()));
+        store.putMenu(restaurantId, 1, MenuFixtures.menuItemResponses(3));
+
+        // Act
+        store.delete(restaurantId);
+
+        // Assert
+        assertNull(store.getRestaurant(restaurantId));
+        assertNull(store.getMenu(restaurantId));
+    }
+
+    private CatalogueStore open() {
+        return new CatalogueStore(objectMapper, new SimpleMeterRegistry(), path, DataSize.ofMegabytes(8));
+    }
+}
@@ -0,0 +1,83 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.benchmark.MenuFixtures;
+import org.codewithzea.restaurantservice.cache.CompactCacheSerializer;
+import org.codewithzea.restaurantservice.cache.StampedValue;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer = new CompactCacheSerializer(1024);
+
+    @Test
+    void menuList_ShouldRoundTrip_AndBeSmallerThanJson() {
+        // Arrange
+        List<MenuItemResponse> menu = MenuFixtures.menuItemResponses(200);
+
+        // Act
+        byte[] compact = serializer.serialize(menu);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(menu);
+
+        // Assert
+        assertEquals(menu, serializer.deserialize(compact));
+        assertTrue(compact.length * 4 < json.length,
+                "compact=" + compact.length + " json=" + json.length);
+    }
+
+    @Test
+    void restaurant_ShouldRoundTrip() {
+        // Arrange
+        RestaurantResponse restaurant = MenuFixtures.restaurantResponse(3);
+
+        // Act & Assert
+        assertEquals(restaurant, serializer.deserialize(serializer.serialize(restaurant)));
+    }
+
+    @Test
+    void page_ShouldRoundTripContentAndPaging() {
+        // Arrange
+        Page<MenuItemResponse> page = new PageImpl<>(MenuFixtures.menuItemResponses(5),
+                PageRequest.of(2, 5, Sort.by("name").descending()), 42);
+
+        // Act
+        Page<?> result = (Page<?>) serializer.deserialize(serializer.serialize(page));
+
+        // Assert
+        assertEquals(page.getContent(), result.getContent());
+        assertEquals(page.getPageable(), result.getPageable());
+        assertEquals(42, result.getTotalElements());
+    }
+
+    @Test
+    void stampedValue_ShouldRoundTripWithItsStamp() {
+        // Arrange
+        StampedValue stamped = new StampedValue(MenuFixtures.menuItemResponses(3), 1_752_321_600_000L, 42);
+
+        // Act & Assert
+        assertEquals(stamped, serializer.deserialize(serializer.serialize(stamped)));
+    }
+
+    @Test
+    void unsupportedValues_ShouldFallBackToJson() {
+        // Arrange
+        Map<String, String> value = new HashMap<>(Map.of("status", "ok"));
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(value);
+
+        // Act & Assert
+        assertArrayEquals(json, serializer.serialize(value));
+        assertEquals(value, serializer.deserialize(json));
+    }
+}
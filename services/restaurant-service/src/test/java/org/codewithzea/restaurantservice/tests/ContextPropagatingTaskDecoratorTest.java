@@ -0,0 +1,71 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.config.ContextPropagatingTaskDecorator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextPropagatingTaskDecoratorTest {
+
+    private final ContextPropagatingTaskDecorator decorator = new ContextPropagatingTaskDecorator();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void decoratedTask_ShouldSeeCallersMdcAndAuthentication() throws Exception {
+        // Arrange
+        Authentication owner = new UsernamePasswordAuthenticationToken("owner-1", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(owner);
+        MDC.put("requestId", "req-42");
+        AtomicReference<String> requestId = new AtomicReference<>();
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        // Act
+        executor.submit(decorator.decorate(() -> {
+            requestId.set(MDC.get("requestId"));
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+        })).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("req-42", requestId.get());
+        assertSame(owner, authentication.get());
+    }
+
+    @Test
+    void workerThread_ShouldNotKeepContextAfterTask() throws Exception {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("owner-1", null, List.of()));
+        MDC.put("requestId", "req-42");
+        executor.submit(decorator.decorate(() -> { })).get(5, TimeUnit.SECONDS);
+        AtomicReference<String> requestId = new AtomicReference<>();
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        // Act
+        executor.submit(() -> {
+            requestId.set(MDC.get("requestId"));
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+        }).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNull(requestId.get());
+        assertNull(authentication.get());
+    }
+}
@@ -0,0 +1,103 @@
+package org.codewithzea.restaurantservice.tests;
+
+import jakarta.servlet.FilterChain;
+import org.codewithzea.restaurantservice.config.CompressedResponseCache;
+import org.codewithzea.restaurantservice.config.DeflaterPool;
+import org.codewithzea.restaurantservice.config.GZipServletFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GZipServletFilterTest {
+
+    private static final String MENU_PATH = "/api/restaurants/42/menu";
+
+    private final GZipServletFilter filter = new GZipServletFilter(new DeflaterPool(5, 4), 1024,
+            List.of(MediaType.APPLICATION_JSON), new CompressedResponseCache(1024 * 1024),
+            List.of("/api/restaurants/*/menu"), 64 * 1024);
+
+    @Test
+    void smallResponse_ShouldBeSentUncompressed() throws Exception {
+        // Act
+        MockHttpServletResponse response = filter(MENU_PATH, "gzip", json(10), new AtomicInteger());
+
+        // Assert
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertEquals(json(10), response.getContentAsString());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+
+    @Test
+    void largeResponse_ShouldBeGzipped_WhenStreamedPastBuffer() throws Exception {
+        // Act
+        MockHttpServletResponse response = filter("/api/restaurants", "deflate, gzip;q=0.5", json(20_000),
+                new AtomicInteger());
+
+        // Assert
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(json(20_000), gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void gzipWithZeroQuality_ShouldNotBeUsed() throws Exception {
+        // Act
+        MockHttpServletResponse response = filter("/api/restaurants", "gzip;q=0, identity", json(20_000),
+                new AtomicInteger());
+
+        // Assert
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(json(20_000), response.getContentAsString());
+    }
+
+    @Test
+    void repeatedMenu_ShouldReuseCompressedBytes_UntilBodyChanges() throws Exception {
+        // Arrange
+        AtomicInteger writes = new AtomicInteger();
+
+        // Act
+        byte[] first = filter(MENU_PATH, "gzip", json(5_000), writes).getContentAsByteArray();
+        byte[] second = filter(MENU_PATH, "gzip", json(5_000), writes).getContentAsByteArray();
+        byte[] changed = filter(MENU_PATH, "gzip", json(5_001), writes).getContentAsByteArray();
+
+        // Assert
+        assertArrayEquals(first, second);
+        assertEquals(json(5_000), gunzip(second));
+        assertEquals(json(5_001), gunzip(changed));
+        assertEquals(3, writes.get());
+    }
+
+    private MockHttpServletResponse filter(String path, String acceptEncoding, String body, AtomicInteger writes)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            writes.incrementAndGet();
+            res.setContentType("application/json");
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static String json(int length) {
+        return "[" + "1,".repeat(length / 2) + "0]";
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.cache.CacheKeyIndex;
+import org.codewithzea.restaurantservice.cache.MenuCacheMaintainer;
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.cache.MenuSnapshotCache;
+import org.codewithzea.restaurantservice.cache.PatchableCache;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.event.MenuEvent;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuCacheMaintainerTest {
+
+    @Mock
+    private CacheKeyIndex cacheKeyIndex;
+
+    @Mock
+    private MenuSnapshotCache menuSnapshotCache;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private MenuCacheMaintainer maintainer;
+
+    private final UUID restaurantId = UUID.randomUUID();
+    private final UUID jollofId = UUID.randomUUID();
+    private final UUID waakyeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new PatchableMapCache(name);
+            }
+        };
+        maintainer = new MenuCacheMaintainer(cacheManager, cacheKeyIndex,
+                new MenuItemCacheService(null, cacheKeyIndex, null), menuSnapshotCache);
+        cacheManager.getCache("menuItems").put(restaurantId,
+                List.of(response(jollofId, "Jollof Rice"), response(waakyeId, "Waakye")));
+    }
+
+    @Test
+    void updatedItem_ShouldBePatchedIntoCachedMenus() {
+        // Arrange
+        cacheManager.getCache("restaurants").put(restaurantId, new RestaurantResponse(restaurantId.toString(),
+                "ByteBites Kitchen", null, null, null, List.of(response(jollofId, "Jollof Rice")),
+                LocalDateTime.now(), LocalDateTime.now(), 0L));
+        cacheManager.getCache("menuItemsPaginated").put(restaurantId + ":0:20:UNSORTED", "page");
+        when(cacheKeyIndex.removeGroup("menuItemsPaginated", restaurantId))
+                .thenReturn(List.of(restaurantId + ":0:20:UNSORTED"));
+
+        // Act
+        maintainer.onMenuEvent(new MenuEvent(this, MenuEvent.EventType.UPDATED, jollofId, restaurantId,
+                menuItem(jollofId, "Party Jollof", 1)));
+
+        // Assert
+        List<?> menu = cacheManager.getCache("menuItems").get(restaurantId, List.class);
+        assertEquals(List.of("Party Jollof", "Waakye"), names(menu));
+        RestaurantResponse restaurant = cacheManager.getCache("restaurants").get(restaurantId, RestaurantResponse.class);
+        assertEquals(List.of("Party Jollof"), names(restaurant.menuItems()));
+        assertNull(cacheManager.getCache("menuItemsPaginated").get(restaurantId + ":0:20:UNSORTED"));
+        verify(menuSnapshotCache).invalidate(restaurantId);
+    }
+
+    @Test
+    void deletedItem_ShouldEvictCachedMenu() {
+        // Act
+        maintainer.onMenuEvent(new MenuEvent(this, MenuEvent.EventType.DELETED, waakyeId, restaurantId, null));
+
+        // Assert
+        assertNull(cacheManager.getCache("menuItems").get(restaurantId));
+    }
+
+    @Test
+    void updatedItem_ShouldNotReplaceANewerCachedVersion_WhenEventsArriveOutOfOrder() {
+        // Arrange
+        cacheManager.getCache("menuItems").put(restaurantId,
+                List.of(response(jollofId, "Party Jollof", 2), response(waakyeId, "Waakye", 0)));
+
+        // Act
+        maintainer.onMenuEvent(new MenuEvent(this, MenuEvent.EventType.UPDATED, jollofId, restaurantId,
+                menuItem(jollofId, "Jollof Rice", 1)));
+
+        // Assert
+        List<?> menu = cacheManager.getCache("menuItems").get(restaurantId, List.class);
+        assertEquals(List.of("Party Jollof", "Waakye"), names(menu));
+    }
+
+    @Test
+    void updatedItem_ShouldEvictCachedMenu_WhenTheItemIsNotInIt() {
+        // Arrange
+        // Waakye was deleted, and its update arrives late
+        cacheManager.getCache("menuItems").put(restaurantId, List.of(response(jollofId, "Jollof Rice", 0)));
+
+        // Act
+        maintainer.onMenuEvent(new MenuEvent(this, MenuEvent.EventType.UPDATED, waakyeId, restaurantId,
+                menuItem(waakyeId, "Waakye", 1)));
+
+        // Assert
+        assertNull(cacheManager.getCache("menuItems").get(restaurantId));
+    }
+
+    @Test
+    void updatedItem_ShouldEvictCachedMenu_WhenItChangedConcurrently() {
+        // Arrange
+        ((PatchableMapCache) cacheManager.getCache("menuItems")).changedConcurrently = true;
+
+        // Act
+        maintainer.onMenuEvent(new MenuEvent(this, MenuEvent.EventType.UPDATED, jollofId, restaurantId,
+                menuItem(jollofId, "Party Jollof", 1)));
+
+        // Assert
+        assertNull(cacheManager.getCache("menuItems").get(restaurantId));
+    }
+
+    @Test
+    void updatedItem_ShouldEvictCachedMenu_WhenTheCacheCannotPatch() {
+        // Arrange
+        ConcurrentMapCacheManager plainCacheManager = new ConcurrentMapCacheManager();
+        plainCacheManager.getCache("menuItems").put(restaurantId, List.of(response(jollofId, "Jollof Rice")));
+        MenuCacheMaintainer plainMaintainer = new MenuCacheMaintainer(plainCacheManager, cacheKeyIndex,
+                new MenuItemCacheService(null, cacheKeyIndex, null), menuSnapshotCache);
+
+        // Act
+        plainMaintainer.onMenuEvent(new MenuEvent(this, MenuEvent.EventType.UPDATED, jollofId, restaurantId,
+                menuItem(jollofId, "Party Jollof", 1)));
+
+        // Assert
+        assertNull(plainCacheManager.getCache("menuItems").get(restaurantId));
+    }
+
+    private static MenuItemResponse response(UUID id, String name) {
+        return response(id, name, 0);
+    }
+
+    private static MenuItemResponse response(UUID id, String name, long version) {
+        return new MenuItemResponse(id.toString(), name, null, BigDecimal.TEN, null, version);
+    }
+
+    private static MenuItem menuItem(UUID id, String name, long version) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setName(name);
+        menuItem.setPrice(BigDecimal.TEN);
+        menuItem.setVersion(version);
+        return menuItem;
+    }
+
+    private static List<String> names(List<?> menu) {
+        return menu.stream().map(item -> ((MenuItemResponse) item).name()).toList();
+    }
+
+    // Patches atomically in memory, or reports a concurrent change when told to
+    private static class PatchableMapCache extends ConcurrentMapCache implements PatchableCache {
+        private boolean changedConcurrently;
+
+        PatchableMapCache(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean patch(Object key, UnaryOperator<Object> patch) {
+            if (changedConcurrently) {
+                return false;
+            }
+            getNativeCache().computeIfPresent(key, (cachedKey, cached) -> patch.apply(cached));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.changelog.MenuChangeLog;
+import org.codewithzea.restaurantservice.dto.response.MenuChangesResponse;
+import org.codewithzea.restaurantservice.model.MenuChange;
+import org.codewithzea.restaurantservice.model.MenuChangeType;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.model.MenuSequence;
+import org.codewithzea.restaurantservice.repository.MenuChangeRepository;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.codewithzea.restaurantservice.repository.MenuSequenceRepository;
+import org.codewithzea.restaurantservice.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuChangeLogTest {
+
+    @Mock
+    private MenuChangeRepository menuChangeRepository;
+
+    @Mock
+    private MenuSequenceRepository menuSequenceRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @InjectMocks
+    private MenuChangeLog menuChangeLog;
+
+    private final UUID restaurantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(restaurantRepository.existsById(restaurantId)).thenReturn(true);
+    }
+
+    @Test
+    void changesSince_ShouldReturnOnlyTheLatestChangeOfEachItem() {
+        // Arrange
+        UUID jollof = UUID.randomUUID();
+        UUID waakye = UUID.randomUUID();
+        when(menuSequenceRepository.findById(restaurantId))
+                .thenReturn(Optional.of(new MenuSequence(restaurantId, 7, 2)));
+        when(menuChangeRepository.findByRestaurantIdAndVersionGreaterThanOrderByVersionAscIdAsc(restaurantId, 4))
+                .thenReturn(List.of(
+                        change(5, jollof, MenuChangeType.UPDATED, "45.00"),
+                        change(6, waakye, MenuChangeType.UPDATED, "30.00"),
+                        change(7, jollof, MenuChangeType.DELETED, null)));
+
+        // Act
+        MenuChangesResponse response = menuChangeLog.changesSince(restaurantId, 4);
+
+        // Assert
+        assertFalse(response.reset());
+        assertEquals(7, response.version());
+        assertEquals(2, response.changes().size());
+        assertEquals(waakye.toString(), response.changes().get(0).id());
+        assertEquals(MenuChangeType.DELETED, response.changes().get(1).type());
+        assertNull(response.changes().get(1).name());
+    }
+
+    @Test
+    void changesSince_ShouldReturnWholeMenu_WhenDeletionsWereCompacted() {
+        // Arrange
+        when(menuSequenceRepository.findById(restaurantId))
+                .thenReturn(Optional.of(new MenuSequence(restaurantId, 9, 5)));
+        MenuItem item = MenuItem.builder()
+                .id(UUID.randomUUID())
+                .name("Jollof Rice")
+                .price(new BigDecimal("45.00"))
+                .build();
+        when(menuItemRepository.findByRestaurantIdInWithCategories(List.of(restaurantId))).thenReturn(List.of(item));
+
+        // Act
+        MenuChangesResponse response = menuChangeLog.changesSince(restaurantId, 3);
+
+        // Assert
+        assertTrue(response.reset());
+        assertEquals(9, response.version());
+        assertEquals("Jollof Rice", response.changes().get(0).name());
+        verifyNoInteractions(menuChangeRepository);
+    }
+
+    private MenuChange change(long version, UUID itemId, MenuChangeType type, String price) {
+        return MenuChange.builder()
+                .restaurantId(restaurantId)
+                .version(version)
+                .menuItemId(itemId)
+                .changeType(type)
+                .name(type == MenuChangeType.DELETED ? null : "Item " + version)
+                .price(price != null ? new BigDecimal(price) : null)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.cache.AccessTracker;
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.cache.MenuSnapshot;
+import org.codewithzea.restaurantservice.cache.MenuSnapshotCache;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.changelog.MenuChangeLog;
+import org.codewithzea.restaurantservice.config.ConditionalGetMetrics;
+import org.codewithzea.restaurantservice.controller.MenuController;
+import org.codewithzea.restaurantservice.dto.response.MenuChangesResponse;
+import org.codewithzea.restaurantservice.service.MenuService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class MenuControllerTest {
+
+    @Mock
+    private MenuService menuService;
+
+    @Mock
+    private MenuItemCacheService menuItemCacheService;
+
+    @Mock
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private ConditionalGetMetrics conditionalGetMetrics;
+
+    @Mock
+    private AccessTracker accessTracker;
+
+    @Mock
+    private MenuChangeLog menuChangeLog;
+
+    @InjectMocks
+    private MenuController menuController;
+
+    private final UUID restaurantId = UUID.randomUUID();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(menuController).build();
+    }
+
+    @Test
+    void getMenuChanges_ShouldReturnTheETagThatAMenuGetAnswersWith() throws Exception {
+        // Arrange
+        when(resourceVersions.menuVersion(restaurantId)).thenReturn(1_700_000_000_000L);
+        when(menuSnapshotCache.get(restaurantId, 1_700_000_000_000L))
+                .thenReturn(new MenuSnapshot("[]".getBytes(StandardCharsets.UTF_8), null, 1_700_000_000_000L));
+        when(menuChangeLog.changesSince(restaurantId, 4))
+                .thenReturn(new MenuChangesResponse(restaurantId.toString(), 4, 7, null, false, List.of()));
+
+        // Act
+        String etag = mockMvc.perform(get("/api/restaurants/{restaurantId}/menu", restaurantId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        mockMvc.perform(get("/api/restaurants/{restaurantId}/menu/changes", restaurantId).param("since", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(7))
+                .andExpect(jsonPath("$.etag").value(etag));
+        mockMvc.perform(get("/api/restaurants/{restaurantId}/menu", restaurantId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+}
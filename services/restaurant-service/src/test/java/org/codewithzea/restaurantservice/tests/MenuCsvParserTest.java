@@ -0,0 +1,49 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.dto.request.MenuItemRequest;
+import org.codewithzea.restaurantservice.exception.MenuValidationException;
+import org.codewithzea.restaurantservice.service.MenuCsvParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuCsvParserTest {
+
+    @Test
+    void parse_ShouldSkipLeadingByteOrderMark() {
+        // Arrange
+        String csv = "\uFEFFname,price\r\nJollof Rice,12.50\r\n";
+
+        // Act
+        List<MenuItemRequest> items = MenuCsvParser.parse(new StringReader(csv), 10);
+
+        // Assert
+        assertEquals(List.of(new MenuItemRequest("Jollof Rice", null, new BigDecimal("12.50"))), items);
+    }
+
+    @Test
+    void parse_ShouldRejectOversizedField_WithoutReadingTheRest() {
+        // Arrange
+        String csv = "name,price,description\n\"Waakye" + "x".repeat(2_000) + "\",8.00,\n";
+
+        // Act & Assert
+        MenuValidationException exception = assertThrows(MenuValidationException.class,
+                () -> MenuCsvParser.parse(new StringReader(csv), 10));
+        assertTrue(exception.getMessage().contains("field on line 2"));
+    }
+
+    @Test
+    void parse_ShouldRejectOversizedRecord_MadeOfShortFields() {
+        // Arrange
+        String csv = "name,price\nKelewele,5.00" + ",extra".repeat(1_000) + "\n";
+
+        // Act & Assert
+        MenuValidationException exception = assertThrows(MenuValidationException.class,
+                () -> MenuCsvParser.parse(new StringReader(csv), 10));
+        assertTrue(exception.getMessage().contains("record on line 2"));
+    }
+}
@@ -0,0 +1,76 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.cache.CacheKeyIndex;
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.codewithzea.restaurantservice.model.MenuItem;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuItemCacheServiceTest {
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private CacheKeyIndex cacheKeyIndex;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private MenuItemCacheService menuItemCacheService;
+
+    private final UUID restaurantId = UUID.randomUUID();
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        menuItemCacheService = new MenuItemCacheService(menuItemRepository, cacheKeyIndex, cacheManager);
+    }
+
+    @Test
+    void getMenuItemsPaginated_ShouldIndexThePage_OnlyOnceItIsCached() {
+        // Arrange
+        String key = MenuItemCacheService.paginatedKey(restaurantId, pageable);
+        when(menuItemRepository.findByRestaurantId(restaurantId, pageable))
+                .thenReturn(new PageImpl<>(List.of(menuItem("Jollof Rice")), pageable, 1));
+        doAnswer(invocation -> {
+            assertNotNull(cacheManager.getCache("menuItemsPaginated").get(key));
+            return null;
+        }).when(cacheKeyIndex).register("menuItemsPaginated", restaurantId, key);
+
+        // Act
+        Page<MenuItemResponse> first = menuItemCacheService.getMenuItemsPaginated(restaurantId, pageable);
+        Page<MenuItemResponse> second = menuItemCacheService.getMenuItemsPaginated(restaurantId, pageable);
+
+        // Assert
+        assertEquals("Jollof Rice", first.getContent().get(0).name());
+        assertSame(first, second);
+        verify(menuItemRepository, times(1)).findByRestaurantId(restaurantId, pageable);
+        verify(cacheKeyIndex, times(1)).register("menuItemsPaginated", restaurantId, key);
+    }
+
+    private static MenuItem menuItem(String name) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(UUID.randomUUID());
+        menuItem.setName(name);
+        menuItem.setPrice(BigDecimal.TEN);
+        return menuItem;
+    }
+}
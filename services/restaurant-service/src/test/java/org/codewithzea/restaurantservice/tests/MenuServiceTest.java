@@ -1,7 +1,12 @@
 package org.codewithzea.restaurantservice.tests;
 
-
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.changelog.MenuChangeLog;
+import org.codewithzea.restaurantservice.dto.request.MenuImportRequest;
 import org.codewithzea.restaurantservice.dto.request.MenuItemRequest;
+import org.codewithzea.restaurantservice.dto.response.MenuImportResponse;
 import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
 import org.codewithzea.restaurantservice.event.MenuEventPublisher;
 import org.codewithzea.restaurantservice.exception.*;
@@ -16,17 +21,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +52,15 @@ class MenuServiceTest {
     @Mock
     private MenuEventPublisher eventPublisher;
 
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private MenuChangeLog menuChangeLog;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -118,11 +138,12 @@ class MenuServiceTest {
 
         // Act
         MenuItemResponse response = menuService.updateMenuItem(
-                restaurantId, menuItemId, createTestRequest());
+                restaurantId, menuItemId, createTestRequest(), null);
 
         // Assert
         assertNotNull(response);
         verify(menuItemRepository).save(any(MenuItem.class));
+        verify(menuItemRepository).flush();
         verify(eventPublisher).publishMenuItemUpdatedEvent(any(MenuItem.class));
         verifyNoMoreInteractions(menuItemRepository, eventPublisher);
     }
@@ -140,7 +161,25 @@ class MenuServiceTest {
 
         // Act & Assert
         assertThrows(MenuItemNotInRestaurantException.class, () ->
-                menuService.updateMenuItem(restaurantId, menuItemId, createTestRequest()));
+                menuService.updateMenuItem(restaurantId, menuItemId, createTestRequest(), null));
+    }
+
+    @Test
+    void updateMenuItem_ShouldThrowPreconditionFailed_WhenVersionDiffers() {
+        // Arrange
+        MenuItem menuItem = createTestMenuItem();
+        menuItem.setVersion(4);
+        menuItem.setRestaurant(createTestRestaurant());
+        setupSecurityContext(ownerId);
+
+        when(menuItemRepository.findById(menuItemId))
+                .thenReturn(Optional.of(menuItem));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () ->
+                menuService.updateMenuItem(restaurantId, menuItemId, createTestRequest(), Set.of(3L)));
+        verify(menuItemRepository, never()).save(any(MenuItem.class));
+        verifyNoInteractions(eventPublisher, menuChangeLog);
     }
 
     @Test
@@ -202,7 +241,7 @@ class MenuServiceTest {
 
         // Act & Assert
         assertThrows(UnauthorizedAccessException.class, () ->
-                menuService.updateMenuItem(restaurantId, menuItemId, createTestRequest()));
+                menuService.updateMenuItem(restaurantId, menuItemId, createTestRequest(), null));
 
         verify(menuItemRepository).findById(menuItemId);
         verifyNoMoreInteractions(menuItemRepository);
@@ -231,6 +270,46 @@ class MenuServiceTest {
         verifyNoMoreInteractions(menuItemRepository, eventPublisher);
     }
 
+    @Test
+    void importMenuCsv_ShouldSaveAllItemsAndPublishOneEvent() {
+        // Arrange
+        String csv = "price,name,description\r\n"
+                + "12.50,Jollof Rice,\"Smoky, with \"\"party\"\" flavour\"\r\n"
+                + "8.00,Waakye,\n";
+        setupSecurityContext(ownerId);
+        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(createTestRestaurant()));
+        when(menuItemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<MenuItem> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(UUID.randomUUID()));
+            return items;
+        });
+
+        // Act
+        MenuImportResponse response = menuService.importMenuCsv(restaurantId, new StringReader(csv));
+
+        // Assert
+        assertEquals(2, response.importedCount());
+        assertEquals("Smoky, with \"party\" flavour", response.menuItems().get(0).description());
+        assertNull(response.menuItems().get(1).description());
+        verify(menuItemRepository).saveAll(anyList());
+        verify(eventPublisher).publishMenuImportedEvent(eq(restaurantId), anyList());
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void importMenu_ShouldRejectWholeImport_WhenAnyItemIsInvalid() {
+        // Arrange
+        MenuImportRequest request = new MenuImportRequest(List.of(
+                createTestRequest(),
+                new MenuItemRequest("X", null, BigDecimal.ZERO)));
+
+        // Act & Assert
+        MenuValidationException exception = assertThrows(MenuValidationException.class,
+                () -> menuService.importMenu(restaurantId, request));
+        assertEquals(2, exception.getViolations().size());
+        verifyNoInteractions(restaurantRepository, menuItemRepository, eventPublisher);
+    }
+
     private void setupSecurityContext(String username) {
         SecurityContext securityContext = mock(SecurityContext.class);
         Authentication authentication = mock(Authentication.class);
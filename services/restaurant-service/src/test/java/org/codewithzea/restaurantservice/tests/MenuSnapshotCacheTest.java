@@ -0,0 +1,103 @@
+package org.codewithzea.restaurantservice.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.codewithzea.restaurantservice.cache.MenuItemCacheService;
+import org.codewithzea.restaurantservice.cache.MenuSnapshot;
+import org.codewithzea.restaurantservice.cache.MenuSnapshotCache;
+import org.codewithzea.restaurantservice.cache.NearCacheInvalidationPublisher;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.catalogue.CatalogueStore;
+import org.codewithzea.restaurantservice.dto.response.MenuItemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuSnapshotCacheTest {
+
+    @Mock
+    private MenuItemCacheService menuItemCacheService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private NearCacheInvalidationPublisher invalidationPublisher;
+
+    @Mock
+    private CatalogueStore catalogueStore;
+
+    private MenuSnapshotCache snapshotCache;
+
+    private final UUID slowId = UUID.randomUUID();
+    private final UUID fastId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        snapshotCache = new MenuSnapshotCache(menuItemCacheService, resourceVersions, new ObjectMapper(),
+                invalidationPublisher, catalogueStore, Duration.ofMinutes(1), DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(2));
+    }
+
+    @Test
+    void get_ShouldShareOneBuild_AndNotBlockOtherRestaurants_WhileAMenuLoads() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(resourceVersions.menuVersion(any())).thenReturn(5L);
+        when(menuItemCacheService.getMenuItems(slowId)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(item("Jollof Rice"));
+        });
+        when(menuItemCacheService.getMenuItems(fastId)).thenReturn(List.of(item("Waakye")));
+
+        // Act
+        CompletableFuture<MenuSnapshot> first = CompletableFuture.supplyAsync(() -> snapshotCache.get(slowId, 5));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MenuSnapshot> second = CompletableFuture.supplyAsync(() -> snapshotCache.get(slowId, 5));
+        MenuSnapshot other = snapshotCache.get(fastId, 5);
+        snapshotCache.invalidate(fastId);
+        release.countDown();
+
+        // Assert
+        assertTrue(new String(other.json()).contains("Waakye"));
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(menuItemCacheService, times(1)).getMenuItems(slowId);
+    }
+
+    @Test
+    void warm_ShouldKeepTheHeldSnapshot_WhenItIsNewer() {
+        // Arrange
+        when(resourceVersions.menuVersion(slowId)).thenReturn(7L);
+        when(menuItemCacheService.getMenuItems(slowId)).thenReturn(List.of(item("Party Jollof")));
+        snapshotCache.get(slowId, 7);
+
+        // Act
+        snapshotCache.warm(slowId, 6, List.of(item("Jollof Rice")));
+
+        // Assert
+        MenuSnapshot snapshot = snapshotCache.get(slowId, 7);
+        assertEquals(7, snapshot.version());
+        assertTrue(new String(snapshot.json()).contains("Party Jollof"));
+    }
+
+    private static MenuItemResponse item(String name) {
+        return new MenuItemResponse(UUID.randomUUID().toString(), name, null, BigDecimal.TEN, null, 0L);
+    }
+}
@@ -0,0 +1,107 @@
+package org.codewithzea.restaurantservice.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.codewithzea.restaurantservice.model.OutboxEvent;
+import org.codewithzea.restaurantservice.outbox.OutboxRelay;
+import org.codewithzea.restaurantservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    private final UUID restaurantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, kafkaTemplate, transactionManager, meterRegistry,
+                "restaurant-events", 10, 5, Duration.ofSeconds(1));
+        when(outboxEventRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_ShouldSendKeyedByRestaurant_AndDeleteAcknowledgedEvents() {
+        // Arrange
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Limit.class)))
+                .thenReturn(List.of(event(1L, "restaurant.created"), event(2L, "menu-item.created")));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, String>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(records.capture());
+        assertEquals(restaurantId.toString(), records.getValue().key());
+        assertEquals("menu-item.created", new String(records.getValue().headers().lastHeader("eventType").value()));
+        assertEquals("2", new String(records.getValue().headers().lastHeader("version").value()));
+        assertNull(records.getAllValues().get(0).headers().lastHeader("version"));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.get("restaurant.outbox.published").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_ShouldKeepEvents_WhenKafkaRejectsOne() {
+        // Arrange
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Limit.class)))
+                .thenReturn(List.of(event(1L, "restaurant.updated"), event(2L, "restaurant.updated")));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.get("restaurant.outbox.failures").counter().count());
+    }
+
+    private OutboxEvent event(long id, String type) {
+        return OutboxEvent.builder()
+                .id(id)
+                .restaurantId(restaurantId)
+                .eventType(type)
+                .payload("{\"type\":\"" + type + "\"}")
+                .aggregateVersion(id == 1L ? null : id)
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+}
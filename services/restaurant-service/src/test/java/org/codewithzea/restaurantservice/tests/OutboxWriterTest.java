@@ -0,0 +1,82 @@
+package org.codewithzea.restaurantservice.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.codewithzea.restaurantservice.event.RestaurantEvent;
+import org.codewithzea.restaurantservice.model.OutboxEvent;
+import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.outbox.OutboxWriter;
+import org.codewithzea.restaurantservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxWriterTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OutboxWriter(outboxEventRepository, new ObjectMapper());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void onRestaurantEvent_ShouldRecordTheFlushedVersion_FlushingOncePerTransaction() {
+        // Arrange
+        UUID restaurantId = UUID.randomUUID();
+        Restaurant restaurant = Restaurant.builder().id(restaurantId).name("Chop Bar").build();
+        // The flush is what bumps @Version
+        doAnswer(invocation -> {
+            restaurant.setVersion(restaurant.getVersion() + 1);
+            return null;
+        }).when(outboxEventRepository).flush();
+
+        // Act
+        writer.onRestaurantEvent(new RestaurantEvent(this, RestaurantEvent.EventType.UPDATED, restaurantId, restaurant));
+        writer.onRestaurantEvent(new RestaurantEvent(this, RestaurantEvent.EventType.UPDATED, restaurantId, restaurant));
+
+        // Assert
+        verify(outboxEventRepository, times(1)).flush();
+        ArgumentCaptor<OutboxEvent> rows = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(2)).save(rows.capture());
+        assertEquals(1L, rows.getValue().getAggregateVersion());
+        assertTrue(rows.getValue().getPayload().contains("\"version\":1"));
+    }
+
+    @Test
+    void onRestaurantEvent_ShouldOmitTheVersion_WhenTheRestaurantWasDeleted() {
+        // Arrange
+        UUID restaurantId = UUID.randomUUID();
+
+        // Act
+        writer.onRestaurantEvent(new RestaurantEvent(this, RestaurantEvent.EventType.DELETED, restaurantId, null));
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(row.capture());
+        assertNull(row.getValue().getAggregateVersion());
+        assertFalse(row.getValue().getPayload().contains("version"));
+    }
+}
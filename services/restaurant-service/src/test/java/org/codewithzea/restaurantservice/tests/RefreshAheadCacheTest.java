@@ -0,0 +1,149 @@
+package org.codewithzea.restaurantservice.tests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.codewithzea.restaurantservice.cache.RefreshAheadCache;
+import org.codewithzea.restaurantservice.cache.StampedValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Instant NOW = Instant.parse("2025-07-12T12:00:00Z");
+
+    private ConcurrentMapCache remote;
+    private MeterRegistry meterRegistry;
+    private List<Runnable> refreshes;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("restaurants");
+        meterRegistry = new SimpleMeterRegistry();
+        refreshes = new ArrayList<>();
+    }
+
+    @Test
+    void concurrentMisses_ShouldShareOneLoad() throws Exception {
+        // Arrange
+        RefreshAheadCache cache = cache(Clock.systemUTC(), 1.0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        results.add(callers.submit(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            release.await();
+            return "loaded";
+        })));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            results.add(callers.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        while (meterRegistry.get("cache.coalesced.waits").counter().count() < 3) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        callers.shutdown();
+    }
+
+    @Test
+    void expiredEntry_ShouldBeServedStaleAndRefreshedInBackground() {
+        // Arrange
+        RefreshAheadCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC), 1.0);
+        remote.put("key", new StampedValue("old", NOW.toEpochMilli() - 1, 10));
+
+        // Act
+        String value = cache.get("key", () -> "new");
+
+        // Assert
+        assertEquals("old", value);
+        assertEquals(1, refreshes.size());
+        refreshes.get(0).run();
+        assertEquals("new", cache.get("key", String.class));
+        assertEquals(1.0, meterRegistry.get("cache.stale.hits").counter().count());
+    }
+
+    @Test
+    void backgroundRefresh_ShouldNotWriteBack_WhenTheKeyWasEvictedMeanwhile() {
+        // Arrange
+        RefreshAheadCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC), 1.0);
+        remote.put("key", new StampedValue("old", NOW.toEpochMilli() - 1, 10));
+        cache.get("key", () -> {
+            // The write path evicts while the refresh is still loading
+            cache.evict("key");
+            return "loaded before the change";
+        });
+
+        // Act
+        refreshes.get(0).run();
+
+        // Assert
+        assertNull(cache.get("key"));
+        assertEquals("fresh", cache.get("key", () -> "fresh"));
+    }
+
+    @Test
+    void expensiveEntryCloseToExpiry_ShouldRefreshEarly() {
+        // Arrange
+        RefreshAheadCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC), 1.0);
+        remote.put("key", new StampedValue("cached", NOW.toEpochMilli() + 1, 600_000));
+
+        // Act
+        String value = cache.get("key", () -> "refreshed");
+
+        // Assert
+        assertEquals("cached", value);
+        assertEquals(1, refreshes.size());
+        assertEquals(1.0, meterRegistry.get("cache.refresh.early").counter().count());
+    }
+
+    @Test
+    void freshEntry_ShouldNotRefresh_WhenEarlyRefreshDisabled() {
+        // Arrange
+        RefreshAheadCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC), 0);
+        cache.put("key", "cached");
+
+        // Act
+        String value = cache.get("key", () -> "refreshed");
+
+        // Assert
+        assertEquals("cached", value);
+        assertTrue(refreshes.isEmpty());
+        StampedValue stored = (StampedValue) remote.get("key").get();
+        assertEquals(NOW.plus(TTL).toEpochMilli(), stored.expiresAt());
+    }
+
+    private RefreshAheadCache cache(Clock clock, double beta) {
+        return new RefreshAheadCache(remote, TTL, beta, refreshes::add, clock, meterRegistry);
+    }
+}
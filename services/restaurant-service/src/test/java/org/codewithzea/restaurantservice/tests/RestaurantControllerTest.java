@@ -0,0 +1,138 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.cache.AccessTracker;
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
+import org.codewithzea.restaurantservice.catalogue.CatalogueStore;
+import org.codewithzea.restaurantservice.config.ConditionalGetMetrics;
+import org.codewithzea.restaurantservice.controller.RestaurantController;
+import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
+import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.service.AsyncRestaurantService;
+import org.codewithzea.restaurantservice.service.BatchLookupService;
+import org.codewithzea.restaurantservice.service.RestaurantExportService;
+import org.codewithzea.restaurantservice.service.RestaurantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantControllerTest {
+
+    private static final String BODY = """
+            {"name": "Osu Chop Bar", "email": "chop@test.com", "phone": "0241234567",
+             "address": {"street": "1 Oxford St", "city": "Accra", "state": "GA", "zipCode": "00233",
+                         "country": "Ghana"}}
+            """;
+
+    @Mock
+    private RestaurantService restaurantService;
+
+    @Mock
+    private AsyncRestaurantService asyncRestaurantService;
+
+    @Mock
+    private RestaurantExportService restaurantExportService;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private ConditionalGetMetrics conditionalGetMetrics;
+
+    @Mock
+    private CatalogueStore catalogueStore;
+
+    @Mock
+    private AccessTracker accessTracker;
+
+    @Mock
+    private BatchLookupService batchLookupService;
+
+    @InjectMocks
+    private RestaurantController restaurantController;
+
+    private final UUID restaurantId = UUID.randomUUID();
+    private final RestaurantResponse restaurant = new RestaurantResponse(restaurantId.toString(), "Osu Chop Bar",
+            "chop@test.com", "0241234567", null, List.of(), LocalDateTime.now(), LocalDateTime.now(), 3L);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(restaurantController).build();
+    }
+
+    @Test
+    void updateRestaurant_ShouldAcceptTheETagOfAGet() throws Exception {
+        // Arrange
+        when(resourceVersions.menuVersion(restaurantId)).thenReturn(7L);
+        when(asyncRestaurantService.getRestaurantAsync(restaurantId))
+                .thenReturn(CompletableFuture.completedFuture(restaurant));
+        when(restaurantService.getRestaurantById(restaurantId)).thenReturn(restaurant);
+        when(asyncRestaurantService.updateRestaurantAsync(
+                eq(restaurantId), any(RestaurantRequest.class), eq(Set.of(3L))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        MvcResult fetched = mockMvc.perform(get("/api/restaurants/{id}", restaurantId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(fetched))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult updated = mockMvc.perform(put("/api/restaurants/{id}", restaurantId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(updated)).andExpect(status().isOk());
+        verify(asyncRestaurantService).updateRestaurantAsync(
+                eq(restaurantId), any(RestaurantRequest.class), eq(Set.of(3L)));
+    }
+
+    @Test
+    void updateRestaurant_ShouldAcceptAnyListedTag_WhenOthersAreStale() throws Exception {
+        // Arrange
+        when(restaurantService.getRestaurantById(restaurantId)).thenReturn(restaurant);
+        when(asyncRestaurantService.updateRestaurantAsync(
+                eq(restaurantId), any(RestaurantRequest.class), eq(Set.of(3L))))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        mockMvc.perform(put("/api/restaurants/{id}", restaurantId)
+                        .header(HttpHeaders.IF_MATCH, "\"r1.m1\", W/\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(request().asyncStarted());
+
+        // Assert
+        verify(asyncRestaurantService).updateRestaurantAsync(
+                eq(restaurantId), any(RestaurantRequest.class), eq(Set.of(3L)));
+    }
+}
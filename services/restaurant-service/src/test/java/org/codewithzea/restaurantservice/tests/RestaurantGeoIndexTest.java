@@ -0,0 +1,92 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.exception.InvalidCursorException;
+import org.codewithzea.restaurantservice.search.RestaurantGeoIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantGeoIndexTest {
+
+    private final UUID osuId = new UUID(0, 1);
+    private final UUID airportId = new UUID(0, 2);
+    private final UUID kumasiId = new UUID(0, 3);
+
+    private RestaurantGeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        geoIndex = new RestaurantGeoIndex();
+        geoIndex.put(osuId, "Osu Chop Bar", "Accra", 5.5560, -0.1820);
+        geoIndex.put(airportId, "Airport Grill", "Accra", 5.6052, -0.1668);
+        geoIndex.put(kumasiId, "Kejetia Kitchen", "Kumasi", 6.6885, -1.6244);
+    }
+
+    @Test
+    void nearby_ShouldReturnRestaurantsWithinRadius_NearestFirst() {
+        // Act
+        List<RestaurantGeoIndex.Hit> hits = geoIndex.nearby(5.5600, -0.1900, 10_000.0, 10, null).hits();
+
+        // Assert
+        assertEquals(List.of(osuId, airportId), hits.stream().map(RestaurantGeoIndex.Hit::restaurantId).toList());
+        assertEquals(990, hits.get(0).distanceMeters(), 10);
+    }
+
+    @Test
+    void nearby_ShouldPageThroughEveryRestaurantInDistanceOrder_WithoutRadius() {
+        // Arrange
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            // Clustered around the antimeridian and the poles as well as the equator
+            double latitude = random.nextInt(3) == 0 ? 89 * (random.nextDouble() * 2 - 1) : random.nextGaussian() * 2;
+            double longitude = random.nextBoolean() ? 179.9 - random.nextDouble() * 3 : random.nextDouble() * 360 - 180;
+            geoIndex.put(new UUID(1, i), "Restaurant " + i, null, latitude, Math.max(-180, Math.min(180, longitude)));
+        }
+
+        // Act
+        List<RestaurantGeoIndex.Hit> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            RestaurantGeoIndex.Result page = geoIndex.nearby(0.5, 179.5, null, 50, cursor);
+            all.addAll(page.hits());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        List<RestaurantGeoIndex.Hit> withinRadius = geoIndex.nearby(0.5, 179.5, 300_000.0, 3_000, null).hits();
+
+        // Assert
+        assertEquals(geoIndex.size(), all.size());
+        assertEquals(all.size(), new HashSet<>(all.stream().map(RestaurantGeoIndex.Hit::restaurantId).toList()).size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).distanceMeters() <= all.get(i).distanceMeters());
+        }
+        assertEquals(all.stream().filter(hit -> hit.distanceMeters() <= 300_000).toList(), withinRadius);
+    }
+
+    @Test
+    void completeRebuild_ShouldDropRestaurantsNotSeenDuringRebuild() {
+        // Arrange
+        long generation = geoIndex.beginRebuild();
+        geoIndex.put(osuId, "Osu Chop Bar", "Accra", 5.5560, -0.1820);
+
+        // Act
+        geoIndex.completeRebuild(generation);
+        geoIndex.remove(osuId);
+
+        // Assert
+        assertEquals(0, geoIndex.size());
+        assertTrue(geoIndex.nearby(5.5600, -0.1900, null, 10, null).hits().isEmpty());
+    }
+
+    @Test
+    void nearby_ShouldRejectMalformedCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> geoIndex.nearby(5.5600, -0.1900, null, 10, "not-a-cursor"));
+    }
+}
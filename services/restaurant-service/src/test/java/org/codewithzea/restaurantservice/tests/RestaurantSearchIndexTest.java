@@ -0,0 +1,124 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.exception.InvalidCursorException;
+import org.codewithzea.restaurantservice.search.RestaurantSearchIndex;
+import org.codewithzea.restaurantservice.search.RestaurantSearchIndex.MenuText;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantSearchIndexTest {
+
+    private final UUID kitchenId = new UUID(0, 1);
+    private final UUID grillId = new UUID(0, 2);
+    private final UUID jollofMenuItemId = UUID.randomUUID();
+
+    private RestaurantSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new RestaurantSearchIndex();
+        searchIndex.indexRestaurant(kitchenId, "ByteBites Kitchen", "Accra",
+                List.of(new MenuText(jollofMenuItemId, "Jollof Rice", "Smoky party jollof")));
+        searchIndex.indexRestaurant(grillId, "Jollof Grill", "Kumasi",
+                List.of(new MenuText(UUID.randomUUID(), "Chicken Suya", "Spiced skewers")));
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveMenuMatches() {
+        // Act
+        List<RestaurantSearchIndex.Hit> hits = searchIndex.search("jollof", 10, null).hits();
+
+        // Assert
+        assertEquals(List.of(grillId, kitchenId), hits.stream().map(RestaurantSearchIndex.Hit::restaurantId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAndTypos() {
+        // Act & Assert
+        assertEquals(List.of(grillId), searchIndex.rankedIds("suy"));
+        assertEquals(List.of(kitchenId), searchIndex.rankedIds("bytebits acra"));
+        assertEquals(List.of(kitchenId), searchIndex.rankedIds("kitchen accra"));
+        assertTrue(searchIndex.rankedIds("kitchen kumasi").isEmpty());
+    }
+
+    @Test
+    void menuEvents_ShouldUpdateOnlyThatRestaurant() {
+        // Act
+        searchIndex.removeMenuItem(kitchenId, jollofMenuItemId);
+        searchIndex.putMenuItem(kitchenId, new MenuText(UUID.randomUUID(), "Waakye", null));
+
+        // Assert
+        assertEquals(List.of(grillId), searchIndex.rankedIds("jollof"));
+        assertEquals(List.of(kitchenId), searchIndex.rankedIds("waakye"));
+    }
+
+    @Test
+    void completeRebuild_ShouldDropRestaurantsNotReindexed() {
+        // Arrange
+        long generation = searchIndex.beginRebuild();
+        searchIndex.indexRestaurant(grillId, "Jollof Grill", "Kumasi", List.of());
+
+        // Act
+        searchIndex.completeRebuild(generation);
+
+        // Assert
+        assertEquals(1, searchIndex.size());
+        assertTrue(searchIndex.rankedIds("bytebites").isEmpty());
+    }
+
+    @Test
+    void search_ShouldWalkAllPagesWithCursor() {
+        // Arrange
+        for (int i = 0; i < 25; i++) {
+            searchIndex.indexRestaurant(UUID.randomUUID(), "Chop Bar " + i, "Tamale", List.of());
+        }
+
+        // Act
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            RestaurantSearchIndex.Result page = searchIndex.search("chop tamale", 10, cursor);
+            page.hits().forEach(hit -> seen.add(hit.restaurantId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(searchIndex.rankedIds("chop tamale"), seen);
+        assertEquals(25, seen.size());
+    }
+
+    @Test
+    void rankedIds_ShouldKeepTheMostFrequentCompletions_WhenAPrefixHasTooMany() {
+        // Arrange
+        for (int i = 0; i < 70; i++) {
+            searchIndex.indexRestaurant(UUID.randomUUID(), String.format("Kelea%02d", i), "Ho", List.of());
+        }
+        List<UUID> popular = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UUID id = UUID.randomUUID();
+            popular.add(id);
+            searchIndex.indexRestaurant(id, "Kelexyz Spot", "Ho", List.of());
+        }
+
+        // Act
+        List<UUID> ranked = searchIndex.rankedIds("kele");
+
+        // Assert
+        assertTrue(ranked.containsAll(popular));
+        // 64 completions: the popular one and 63 of the single-restaurant ones
+        assertEquals(3 + 63, ranked.size());
+    }
+
+    @Test
+    void search_ShouldRejectMalformedCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> searchIndex.search("jollof", 10, "not-a-cursor"));
+    }
+}
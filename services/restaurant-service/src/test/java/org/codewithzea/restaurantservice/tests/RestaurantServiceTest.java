@@ -1,14 +1,22 @@
 package org.codewithzea.restaurantservice.tests;
 
+import org.codewithzea.restaurantservice.cache.ResourceVersions;
 import org.codewithzea.restaurantservice.dto.request.AddressRequest;
+import org.codewithzea.restaurantservice.dto.request.RestaurantBatchUpdateItem;
 import org.codewithzea.restaurantservice.dto.request.RestaurantRequest;
+import org.codewithzea.restaurantservice.dto.response.CursorPage;
+import org.codewithzea.restaurantservice.dto.response.RestaurantBatchUpdateResult;
 import org.codewithzea.restaurantservice.dto.response.RestaurantResponse;
+import org.codewithzea.restaurantservice.dto.response.RestaurantSummaryResponse;
 import org.codewithzea.restaurantservice.event.RestaurantEventPublisher;
 import org.codewithzea.restaurantservice.exception.RestaurantNotFoundException;
 import org.codewithzea.restaurantservice.exception.UnauthorizedAccessException;
 import org.codewithzea.restaurantservice.model.Address;
+import org.codewithzea.restaurantservice.model.MenuItem;
 import org.codewithzea.restaurantservice.model.Restaurant;
+import org.codewithzea.restaurantservice.repository.MenuItemRepository;
 import org.codewithzea.restaurantservice.repository.RestaurantRepository;
+import org.codewithzea.restaurantservice.search.RestaurantSearchIndex;
 import org.codewithzea.restaurantservice.service.RestaurantService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -24,7 +33,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,8 +49,15 @@ class RestaurantServiceTest {
     @Mock
     private RestaurantRepository restaurantRepository;
     @Mock
+    private MenuItemRepository menuItemRepository;
+    @Mock
+    private RestaurantSearchIndex searchIndex;
+    @Mock
     private RestaurantEventPublisher eventPublisher;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private RestaurantService restaurantService;
 
@@ -92,6 +110,50 @@ class RestaurantServiceTest {
         verify(restaurantRepository).findAll(pageable);
     }
 
+    @Test
+    void getAllRestaurants_ShouldLoadMenusForWholePageInOneQuery() {
+        // Arrange
+        Pageable pageable = Pageable.ofSize(10);
+        Restaurant restaurant = createTestRestaurant();
+        Restaurant other = createTestRestaurant();
+        other.setId(UUID.randomUUID());
+        MenuItem menuItem = MenuItem.builder()
+                .id(UUID.randomUUID())
+                .name("Jollof Rice")
+                .price(BigDecimal.valueOf(12.50))
+                .restaurant(restaurant)
+                .build();
+
+        when(restaurantRepository.findAll(pageable))
+                .thenReturn(new PageImpl<>(List.of(restaurant, other)));
+        when(menuItemRepository.findByRestaurantIdInWithCategories(List.of(restaurantId, other.getId())))
+                .thenReturn(List.of(menuItem));
+
+        // Act
+        Page<RestaurantResponse> result = restaurantService.getAllRestaurants(pageable, null);
+
+        // Assert
+        assertEquals(1, result.getContent().get(0).menuItems().size());
+        assertTrue(result.getContent().get(1).menuItems().isEmpty());
+        verify(menuItemRepository).findByRestaurantIdInWithCategories(any());
+        verifyNoMoreInteractions(menuItemRepository);
+    }
+
+    @Test
+    void getRestaurantSummaries_ShouldNotLoadMenus() {
+        // Arrange
+        Pageable pageable = Pageable.ofSize(10);
+        when(restaurantRepository.findAll(pageable))
+                .thenReturn(new PageImpl<>(List.of(createTestRestaurant())));
+
+        // Act
+        Page<RestaurantSummaryResponse> result = restaurantService.getRestaurantSummaries(pageable, null);
+
+        // Assert
+        assertEquals("Test Restaurant", result.getContent().get(0).name());
+        verifyNoInteractions(menuItemRepository);
+    }
+
     // Tests that need authentication
     @Test
     void createRestaurant_ShouldSaveAndReturnRestaurant() {
@@ -133,7 +195,7 @@ class RestaurantServiceTest {
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        restaurantService.updateRestaurant(restaurantId, request);
+        restaurantService.updateRestaurant(restaurantId, request, null);
 
         // Assert
         verify(restaurantRepository).save(any(Restaurant.class));
@@ -149,7 +211,115 @@ class RestaurantServiceTest {
 
         // Act & Assert
         assertThrows(UnauthorizedAccessException.class, () ->
-                restaurantService.updateRestaurant(restaurantId, createTestRequest()));
+                restaurantService.updateRestaurant(restaurantId, createTestRequest(), null));
+    }
+
+    @Test
+    void applyBatchUpdate_ShouldReportEachItem_InRequestOrder() {
+        // Arrange
+        setupSecurityContext(ownerId);
+        Restaurant owned = createTestRestaurant();
+        Restaurant foreign = createTestRestaurant();
+        foreign.setId(UUID.randomUUID());
+        foreign.setOwnerId("someone-else");
+        Restaurant clashing = createTestRestaurant();
+        clashing.setId(UUID.randomUUID());
+        clashing.setEmail("other@example.com");
+        UUID missingId = UUID.randomUUID();
+        List<RestaurantBatchUpdateItem> items = List.of(
+                new RestaurantBatchUpdateItem(restaurantId, new RestaurantRequest("Renamed", "test@example.com",
+                        "1234567890", createTestRequest().address()), null),
+                new RestaurantBatchUpdateItem(foreign.getId(), createTestRequest(), null),
+                new RestaurantBatchUpdateItem(missingId, createTestRequest(), null),
+                new RestaurantBatchUpdateItem(clashing.getId(), createTestRequest(), null));
+
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(owned, foreign, clashing));
+        when(restaurantRepository.findByEmailIn(anyList())).thenReturn(List.of(owned, clashing));
+
+        // Act
+        List<RestaurantBatchUpdateResult> results = restaurantService.applyBatchUpdate(items);
+
+        // Assert
+        assertEquals(List.of(RestaurantBatchUpdateResult.Status.UPDATED,
+                        RestaurantBatchUpdateResult.Status.FORBIDDEN,
+                        RestaurantBatchUpdateResult.Status.NOT_FOUND,
+                        RestaurantBatchUpdateResult.Status.CONFLICT),
+                results.stream().map(RestaurantBatchUpdateResult::status).toList());
+        assertEquals("Renamed", owned.getName());
+        verify(eventPublisher).publishRestaurantUpdatedEvent(owned);
+        verify(restaurantRepository, never()).save(any(Restaurant.class));
+    }
+
+    @Test
+    void scrollRestaurants_ShouldSeekPastTheCursorRow_AndFetchOneRowAhead() {
+        // Arrange
+        Restaurant restaurant = createTestRestaurant();
+        Restaurant lookAhead = createTestRestaurant();
+        lookAhead.setId(UUID.randomUUID());
+        lookAhead.setName("Zesty Grill");
+        when(restaurantRepository.findFirstScrollPage(Limit.of(2)))
+                .thenReturn(List.of(restaurant, lookAhead));
+        when(restaurantRepository.findScrollPageAfter("Test Restaurant", restaurantId, Limit.of(2)))
+                .thenReturn(List.of(lookAhead));
+
+        // Act
+        CursorPage<RestaurantResponse> first = restaurantService.scrollRestaurants(null, 1, false);
+        CursorPage<RestaurantResponse> second = restaurantService.scrollRestaurants(first.nextCursor(), 1, false);
+
+        // Assert
+        assertEquals(List.of(restaurantId.toString()), first.content().stream().map(RestaurantResponse::id).toList());
+        assertEquals(List.of(lookAhead.getId().toString()), second.content().stream().map(RestaurantResponse::id).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void applyBatchUpdate_ShouldLetALaterItemTakeAnEmail_ThatAnEarlierItemGaveUp() {
+        // Arrange
+        setupSecurityContext(ownerId);
+        Restaurant giver = createTestRestaurant();
+        Restaurant taker = createTestRestaurant();
+        taker.setId(UUID.randomUUID());
+        taker.setEmail("taker@example.com");
+        List<RestaurantBatchUpdateItem> items = List.of(
+                new RestaurantBatchUpdateItem(restaurantId, requestWithEmail("giver@example.com"), null),
+                new RestaurantBatchUpdateItem(taker.getId(), requestWithEmail("test@example.com"), null));
+
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(giver, taker));
+        when(restaurantRepository.findByEmailIn(anyList())).thenReturn(List.of(giver));
+
+        // Act
+        List<RestaurantBatchUpdateResult> results = restaurantService.applyBatchUpdate(items);
+
+        // Assert
+        assertEquals(List.of(RestaurantBatchUpdateResult.Status.UPDATED, RestaurantBatchUpdateResult.Status.UPDATED),
+                results.stream().map(RestaurantBatchUpdateResult::status).toList());
+        assertEquals("test@example.com", taker.getEmail());
+        verify(restaurantRepository).flush();
+    }
+
+    @Test
+    void applyBatchUpdate_ShouldRejectTheSecondClaim_OnTheSameNewEmail() {
+        // Arrange
+        setupSecurityContext(ownerId);
+        Restaurant first = createTestRestaurant();
+        Restaurant second = createTestRestaurant();
+        second.setId(UUID.randomUUID());
+        second.setEmail("second@example.com");
+        List<RestaurantBatchUpdateItem> items = List.of(
+                new RestaurantBatchUpdateItem(restaurantId, requestWithEmail("new@example.com"), null),
+                new RestaurantBatchUpdateItem(second.getId(), requestWithEmail("new@example.com"), null));
+
+        when(restaurantRepository.findAllById(anyList())).thenReturn(List.of(first, second));
+        when(restaurantRepository.findByEmailIn(anyList())).thenReturn(List.of());
+
+        // Act
+        List<RestaurantBatchUpdateResult> results = restaurantService.applyBatchUpdate(items);
+
+        // Assert
+        assertEquals(List.of(RestaurantBatchUpdateResult.Status.UPDATED, RestaurantBatchUpdateResult.Status.CONFLICT),
+                results.stream().map(RestaurantBatchUpdateResult::status).toList());
+        assertEquals("second@example.com", second.getEmail());
+        verify(restaurantRepository, never()).flush();
     }
 
     // Helper methods
@@ -183,6 +353,11 @@ class RestaurantServiceTest {
                 .build();
     }
 
+    private RestaurantRequest requestWithEmail(String email) {
+        RestaurantRequest request = createTestRequest();
+        return new RestaurantRequest(request.name(), email, request.phone(), request.address());
+    }
+
     private RestaurantRequest createTestRequest() {
         return new RestaurantRequest(
                 "Test Restaurant",
@@ -193,7 +368,9 @@ class RestaurantServiceTest {
                         "Testville",
                         "TS",
                         "12345",
-                        "Testland"
+                        "Testland",
+                        5.6037,
+                        -0.1870
                 )
         );
     }
@@ -0,0 +1,91 @@
+package org.codewithzea.restaurantservice.tests;
+
+import org.codewithzea.restaurantservice.exception.InvalidCursorException;
+import org.codewithzea.restaurantservice.pagination.ScrollCursors;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrollCursorsTest {
+
+    private final Sort sort = Sort.by("name", "id");
+
+    @Test
+    void next_ShouldRoundTripKeysOfLastRow() {
+        // Arrange
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("id", UUID.randomUUID());
+        keys.put("name", "Kofi's Chop Bar & Grill = 100%");
+        Window<String> window = Window.from(List.of("a", "b"), index -> ScrollPosition.forward(keys), true);
+
+        // Act
+        String cursor = ScrollCursors.next(window);
+        KeysetScrollPosition position = ScrollCursors.decode(cursor, sort);
+
+        // Assert
+        assertEquals(keys, position.getKeys());
+        assertTrue(position.scrollsForward());
+    }
+
+    @Test
+    void next_ShouldReturnNull_OnLastPage() {
+        // Arrange
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.keyset(), false);
+
+        // Act & Assert
+        assertNull(ScrollCursors.next(window));
+    }
+
+    @Test
+    void decode_ShouldStartFromTheBeginning_WithoutCursor() {
+        // Act & Assert
+        assertTrue(ScrollCursors.decode(null, sort).isInitial());
+    }
+
+    @Test
+    void decode_ShouldRejectCursorForAnotherSortOrMalformedInput() {
+        // Arrange
+        Window<String> window = Window.from(List.of("a"),
+                index -> ScrollPosition.forward(Map.of("createdAt", LocalDateTime.now(), "id", UUID.randomUUID())), true);
+        String createdAtCursor = ScrollCursors.next(window);
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> ScrollCursors.decode(createdAtCursor, sort));
+        assertThrows(InvalidCursorException.class, () -> ScrollCursors.decode("%%%", sort));
+    }
+
+    @Test
+    void window_ShouldDropTheLookAheadRow_AndContinueFromTheLastKeptRow() {
+        // Act
+        Window<String> window = ScrollCursors.window(List.of("Akwaaba", "Bush Canteen", "Chez Afrique"), 2,
+                name -> Map.of("name", name, "id", new UUID(0, name.length())));
+        KeysetScrollPosition position = ScrollCursors.decode(ScrollCursors.next(window), sort);
+
+        // Assert
+        assertEquals(List.of("Akwaaba", "Bush Canteen"), window.getContent());
+        assertEquals("Bush Canteen", ScrollCursors.key(position, "name", String.class));
+        assertNull(ScrollCursors.next(ScrollCursors.window(List.of("Akwaaba"), 2,
+                name -> Map.of("name", name, "id", new UUID(0, 1)))));
+    }
+
+    @Test
+    void key_ShouldRejectAKeyOfAnotherType() {
+        // Arrange
+        Window<String> window = Window.from(List.of("a"),
+                index -> ScrollPosition.forward(Map.of("name", 42, "id", UUID.randomUUID())), true);
+        KeysetScrollPosition position = ScrollCursors.decode(ScrollCursors.next(window), sort);
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> ScrollCursors.key(position, "name", String.class));
+    }
+}
@@ -0,0 +1,154 @@
+package org.codewithzea.restaurantservice.tests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.codewithzea.restaurantservice.cache.NearCacheInvalidationPublisher;
+import org.codewithzea.restaurantservice.cache.PatchableCache;
+import org.codewithzea.restaurantservice.cache.TwoTierCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private NearCacheInvalidationPublisher invalidationPublisher;
+
+    private ConcurrentMapCache remote;
+    private MeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    private final UUID restaurantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("restaurants");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache(remote, 100, Duration.ofMinutes(1), invalidationPublisher, meterRegistry);
+    }
+
+    @Test
+    void get_ShouldServeFromLocalTier_AfterFirstRemoteHit() {
+        // Arrange
+        remote.put(restaurantId, "cached");
+
+        // Act
+        cache.get(restaurantId);
+        remote.evict(restaurantId);
+
+        // Assert
+        assertEquals("cached", cache.get(restaurantId, String.class));
+        assertEquals(1.0, count("l1", "hit"));
+        assertEquals(1.0, count("l2", "hit"));
+    }
+
+    @Test
+    void get_ShouldRecordMissOnBothTiers_WhenAbsent() {
+        // Act
+        assertNull(cache.get(restaurantId));
+
+        // Assert
+        assertEquals(1.0, count("l1", "miss"));
+        assertEquals(1.0, count("l2", "miss"));
+    }
+
+    @Test
+    void evict_ShouldClearBothTiersAndBroadcast() {
+        // Arrange
+        remote.put(restaurantId, "cached");
+        cache.get(restaurantId);
+        when(invalidationPublisher.publishEvict("restaurants", restaurantId.toString())).thenReturn(true);
+
+        // Act
+        cache.evict(restaurantId);
+
+        // Assert
+        assertNull(remote.get(restaurantId));
+        assertNull(cache.get(restaurantId));
+        verify(invalidationPublisher).publishEvict("restaurants", restaurantId.toString());
+        assertEquals(1.0, remoteEvictions());
+    }
+
+    @Test
+    void clear_ShouldNotCountARemoteEviction_WhenTheBroadcastFailed() {
+        // Arrange
+        when(invalidationPublisher.publishClear("restaurants")).thenReturn(false);
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertEquals(0.0, remoteEvictions());
+    }
+
+    @Test
+    void evictLocal_ShouldKeepRemoteEntry() {
+        // Arrange
+        cache.put(restaurantId, "cached");
+
+        // Act
+        cache.evictLocal(restaurantId.toString());
+
+        // Assert
+        assertEquals("cached", cache.get(restaurantId, String.class));
+        assertEquals(1.0, count("l2", "hit"));
+    }
+
+    @Test
+    void put_ShouldBroadcast_SoOtherNodesDropTheirOldCopy() {
+        // Act
+        cache.put(restaurantId, "loaded");
+
+        // Assert
+        assertEquals("loaded", remote.get(restaurantId, String.class));
+        verify(invalidationPublisher).publishEvict("restaurants", restaurantId.toString());
+    }
+
+    @Test
+    void patch_ShouldDropLocalCopiesEverywhere_WhenRemoteWasPatched() {
+        // Arrange
+        Cache patchableRemote = mock(Cache.class, withSettings().extraInterfaces(PatchableCache.class));
+        when(patchableRemote.getName()).thenReturn("restaurants");
+        when(((PatchableCache) patchableRemote).patch(eq(restaurantId), any())).thenReturn(true);
+        TwoTierCache patchableCache = new TwoTierCache(patchableRemote, 100, Duration.ofMinutes(1),
+                invalidationPublisher, meterRegistry);
+        patchableCache.put(restaurantId, "before");
+        clearInvocations(invalidationPublisher);
+
+        // Act
+        boolean patched = patchableCache.patch(restaurantId, cached -> "after");
+
+        // Assert
+        assertTrue(patched);
+        verify(invalidationPublisher).publishEvict("restaurants", restaurantId.toString());
+        assertNull(patchableCache.get(restaurantId));
+    }
+
+    private double remoteEvictions() {
+        return meterRegistry.get("cache.tier.evictions")
+                .tag("tier", "l2")
+                .counter()
+                .count();
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}